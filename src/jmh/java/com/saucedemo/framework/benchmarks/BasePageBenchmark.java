@@ -0,0 +1,137 @@
+package com.saucedemo.framework.benchmarks;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.stub.AppiumStubServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH de las primitivas de interacción de {@link com.saucedemo.framework.pages.BasePage}
+ * Se ejecutan contra el servidor stub en proceso con una latencia fija por comando
+ * 
+ * Además de ops/s, cada benchmark reporta:
+ * - commandsPerCall: comandos HTTP (round trips) enviados al servidor por llamada
+ * - cpuNanosPerCall: tiempo de CPU del hilo cliente por llamada
+ * La tasa de asignación de memoria se obtiene con el profiler gc (ver {@link BenchmarkRunner})
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BasePageBenchmark {
+    
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    
+    @Param({"0", "2"})
+    public long latencyMs;
+    
+    private AppiumStubServer stub;
+    private BenchmarkPage page;
+    
+    /**
+     * Contadores auxiliares reportados junto con el throughput
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class CallMetrics {
+        
+        private long calls;
+        private long commandsAtStart;
+        private long cpuAtStart;
+        private AppiumStubServer stub;
+        
+        public double commandsPerCall;
+        public double cpuNanosPerCall;
+        
+        @Setup(Level.Iteration)
+        public void start() {
+            stub = AppiumStubServer.shared();
+            calls = 0;
+            commandsAtStart = stub.getCommandCount();
+            cpuAtStart = THREADS.getCurrentThreadCpuTime();
+        }
+        
+        @TearDown(Level.Iteration)
+        public void stop() {
+            if (calls > 0) {
+                commandsPerCall = (stub.getCommandCount() - commandsAtStart) / (double) calls;
+                cpuNanosPerCall = (THREADS.getCurrentThreadCpuTime() - cpuAtStart) / (double) calls;
+            }
+        }
+        
+        void called() {
+            calls++;
+        }
+    }
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("appium.stub.enabled", "true");
+        stub = AppiumStubServer.shared();
+        stub.setDefaultLatency(latencyMs);
+        AppiumDriverManager.getDriver();
+        page = new BenchmarkPage();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        AppiumDriverManager.quitDriver();
+    }
+    
+    @Benchmark
+    public void clickElement(CallMetrics metrics) {
+        page.click(BenchmarkPage.MENU_BUTTON_LOCATOR);
+        metrics.called();
+    }
+    
+    @Benchmark
+    public void typeText(CallMetrics metrics) {
+        page.type(BenchmarkPage.USERNAME_FIELD_LOCATOR, "bob@example.com");
+        metrics.called();
+    }
+    
+    @Benchmark
+    public void waitForElementClickable(CallMetrics metrics) {
+        page.waitClickable(BenchmarkPage.LOGIN_BUTTON_LOCATOR);
+        metrics.called();
+    }
+    
+    @Benchmark
+    public boolean isElementCurrentlyVisible(CallMetrics metrics) {
+        metrics.called();
+        return page.visible(BenchmarkPage.USERNAME_FIELD_LOCATOR);
+    }
+    
+    @Benchmark
+    public boolean isTextPresent(CallMetrics metrics) {
+        metrics.called();
+        return page.textPresent("Login");
+    }
+    
+    @Benchmark
+    public String getElementText(CallMetrics metrics) {
+        metrics.called();
+        return page.text(BenchmarkPage.LOGIN_TITLE_LOCATOR);
+    }
+}
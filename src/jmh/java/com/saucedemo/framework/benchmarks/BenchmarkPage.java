@@ -0,0 +1,48 @@
+package com.saucedemo.framework.benchmarks;
+
+import com.saucedemo.framework.pages.BasePage;
+import org.openqa.selenium.By;
+
+/**
+ * Página de apoyo para los benchmarks
+ * Expone públicamente las primitivas protegidas de {@link BasePage}
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class BenchmarkPage extends BasePage {
+    
+    static final By USERNAME_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/nameET");
+    static final By LOGIN_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/loginBtn");
+    static final By LOGIN_TITLE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/loginTV");
+    static final By MENU_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/menuIV");
+    
+    @Override
+    public boolean isPageLoaded() {
+        return isElementCurrentlyVisible(USERNAME_FIELD_LOCATOR);
+    }
+    
+    public void click(By locator) {
+        clickElement(locator);
+    }
+    
+    public void type(By locator, String text) {
+        typeText(locator, text);
+    }
+    
+    public void waitClickable(By locator) {
+        waitForElementClickable(locator);
+    }
+    
+    public boolean visible(By locator) {
+        return isElementCurrentlyVisible(locator);
+    }
+    
+    public boolean textPresent(String text) {
+        return isTextPresent(text);
+    }
+    
+    public String text(By locator) {
+        return getElementText(locator);
+    }
+}
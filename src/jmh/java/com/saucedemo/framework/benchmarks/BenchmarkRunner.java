@@ -0,0 +1,44 @@
+package com.saucedemo.framework.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Punto de entrada de los benchmarks de la capa de páginas
+ * Ejecuta los benchmarks con el profiler de GC (tasa de asignación) y guarda
+ * el resultado en target/jmh-result.json para comparar antes de hacer merge
+ * 
+ * Uso: mvn -P benchmarks test-compile exec:exec [-Djmh.args="-p latencyMs=5"]
+ * El runner debe arrancar en una JVM propia (exec:exec): los forks de JMH usan java.class.path
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {
+        // Clase utilitaria
+    }
+    
+    private static final Path RESULT_FILE = Paths.get("target", "jmh-result.json");
+    
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(RESULT_FILE.getParent());
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(BasePageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE.toString())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.saucedemo.framework.cart;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de comparar el carrito esperado con el carrito real en un punto de control
+ * El carrito real se obtiene de una sola captura de la pantalla: el contador del encabezado
+ * y, si la pantalla actual es el carrito, la lista de productos
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class CartCheckpoint {
+    
+    private final String name;
+    private final List<String> expectedItems;
+    private final Integer badgeCount;
+    private final List<String> listedItems;
+    private final int delta;
+    private final List<String> divergences;
+    
+    /**
+     * Constructor del punto de control
+     * 
+     * @param name Nombre del punto de control
+     * @param expectedItems Productos esperados según el modelo
+     * @param badgeCount Contador del encabezado, o null si no está en pantalla
+     * @param listedItems Productos listados en el carrito, o null si la pantalla no es el carrito
+     * @param delta Cambio de productos esperados desde el punto de control anterior
+     */
+    CartCheckpoint(String name, List<String> expectedItems, Integer badgeCount, List<String> listedItems, int delta) {
+        this.name = name;
+        this.expectedItems = Collections.unmodifiableList(new ArrayList<>(expectedItems));
+        this.badgeCount = badgeCount;
+        this.listedItems = listedItems == null ? null : Collections.unmodifiableList(new ArrayList<>(listedItems));
+        this.delta = delta;
+        this.divergences = Collections.unmodifiableList(computeDivergences());
+    }
+    
+    private List<String> computeDivergences() {
+        List<String> found = new ArrayList<>();
+        if (badgeCount != null && badgeCount != expectedItems.size()) {
+            found.add("El contador del carrito muestra " + badgeCount + " y se esperaban " + expectedItems.size());
+        }
+        if (listedItems != null) {
+            for (String item : expectedItems) {
+                if (!listedItems.contains(item)) {
+                    found.add("Falta en el carrito: " + item);
+                }
+            }
+            for (String item : listedItems) {
+                if (!expectedItems.contains(item)) {
+                    found.add("Sobra en el carrito: " + item);
+                }
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Indica si el carrito real coincide con el esperado
+     * 
+     * @return true si no hay diferencias
+     */
+    public boolean isConsistent() {
+        return divergences.isEmpty();
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public List<String> getExpectedItems() {
+        return expectedItems;
+    }
+    
+    public int getExpectedCount() {
+        return expectedItems.size();
+    }
+    
+    public Integer getBadgeCount() {
+        return badgeCount;
+    }
+    
+    public List<String> getListedItems() {
+        return listedItems;
+    }
+    
+    public int getDelta() {
+        return delta;
+    }
+    
+    public List<String> getDivergences() {
+        return divergences;
+    }
+    
+    /**
+     * Descripción completa del punto de control para logs y reportes
+     * 
+     * @return Texto con lo esperado, lo observado y las diferencias
+     */
+    public String describe() {
+        StringBuilder text = new StringBuilder();
+        text.append("Punto de control: ").append(name)
+                .append("\nEsperado (").append(expectedItems.size()).append("): ").append(expectedItems)
+                .append("\nCambio desde el punto anterior: ").append(delta > 0 ? "+" : "").append(delta)
+                .append("\nContador del carrito: ").append(badgeCount == null ? "no visible" : badgeCount)
+                .append("\nProductos listados: ").append(listedItems == null ? "no visibles" : listedItems);
+        if (divergences.isEmpty()) {
+            text.append("\nSin diferencias");
+        } else {
+            text.append("\nDiferencias:");
+            for (String divergence : divergences) {
+                text.append("\n- ").append(divergence);
+            }
+        }
+        return text.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return name + (isConsistent() ? " (consistente)" : " " + divergences);
+    }
+}
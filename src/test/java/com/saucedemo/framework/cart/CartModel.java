@@ -0,0 +1,156 @@
+package com.saucedemo.framework.cart;
+
+import com.saucedemo.framework.reporting.ReportDataSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Modelo del carrito esperado en el hilo actual
+ * Las páginas registran cada producto agregado o removido sin consultar la pantalla; el carrito
+ * real solo se lee en los puntos de control, en una sola captura, y se compara con el modelo
+ * 
+ * El modelo sigue el estado de la aplicación, no el del escenario:
+ * - se vacía al reiniciar la aplicación (sus datos se limpian) y al cerrar la sesión
+ * - se conserva entre escenarios que reutilizan la sesión sin reiniciar la aplicación
+ * 
+ * Las diferencias se registran en el log y en el reporte del escenario
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class CartModel {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(CartModel.class);
+    
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+    
+    private static final LongAdder CHECKPOINTS = new LongAdder();
+    private static final LongAdder DIVERGENT = new LongAdder();
+    
+    private CartModel() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Carrito esperado de un hilo
+     */
+    private static final class State {
+        
+        private final Set<String> items = new LinkedHashSet<>();
+        private int countAtCheckpoint;
+    }
+    
+    /**
+     * Registra un producto agregado al carrito
+     * 
+     * @param productName Nombre del producto
+     */
+    public static void added(String productName) {
+        if (!STATE.get().items.add(productName)) {
+            LOGGER.debug("El producto '{}' ya estaba en el carrito esperado", productName);
+        }
+    }
+    
+    /**
+     * Registra un producto removido del carrito
+     * 
+     * @param productName Nombre del producto
+     */
+    public static void removed(String productName) {
+        if (!STATE.get().items.remove(productName)) {
+            LOGGER.debug("El producto '{}' no estaba en el carrito esperado", productName);
+        }
+    }
+    
+    /**
+     * Productos esperados en el carrito, en el orden en que se agregaron
+     * 
+     * @return Copia de los productos esperados
+     */
+    public static List<String> expected() {
+        return new ArrayList<>(STATE.get().items);
+    }
+    
+    /**
+     * Indica si se espera un producto en el carrito
+     * 
+     * @param productName Nombre del producto
+     * @return true si el producto se agregó y no se removió
+     */
+    public static boolean contains(String productName) {
+        return STATE.get().items.contains(productName);
+    }
+    
+    /**
+     * Número de productos esperados en el carrito
+     * 
+     * @return Productos esperados
+     */
+    public static int expectedCount() {
+        return STATE.get().items.size();
+    }
+    
+    /**
+     * Compara el carrito esperado con el observado en una captura
+     * 
+     * @param name Nombre del punto de control
+     * @param badgeCount Contador del encabezado, o null si no está en pantalla
+     * @param listedItems Productos listados en el carrito, o null si la pantalla no es el carrito
+     * @return Resultado del punto de control
+     */
+    public static CartCheckpoint checkpoint(String name, Integer badgeCount, List<String> listedItems) {
+        State state = STATE.get();
+        int delta = state.items.size() - state.countAtCheckpoint;
+        state.countAtCheckpoint = state.items.size();
+        CartCheckpoint checkpoint = new CartCheckpoint(name, expected(), badgeCount, listedItems, delta);
+        
+        CHECKPOINTS.increment();
+        if (checkpoint.isConsistent()) {
+            LOGGER.debug("Carrito consistente en '{}': {}", name, checkpoint.getExpectedItems());
+        } else {
+            DIVERGENT.increment();
+            LOGGER.warn("El carrito no coincide con lo esperado en '{}': {}", name, checkpoint.getDivergences());
+            ReportDataSink.summary("Diferencias del Carrito", checkpoint::describe);
+        }
+        return checkpoint;
+    }
+    
+    /**
+     * Vacía el carrito esperado (la aplicación se reinició con sus datos limpios)
+     */
+    public static void reset() {
+        State state = STATE.get();
+        if (!state.items.isEmpty()) {
+            LOGGER.debug("Vaciando carrito esperado: {}", state.items);
+        }
+        state.items.clear();
+        state.countAtCheckpoint = 0;
+    }
+    
+    /**
+     * Elimina el estado del hilo actual (al cerrar la sesión)
+     */
+    public static void clear() {
+        STATE.remove();
+    }
+    
+    /**
+     * Métricas de los puntos de control para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("checkpoints", CHECKPOINTS.sum());
+        stats.put("divergent", DIVERGENT.sum());
+        return stats;
+    }
+}
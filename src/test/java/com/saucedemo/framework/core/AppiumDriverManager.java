@@ -1,21 +1,36 @@
 package com.saucedemo.framework.core;
 
+import com.saucedemo.framework.cart.CartModel;
+import com.saucedemo.framework.locators.ElementHandleCache;
+import com.saucedemo.framework.stub.AppiumStubServer;
+import com.saucedemo.framework.metrics.CommandMetrics;
+import com.saucedemo.framework.metrics.TimedCommandExecutor;
+import com.saucedemo.framework.snapshot.SnapshotManager;
+import com.saucedemo.framework.transport.AppiumHttpTransport;
+import com.saucedemo.framework.transport.ConnectionPool;
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.InteractsWithApps;
+import io.appium.java_client.MobileCommand;
 import io.appium.java_client.android.AndroidDriver;
 import io.appium.java_client.ios.IOSDriver;
+import io.appium.java_client.remote.AppiumCommandExecutor;
 import net.serenitybdd.core.webdriver.driverproviders.DriverCapabilities;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
-import java.net.URL;
 import java.time.Duration;
 
 /**
  * Clase principal para gestionar el WebDriver de Appium
  * Maneja la configuración y creación de drivers para Android e iOS
+ * Cada hilo de ejecución tiene su propia sesión, asociada a un dispositivo del {@link DevicePool}
  * 
  * @author Framework Team
  * @version 1.0
@@ -23,7 +38,17 @@ import java.time.Duration;
 public class AppiumDriverManager {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(AppiumDriverManager.class);
-    private static AppiumDriver driver;
+    
+    // Sesión y dispositivo confinados al hilo actual
+    private static final ThreadLocal<AppiumDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<DeviceSlot> DEVICE = new ThreadLocal<>();
+    private static final ThreadLocal<Integer> SCENARIOS_IN_SESSION = ThreadLocal.withInitial(() -> 0);
+    
+    // La app no muestra en el inventario si hay un usuario autenticado: se registra cuando se confirma el login
+    private static final ThreadLocal<Boolean> AUTHENTICATED = ThreadLocal.withInitial(() -> false);
+    
+    // Sesiones activas de todos los hilos, para cerrarlas al terminar la JVM
+    private static final Map<AppiumDriver, DeviceSlot> ACTIVE_DRIVERS = new ConcurrentHashMap<>();
     
     // URLs de configuración
     private static final String APPIUM_SERVER_URL = getProperty("appium.server.url", "http://localhost:4723");
@@ -33,6 +58,17 @@ public class AppiumDriverManager {
     private static final int IMPLICIT_WAIT = Integer.parseInt(getProperty("appium.implicit.wait", "10"));
     private static final int EXPLICIT_WAIT = Integer.parseInt(getProperty("appium.explicit.wait", "20"));
     
+    // Modo sin espera implícita: toda espera pasa por WaitEngine y las búsquedas fallidas regresan de inmediato
+    private static final boolean EXPLICIT_WAITS_ONLY = Boolean.parseBoolean(getProperty("appium.wait.explicit.only", "false"));
+    
+    // Modo de sesión caliente: reutiliza la sesión entre escenarios y reinicia la app
+    private static final boolean SESSION_REUSE = Boolean.parseBoolean(getProperty("appium.session.reuse", "false"));
+    private static final int SESSION_MAX_SCENARIOS = Integer.parseInt(getProperty("appium.session.max.scenarios", "20"));
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AppiumDriverManager::quitAllDrivers, "appium-driver-shutdown"));
+    }
+    
     /**
      * Constructor privado para evitar instanciación
      */
@@ -41,35 +77,84 @@ public class AppiumDriverManager {
     }
     
     /**
-     * Obtiene la instancia del driver de Appium
-     * Si no existe, lo crea con las configuraciones apropiadas
+     * Obtiene la instancia del driver de Appium del hilo actual
+     * Si no existe, toma una sesión precalentada ({@link SessionPrewarmer}) o reserva un
+     * dispositivo libre y crea la sesión sobre él
      * 
      * @return Instancia del AppiumDriver
      */
     public static AppiumDriver getDriver() {
+        AppiumDriver driver = DRIVER.get();
         if (driver == null) {
-            driver = createDriver();
+            DeviceSlot slot;
+            SessionPrewarmer.WarmSession warmSession = SessionPrewarmer.claim();
+            if (warmSession != null) {
+                driver = warmSession.getDriver();
+                slot = warmSession.getSlot();
+            } else {
+                DevicePool pool = getDevicePool();
+                slot = pool.acquire();
+                try {
+                    driver = createDriver(slot);
+                } catch (RuntimeException e) {
+                    pool.release(slot);
+                    throw e;
+                }
+            }
+            DRIVER.set(driver);
+            DEVICE.set(slot);
+            ACTIVE_DRIVERS.put(driver, slot);
         }
         return driver;
     }
     
+    /**
+     * Obtiene el pool de dispositivos configurado
+     * Con appium.stub.enabled=true el endpoint por defecto es el servidor stub en proceso
+     * 
+     * @return Pool de dispositivos
+     */
+    public static DevicePool getDevicePool() {
+        String defaultUrl = AppiumStubServer.isEnabled()
+                ? AppiumStubServer.shared().getUrl()
+                : APPIUM_SERVER_URL + APPIUM_SERVER_PATH;
+        return DevicePool.getInstance(defaultUrl);
+    }
+    
+    /**
+     * Obtiene el dispositivo asignado al hilo actual
+     * 
+     * @return Slot del dispositivo, o null si el hilo no tiene sesión
+     */
+    public static DeviceSlot getCurrentDevice() {
+        return DEVICE.get();
+    }
+    
     /**
      * Crea un nuevo driver de Appium basado en la plataforma configurada
      * 
+     * @param slot Dispositivo sobre el que se crea la sesión
      * @return AppiumDriver configurado
      */
-    private static AppiumDriver createDriver() {
+    static AppiumDriver createDriver(DeviceSlot slot) {
         try {
-            String platformName = getPlatformName();
-            DesiredCapabilities capabilities = createCapabilities(platformName);
+            // El perfil del dispositivo puede fijar su propia plataforma
+            Object profilePlatform = slot.getCapabilities().get("platformName");
+            String platformName = profilePlatform != null ? profilePlatform.toString() : getPlatformName();
+            DesiredCapabilities capabilities = createCapabilities(platformName, slot);
             
-            LOGGER.info("Creando driver de Appium para plataforma: {}", platformName);
+            LOGGER.info("Creando driver de Appium para plataforma: {} en {}", platformName, slot);
             
+            // Los comandos viajan por el transporte con pool de conexiones; con métricas habilitadas
+            // pasan además por un ejecutor que mide su latencia
+            HttpCommandExecutor executor = CommandMetrics.isEnabled()
+                    ? new TimedCommandExecutor(slot.toUrl())
+                    : new AppiumCommandExecutor(MobileCommand.commandRepository, slot.toUrl(), AppiumHttpTransport.factory());
             AppiumDriver newDriver;
             if ("Android".equalsIgnoreCase(platformName)) {
-                newDriver = new AndroidDriver(new URL(APPIUM_SERVER_URL + APPIUM_SERVER_PATH), capabilities);
+                newDriver = new AndroidDriver(executor, capabilities);
             } else if ("iOS".equalsIgnoreCase(platformName)) {
-                newDriver = new IOSDriver(new URL(APPIUM_SERVER_URL + APPIUM_SERVER_PATH), capabilities);
+                newDriver = new IOSDriver(executor, capabilities);
             } else {
                 throw new IllegalArgumentException("Plataforma no soportada: " + platformName);
             }
@@ -90,17 +175,34 @@ public class AppiumDriverManager {
      * Crea las capacidades del driver según la plataforma
      * 
      * @param platformName Nombre de la plataforma (Android/iOS)
+     * @param slot Dispositivo sobre el que se crea la sesión
      * @return DesiredCapabilities configuradas
      */
-    private static DesiredCapabilities createCapabilities(String platformName) {
+    private static DesiredCapabilities createCapabilities(String platformName, DeviceSlot slot) {
         DesiredCapabilities capabilities = new DesiredCapabilities();
         
         if ("Android".equalsIgnoreCase(platformName)) {
             configureAndroidCapabilities(capabilities);
+            if (slot.getSystemPort() > 0) {
+                capabilities.setCapability("appium:systemPort", slot.getSystemPort());
+            }
         } else if ("iOS".equalsIgnoreCase(platformName)) {
             configureIOSCapabilities(capabilities);
         }
         
+        // Las capacidades del perfil del dispositivo reemplazan a las de la configuración global
+        slot.getCapabilities().forEach((name, value) -> {
+            if (!name.contains(":")) {
+                // Evita enviar la misma capacidad con y sin prefijo (platformName / appium:platformName)
+                capabilities.setCapability("appium:" + name, (Object) null);
+            }
+            capabilities.setCapability(name, value);
+        });
+        
+        if (slot.hasUdid()) {
+            capabilities.setCapability("appium:udid", slot.getUdid());
+        }
+        
         return capabilities;
     }
     
@@ -149,8 +251,18 @@ public class AppiumDriverManager {
      * @param driver AppiumDriver a configurar
      */
     private static void configureTimeouts(AppiumDriver driver) {
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(IMPLICIT_WAIT));
-        LOGGER.info("Timeouts configurados - Implícito: {}s, Explícito: {}s", IMPLICIT_WAIT, EXPLICIT_WAIT);
+        int implicitWait = EXPLICIT_WAITS_ONLY ? 0 : IMPLICIT_WAIT;
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        LOGGER.info("Timeouts configurados - Implícito: {}s, Explícito: {}s", implicitWait, EXPLICIT_WAIT);
+    }
+    
+    /**
+     * Indica si el modo sin espera implícita está activo
+     * 
+     * @return true si todas las esperas son explícitas
+     */
+    public static boolean isExplicitWaitsOnly() {
+        return EXPLICIT_WAITS_ONLY;
     }
     
     /**
@@ -173,6 +285,24 @@ public class AppiumDriverManager {
         return getProperty("webdriver.capabilities.appium:platformName", "Android");
     }
     
+    /**
+     * Indica si la ejecución es sobre Android (UiAutomator2)
+     * 
+     * @return true si la plataforma configurada es Android
+     */
+    public static boolean isAndroidPlatform() {
+        return "Android".equalsIgnoreCase(getPlatformName());
+    }
+    
+    /**
+     * Obtiene el paquete (Android) o bundle id (iOS) de la aplicación bajo prueba
+     * 
+     * @return Identificador de la aplicación para la plataforma configurada
+     */
+    public static String getAppPackage() {
+        return getAppPackage(isAndroidPlatform() ? "android" : "ios");
+    }
+    
     /**
      * Obtiene el nombre del dispositivo según la plataforma
      * 
@@ -229,9 +359,93 @@ public class AppiumDriverManager {
     }
     
     /**
-     * Cierra el driver actual y lo establece como null
+     * Indica si el modo de sesión caliente está habilitado
+     * 
+     * @return true si la sesión se reutiliza entre escenarios
+     */
+    public static boolean isSessionReuseEnabled() {
+        return SESSION_REUSE;
+    }
+    
+    /**
+     * Obtiene el número de escenarios que ya se ejecutaron sobre la sesión actual
+     * 
+     * @return Escenarios completados en la sesión del hilo actual
+     */
+    public static int getScenariosInSession() {
+        return SCENARIOS_IN_SESSION.get();
+    }
+    
+    /**
+     * Libera la sesión al terminar un escenario
+     * En modo de sesión caliente la conserva, salvo que el escenario haya fallado
+     * o que la sesión haya alcanzado el máximo de escenarios configurado
+     * 
+     * @param scenarioFailed true si el escenario terminó con fallo
+     * @return true si la sesión se conservó para el siguiente escenario
+     */
+    public static boolean releaseDriver(boolean scenarioFailed) {
+        if (!isDriverActive()) {
+            return false;
+        }
+        
+        int completed = SCENARIOS_IN_SESSION.get() + 1;
+        if (SESSION_REUSE && !scenarioFailed && completed < SESSION_MAX_SCENARIOS) {
+            SCENARIOS_IN_SESSION.set(completed);
+            LOGGER.info("Sesión conservada para el siguiente escenario ({}/{})", completed, SESSION_MAX_SCENARIOS);
+            return true;
+        }
+        
+        LOGGER.info("Reciclando sesión después de {} escenario(s). Fallo: {}", completed, scenarioFailed);
+        quitDriver();
+        return false;
+    }
+    
+    /**
+     * Registra que la app de la sesión actual tiene un usuario autenticado
+     * Se invoca solo después de confirmar el login (la app pasó del formulario de login al inventario)
+     */
+    public static void markAuthenticated() {
+        AUTHENTICATED.set(true);
+    }
+    
+    /**
+     * Indica si se confirmó un usuario autenticado en la app de la sesión actual
+     * Se pierde al reiniciar la app con sus datos limpios y al cerrar la sesión
+     * 
+     * @return true si hay un login confirmado en la sesión actual
+     */
+    public static boolean isAuthenticated() {
+        return isDriverActive() && AUTHENTICATED.get();
+    }
+    
+    /**
+     * Reinicia el estado de la aplicación sin cerrar la sesión
+     * Termina la app, limpia sus datos (solo Android) y la vuelve a activar
+     */
+    public static void resetAppState() {
+        AppiumDriver driver = getDriver();
+        String platformName = getPlatformName();
+        String appPackage = getAppPackage("Android".equalsIgnoreCase(platformName) ? "android" : "ios");
+        
+        LOGGER.info("Reiniciando estado de la aplicación: {}", appPackage);
+        InteractsWithApps apps = (InteractsWithApps) driver;
+        apps.terminateApp(appPackage);
+        if ("Android".equalsIgnoreCase(platformName)) {
+            driver.executeScript("mobile: clearApp", Collections.singletonMap("appId", appPackage));
+        }
+        apps.activateApp(appPackage);
+        SnapshotManager.invalidate();
+        ElementHandleCache.invalidate();
+        CartModel.reset();
+        AUTHENTICATED.remove();
+    }
+    
+    /**
+     * Cierra el driver del hilo actual y libera su dispositivo
      */
     public static void quitDriver() {
+        AppiumDriver driver = DRIVER.get();
         if (driver != null) {
             try {
                 LOGGER.info("Cerrando driver de Appium");
@@ -239,17 +453,48 @@ public class AppiumDriverManager {
             } catch (Exception e) {
                 LOGGER.warn("Error al cerrar el driver: {}", e.getMessage());
             } finally {
-                driver = null;
+                ACTIVE_DRIVERS.remove(driver);
+                DRIVER.remove();
+                SCENARIOS_IN_SESSION.remove();
+                AUTHENTICATED.remove();
+                SnapshotManager.clear();
+                ElementHandleCache.clear();
+                CartModel.clear();
+                getDevicePool().release(DEVICE.get());
+                DEVICE.remove();
             }
         }
     }
     
     /**
-     * Verifica si el driver está activo
+     * Cierra las sesiones que sigan abiertas en cualquier hilo
+     * Se ejecuta al terminar la JVM
+     */
+    private static void quitAllDrivers() {
+        SessionPrewarmer.quitUnclaimed();
+        for (AppiumDriver driver : ACTIVE_DRIVERS.keySet()) {
+            try {
+                LOGGER.info("Cerrando sesión pendiente en {}", ACTIVE_DRIVERS.get(driver));
+                driver.quit();
+            } catch (Exception e) {
+                LOGGER.warn("Error al cerrar el driver: {}", e.getMessage());
+            }
+        }
+        ACTIVE_DRIVERS.clear();
+        AppiumHttpTransport.logStats();
+        ConnectionPool.shared().closeAll();
+        DevicePool pool = DevicePool.getInstanceIfCreated();
+        if (pool != null) {
+            pool.logUtilization();
+        }
+    }
+    
+    /**
+     * Verifica si el driver del hilo actual está activo
      * 
      * @return true si el driver está activo, false en caso contrario
      */
     public static boolean isDriverActive() {
-        return driver != null;
+        return DRIVER.get() != null;
     }
 } 
\ No newline at end of file
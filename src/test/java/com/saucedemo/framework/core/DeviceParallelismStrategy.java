@@ -0,0 +1,59 @@
+package com.saucedemo.framework.core;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Estrategia de paralelismo de Cucumber derivada del pool de dispositivos
+ * Se ejecutan tantos escenarios a la vez como dispositivos configurados en {@link DevicePool}
+ * (appium.device.profiles, appium.server.urls o appium.device.udids): con un solo dispositivo
+ * la ejecución es secuencial y cada worker adicional tiene su propio dispositivo
+ * 
+ * Se registra en junit-platform.properties (cucumber.execution.parallel.config.custom.class)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class DeviceParallelismStrategy implements ParallelExecutionConfigurationStrategy {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeviceParallelismStrategy.class);
+    
+    private static final int KEEP_ALIVE_SECONDS = 30;
+    
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = Math.max(1, DevicePool.configuredSize());
+        LOGGER.info("Ejecución de escenarios con {} worker(s), uno por dispositivo", parallelism);
+        return new ParallelExecutionConfiguration() {
+            
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getMaxPoolSize() {
+                // Sin hilos adicionales: cada worker necesita un dispositivo libre
+                return parallelism;
+            }
+            
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+            
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+        };
+    }
+}
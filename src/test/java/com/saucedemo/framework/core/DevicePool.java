@@ -0,0 +1,288 @@
+package com.saucedemo.framework.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de dispositivos/endpoints de Appium
+ * Entrega un slot libre a cada hilo de ejecución para que cada worker de Cucumber
+ * tenga su propia sesión: cada escenario corre en el primer dispositivo que quede libre
+ * Al terminar, reporta el porcentaje de tiempo ocupado/ocioso de cada dispositivo
+ * 
+ * Configuración:
+ * - appium.device.profiles: archivo JSON con perfiles de capacidades (un objeto con el formato de
+ *   appium-inspector-capabilities.json o un arreglo de ellos); cada perfil es un dispositivo y su
+ *   endpoint se toma de "appium:server" (address, port, path). Tiene prioridad sobre las listas siguientes
+ * - appium.server.urls: lista de URLs separadas por coma (por defecto appium.server.url + appium.server.path)
+ * - appium.device.udids: lista de udids separados por coma, emparejados por posición con las URLs
+ * - appium.system.port.base: puerto base de UiAutomator2 para sesiones paralelas en un mismo servidor
+ * - appium.device.lease.timeout: segundos máximos de espera por un dispositivo libre
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class DevicePool {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(DevicePool.class);
+    
+    private static final int SYSTEM_PORT_BASE = Integer.parseInt(System.getProperty("appium.system.port.base", "8200"));
+    private static final long LEASE_TIMEOUT = Long.parseLong(System.getProperty("appium.device.lease.timeout", "600"));
+    
+    private static final String SERVER_CAPABILITY = "appium:server";
+    
+    private static volatile DevicePool instance;
+    
+    private final List<DeviceSlot> slots;
+    private final BlockingQueue<DeviceSlot> freeSlots;
+    private final long createdAt = System.nanoTime();
+    
+    /**
+     * Constructor del pool
+     * 
+     * @param slots Slots disponibles
+     */
+    private DevicePool(List<DeviceSlot> slots) {
+        this.slots = Collections.unmodifiableList(slots);
+        this.freeSlots = new LinkedBlockingQueue<>(slots);
+        LOGGER.info("Pool de dispositivos inicializado con {} slot(s): {}", slots.size(), slots);
+    }
+    
+    /**
+     * Obtiene la instancia del pool, creándola a partir de la configuración si no existe
+     * 
+     * @param defaultServerUrl URL usada cuando no se configura appium.server.urls
+     * @return Pool de dispositivos
+     */
+    public static DevicePool getInstance(String defaultServerUrl) {
+        if (instance == null) {
+            synchronized (DevicePool.class) {
+                if (instance == null) {
+                    instance = new DevicePool(loadSlots(defaultServerUrl));
+                }
+            }
+        }
+        return instance;
+    }
+    
+    /**
+     * Obtiene la instancia del pool sin crearla
+     * 
+     * @return Pool de dispositivos, o null si ningún hilo lo ha usado todavía
+     */
+    public static DevicePool getInstanceIfCreated() {
+        return instance;
+    }
+    
+    /**
+     * Número de dispositivos configurados, sin crear el pool
+     * Lo usa {@link DeviceParallelismStrategy} para fijar el paralelismo de Cucumber antes de iniciar los escenarios
+     * 
+     * @return Dispositivos configurados (1 si no se configura ninguna lista ni archivo de perfiles)
+     */
+    public static int configuredSize() {
+        DevicePool created = instance;
+        return created != null ? created.size() : loadSlots(null).size();
+    }
+    
+    /**
+     * Construye los slots a partir de las propiedades del sistema
+     * 
+     * @param defaultServerUrl URL por defecto del servidor de Appium
+     * @return Lista de slots configurados
+     */
+    private static List<DeviceSlot> loadSlots(String defaultServerUrl) {
+        String profiles = System.getProperty("appium.device.profiles", "");
+        if (!profiles.trim().isEmpty()) {
+            return loadProfiles(new File(profiles.trim()), defaultServerUrl);
+        }
+        
+        List<String> urls = splitProperty("appium.server.urls");
+        List<String> udids = splitProperty("appium.device.udids");
+        
+        if (urls.isEmpty()) {
+            urls.add(defaultServerUrl);
+        }
+        
+        // Un mismo servidor puede atender varios dispositivos: se repite la URL por cada udid
+        int size = Math.max(urls.size(), udids.size());
+        List<DeviceSlot> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String url = urls.get(Math.min(i, urls.size() - 1));
+            String udid = i < udids.size() ? udids.get(i) : null;
+            int systemPort = size > 1 ? SYSTEM_PORT_BASE + i : 0;
+            result.add(new DeviceSlot(i, url, udid, systemPort));
+        }
+        return result;
+    }
+    
+    /**
+     * Construye un slot por cada perfil de capacidades del archivo
+     * 
+     * @param file Archivo JSON con un perfil o un arreglo de perfiles
+     * @param defaultServerUrl URL usada por los perfiles sin "appium:server"
+     * @return Lista de slots configurados
+     */
+    private static List<DeviceSlot> loadProfiles(File file, String defaultServerUrl) {
+        JsonNode root;
+        try {
+            root = new ObjectMapper().readTree(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el archivo de perfiles de dispositivos: " + file, e);
+        }
+        
+        List<JsonNode> profiles = new ArrayList<>();
+        if (root.isArray()) {
+            root.forEach(profiles::add);
+        } else {
+            profiles.add(root);
+        }
+        
+        ObjectMapper mapper = new ObjectMapper();
+        List<DeviceSlot> result = new ArrayList<>(profiles.size());
+        for (int i = 0; i < profiles.size(); i++) {
+            JsonNode profile = profiles.get(i);
+            Map<String, Object> capabilities = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = profile.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!SERVER_CAPABILITY.equals(field.getKey())) {
+                    capabilities.put(field.getKey(), mapper.convertValue(field.getValue(), Object.class));
+                }
+            }
+            
+            String url = profile.has(SERVER_CAPABILITY) ? toServerUrl(profile.get(SERVER_CAPABILITY)) : defaultServerUrl;
+            String udid = profile.path("appium:udid").asText(null);
+            // Cada perfil puede fijar su systemPort; si no, se asigna uno distinto por slot
+            int systemPort = profiles.size() > 1 && !profile.has("appium:systemPort") ? SYSTEM_PORT_BASE + i : 0;
+            result.add(new DeviceSlot(i, url, udid, systemPort, capabilities));
+        }
+        LOGGER.info("{} perfil(es) de dispositivo cargados desde {}", result.size(), file);
+        return result;
+    }
+    
+    /**
+     * Convierte el bloque "appium:server" de Appium Inspector en una URL
+     * 
+     * @param server Nodo con address, port y path
+     * @return URL del servidor de Appium
+     */
+    private static String toServerUrl(JsonNode server) {
+        String path = server.path("path").asText("/");
+        return "http://" + server.path("address").asText("localhost") + ":" + server.path("port").asInt(4723)
+                + (path.startsWith("/") ? path : "/" + path);
+    }
+    
+    /**
+     * Divide una propiedad separada por comas
+     * 
+     * @param key Clave de la propiedad
+     * @return Valores no vacíos de la propiedad
+     */
+    private static List<String> splitProperty(String key) {
+        List<String> values = new ArrayList<>();
+        String raw = System.getProperty(key, "");
+        for (String value : raw.split(",")) {
+            if (!value.trim().isEmpty()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Reserva un slot libre, bloqueando hasta que haya uno disponible
+     * 
+     * @return Slot reservado para el hilo actual
+     */
+    public DeviceSlot acquire() {
+        try {
+            DeviceSlot slot = freeSlots.poll(LEASE_TIMEOUT, TimeUnit.SECONDS);
+            if (slot == null) {
+                throw new IllegalStateException("No hay dispositivos libres después de " + LEASE_TIMEOUT + "s");
+            }
+            slot.markLeased();
+            LOGGER.debug("Slot {} asignado al hilo {}", slot, Thread.currentThread().getName());
+            return slot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba un dispositivo libre", e);
+        }
+    }
+    
+    /**
+     * Devuelve un slot al pool
+     * 
+     * @param slot Slot a liberar
+     */
+    public void release(DeviceSlot slot) {
+        if (slot != null) {
+            slot.markReleased();
+            LOGGER.debug("Slot {} liberado por el hilo {}", slot, Thread.currentThread().getName());
+            freeSlots.offer(slot);
+        }
+    }
+    
+    /**
+     * Obtiene todos los slots configurados
+     * 
+     * @return Lista inmutable de slots
+     */
+    public List<DeviceSlot> getSlots() {
+        return slots;
+    }
+    
+    /**
+     * Número de dispositivos configurados
+     * 
+     * @return Tamaño del pool
+     */
+    public int size() {
+        return slots.size();
+    }
+    
+    /**
+     * Utilización de cada dispositivo desde la creación del pool
+     * 
+     * @return Mapa serializable por dispositivo con préstamos, tiempo ocupado/ocioso y porcentaje ocupado
+     */
+    public Map<String, Object> getUtilization() {
+        long elapsed = Math.max(1, System.nanoTime() - createdAt);
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (DeviceSlot slot : slots) {
+            long busy = Math.min(elapsed, slot.getBusyNanos());
+            Map<String, Object> device = new LinkedHashMap<>();
+            device.put("leases", slot.getLeases());
+            device.put("busyMs", busy / 1_000_000);
+            device.put("idleMs", (elapsed - busy) / 1_000_000);
+            device.put("busyRatio", Math.round(busy * 1000.0 / elapsed) / 1000.0);
+            report.put(slot.getName(), device);
+        }
+        return report;
+    }
+    
+    /**
+     * Registra en el log la utilización de cada dispositivo
+     */
+    public void logUtilization() {
+        long elapsed = Math.max(1, System.nanoTime() - createdAt);
+        for (DeviceSlot slot : slots) {
+            long busy = Math.min(elapsed, slot.getBusyNanos());
+            LOGGER.info("Dispositivo {}: {} préstamo(s), ocupado {} ms / ocioso {} ms ({}% ocupado)", slot, slot.getLeases(),
+                    busy / 1_000_000, (elapsed - busy) / 1_000_000, Math.round(busy * 100.0 / elapsed));
+        }
+    }
+}
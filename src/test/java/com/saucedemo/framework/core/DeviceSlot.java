@@ -0,0 +1,150 @@
+package com.saucedemo.framework.core;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Representa un dispositivo (o endpoint de Appium) disponible para ejecutar escenarios
+ * Cada slot es usado por un único hilo a la vez y acumula su tiempo ocupado para el reporte de utilización
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class DeviceSlot {
+    
+    private final int index;
+    private final String serverUrl;
+    private final String udid;
+    private final int systemPort;
+    private final Map<String, Object> capabilities;
+    
+    // Tiempo ocupado acumulado, protegido por el monitor del slot
+    private long leasedAt = -1;
+    private long busyNanos;
+    private int leases;
+    
+    /**
+     * Constructor del slot de dispositivo
+     * 
+     * @param index Posición del slot dentro del pool
+     * @param serverUrl URL completa del servidor de Appium (incluyendo el path)
+     * @param udid Identificador del dispositivo, puede ser null
+     * @param systemPort Puerto de sistema de UiAutomator2, 0 si no aplica
+     */
+    public DeviceSlot(int index, String serverUrl, String udid, int systemPort) {
+        this(index, serverUrl, udid, systemPort, Collections.emptyMap());
+    }
+    
+    /**
+     * Constructor del slot con un perfil de capacidades propio
+     * 
+     * @param index Posición del slot dentro del pool
+     * @param serverUrl URL completa del servidor de Appium (incluyendo el path)
+     * @param udid Identificador del dispositivo, puede ser null
+     * @param systemPort Puerto de sistema de UiAutomator2, 0 si no aplica
+     * @param capabilities Capacidades del perfil, aplicadas sobre las capacidades por defecto
+     */
+    public DeviceSlot(int index, String serverUrl, String udid, int systemPort, Map<String, Object> capabilities) {
+        this.index = index;
+        this.serverUrl = serverUrl;
+        this.udid = udid;
+        this.systemPort = systemPort;
+        this.capabilities = Collections.unmodifiableMap(new LinkedHashMap<>(capabilities));
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public String getServerUrl() {
+        return serverUrl;
+    }
+    
+    public String getUdid() {
+        return udid;
+    }
+    
+    public int getSystemPort() {
+        return systemPort;
+    }
+    
+    public Map<String, Object> getCapabilities() {
+        return capabilities;
+    }
+    
+    /**
+     * Indica si el slot apunta a un dispositivo específico
+     * 
+     * @return true si hay un udid configurado
+     */
+    public boolean hasUdid() {
+        return udid != null && !udid.isEmpty();
+    }
+    
+    /**
+     * Obtiene la URL del servidor de Appium
+     * 
+     * @return URL del servidor
+     * @throws MalformedURLException si la URL configurada no es válida
+     */
+    public URL toUrl() throws MalformedURLException {
+        return new URL(serverUrl);
+    }
+    
+    /**
+     * Nombre legible del slot para logs y reportes
+     * 
+     * @return Nombre del slot
+     */
+    public String getName() {
+        if (hasUdid()) {
+            return udid + "@" + serverUrl;
+        }
+        Object deviceName = capabilities.get("appium:deviceName");
+        return (deviceName != null ? deviceName + "#" + index : "device-" + index) + "@" + serverUrl;
+    }
+    
+    /**
+     * Marca el inicio de un préstamo del slot
+     */
+    synchronized void markLeased() {
+        leasedAt = System.nanoTime();
+        leases++;
+    }
+    
+    /**
+     * Marca el fin del préstamo actual y acumula su duración
+     */
+    synchronized void markReleased() {
+        if (leasedAt >= 0) {
+            busyNanos += System.nanoTime() - leasedAt;
+            leasedAt = -1;
+        }
+    }
+    
+    /**
+     * Tiempo total ocupado, incluido el préstamo en curso
+     * 
+     * @return Nanosegundos ocupados
+     */
+    synchronized long getBusyNanos() {
+        return leasedAt >= 0 ? busyNanos + System.nanoTime() - leasedAt : busyNanos;
+    }
+    
+    /**
+     * Número de veces que el slot fue prestado
+     * 
+     * @return Préstamos del slot
+     */
+    synchronized int getLeases() {
+        return leases;
+    }
+    
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
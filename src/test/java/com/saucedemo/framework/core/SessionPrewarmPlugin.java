@@ -0,0 +1,30 @@
+package com.saucedemo.framework.core;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+
+/**
+ * Plugin de Cucumber que dispara el precalentamiento de sesiones
+ * Cucumber instancia los plugins antes de cargar el glue e inicializar Serenity, de modo que
+ * la creación de la sesión se solapa con ese arranque
+ * 
+ * Se registra en junit-platform.properties (cucumber.plugin)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class SessionPrewarmPlugin implements ConcurrentEventListener {
+    
+    /**
+     * Constructor del plugin
+     * Inicia el precalentamiento en cuanto Cucumber crea el plugin
+     */
+    public SessionPrewarmPlugin() {
+        SessionPrewarmer.start();
+    }
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // Sin eventos: el trabajo se inicia al construir el plugin
+    }
+}
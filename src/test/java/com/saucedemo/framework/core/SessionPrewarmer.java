@@ -0,0 +1,204 @@
+package com.saucedemo.framework.core;
+
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Crea sesiones de Appium en segundo plano al arrancar la JVM de tests
+ * Mientras Cucumber carga el glue e inicializa Serenity, las sesiones se van creando; el primer
+ * {@link AppiumDriverManager#getDriver()} de cada hilo toma una sesión precalentada y solo se bloquea
+ * si todavía no está lista
+ * 
+ * Configuración:
+ * - appium.session.prewarm: número de sesiones a precalentar (por defecto 0, deshabilitado),
+ *   limitado al tamaño del {@link DevicePool}
+ * - appium.session.prewarm.quit.timeout: segundos que se espera al terminar la JVM a que acaben
+ *   las sesiones aún en creación para poder cerrarlas (por defecto 30)
+ * 
+ * Métricas: tiempo de creación oculto (creación menos espera del hilo que la reclamó) y tiempo esperado
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class SessionPrewarmer {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionPrewarmer.class);
+    
+    private static final int SESSIONS = Integer.parseInt(System.getProperty("appium.session.prewarm", "0"));
+    private static final long QUIT_TIMEOUT_SECONDS = Long.parseLong(System.getProperty("appium.session.prewarm.quit.timeout", "30"));
+    
+    private static final AtomicBoolean STARTED = new AtomicBoolean();
+    private static final Queue<CompletableFuture<WarmSession>> PENDING = new ConcurrentLinkedQueue<>();
+    
+    private static final AtomicInteger CLAIMED = new AtomicInteger();
+    private static final AtomicInteger FAILED = new AtomicInteger();
+    private static final AtomicLong CREATION_NANOS = new AtomicLong();
+    private static final AtomicLong WAITED_NANOS = new AtomicLong();
+    private static final AtomicLong HIDDEN_NANOS = new AtomicLong();
+    
+    private SessionPrewarmer() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Sesión creada en segundo plano junto con su dispositivo
+     */
+    static final class WarmSession {
+        
+        private final AppiumDriver driver;
+        private final DeviceSlot slot;
+        private final long creationNanos;
+        
+        private WarmSession(AppiumDriver driver, DeviceSlot slot, long creationNanos) {
+            this.driver = driver;
+            this.slot = slot;
+            this.creationNanos = creationNanos;
+        }
+        
+        AppiumDriver getDriver() {
+            return driver;
+        }
+        
+        DeviceSlot getSlot() {
+            return slot;
+        }
+    }
+    
+    /**
+     * Inicia la creación de las sesiones en segundo plano
+     * Solo tiene efecto en la primera llamada
+     */
+    public static void start() {
+        if (SESSIONS <= 0 || !STARTED.compareAndSet(false, true)) {
+            return;
+        }
+        DevicePool pool = AppiumDriverManager.getDevicePool();
+        int count = Math.min(SESSIONS, pool.size());
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "appium-prewarm-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOGGER.info("Precalentando {} sesión(es) de Appium en segundo plano", count);
+        for (int i = 0; i < count; i++) {
+            PENDING.add(CompletableFuture.supplyAsync(() -> warm(pool), executor));
+        }
+        executor.shutdown();
+    }
+    
+    private static WarmSession warm(DevicePool pool) {
+        long start = System.nanoTime();
+        DeviceSlot slot = pool.acquire();
+        try {
+            AppiumDriver driver = AppiumDriverManager.createDriver(slot);
+            long creation = System.nanoTime() - start;
+            LOGGER.info("Sesión precalentada lista en {} ({} ms)", slot, creation / 1_000_000);
+            return new WarmSession(driver, slot, creation);
+        } catch (RuntimeException e) {
+            pool.release(slot);
+            LOGGER.warn("No se pudo precalentar la sesión en {}: {}", slot, e.getMessage());
+            throw e;
+        }
+    }
+    
+    /**
+     * Toma una sesión precalentada, esperando a que termine de crearse si hace falta
+     * 
+     * @return Sesión lista, o null si no quedan sesiones precalentadas o su creación falló
+     */
+    static WarmSession claim() {
+        CompletableFuture<WarmSession> future = PENDING.poll();
+        if (future == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            WarmSession session = future.get();
+            long waited = System.nanoTime() - start;
+            long hidden = Math.max(0, session.creationNanos - waited);
+            CLAIMED.incrementAndGet();
+            CREATION_NANOS.addAndGet(session.creationNanos);
+            WAITED_NANOS.addAndGet(waited);
+            HIDDEN_NANOS.addAndGet(hidden);
+            LOGGER.info("Usando sesión precalentada en {}: creación {} ms, espera {} ms, tiempo oculto {} ms",
+                    session.slot, session.creationNanos / 1_000_000, waited / 1_000_000, hidden / 1_000_000);
+            return session;
+        } catch (ExecutionException e) {
+            FAILED.incrementAndGet();
+            LOGGER.warn("La sesión precalentada falló, se crea una nueva en el hilo actual: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba la sesión precalentada", e);
+        }
+    }
+    
+    /**
+     * Cierra las sesiones precalentadas que ningún escenario reclamó y libera sus dispositivos
+     * Se ejecuta al terminar la JVM: cancelar el futuro no detiene la creación en curso, así que se
+     * espera a que termine (con un límite compartido por todas las sesiones) para cerrar su driver
+     */
+    static void quitUnclaimed() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(QUIT_TIMEOUT_SECONDS);
+        CompletableFuture<WarmSession> future;
+        while ((future = PENDING.poll()) != null) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                quit(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (ExecutionException e) {
+                // warm() ya liberó el dispositivo al fallar
+                LOGGER.debug("Sesión precalentada fallida, nada que cerrar: {}", e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                LOGGER.warn("La sesión precalentada no terminó de crearse en {} s; se cerrará si termina antes de salir",
+                        QUIT_TIMEOUT_SECONDS);
+                future.thenAccept(SessionPrewarmer::quit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.thenAccept(SessionPrewarmer::quit);
+                return;
+            }
+        }
+    }
+    
+    private static void quit(WarmSession session) {
+        LOGGER.info("Cerrando sesión precalentada sin usar en {}", session.slot);
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            LOGGER.warn("Error al cerrar la sesión precalentada: {}", e.getMessage());
+        } finally {
+            AppiumDriverManager.getDevicePool().release(session.slot);
+        }
+    }
+    
+    /**
+     * Métricas del precalentamiento para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessionsClaimed", CLAIMED.get());
+        stats.put("sessionsFailed", FAILED.get());
+        stats.put("creationMs", CREATION_NANOS.get() / 1_000_000);
+        stats.put("waitedMs", WAITED_NANOS.get() / 1_000_000);
+        stats.put("hiddenMs", HIDDEN_NANOS.get() / 1_000_000);
+        return stats;
+    }
+}
@@ -0,0 +1,96 @@
+package com.saucedemo.framework.core;
+
+import com.saucedemo.framework.metrics.ScenarioTimer;
+import com.saucedemo.framework.snapshot.SnapshotManager;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Motor único de esperas explícitas del framework
+ * Sondea una condición con un intervalo que crece exponencialmente hasta un máximo y
+ * respeta un plazo por llamada: nunca duerme más allá del plazo restante
+ * 
+ * Configuración:
+ * - appium.wait.poll.initial.ms: intervalo del primer sondeo (por defecto 50)
+ * - appium.wait.poll.max.ms: intervalo máximo entre sondeos (por defecto 500)
+ * - appium.wait.poll.factor: factor de crecimiento del intervalo (por defecto 1.5)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class WaitEngine {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(WaitEngine.class);
+    
+    private static final long INITIAL_POLL_MS = Long.parseLong(System.getProperty("appium.wait.poll.initial.ms", "50"));
+    private static final long MAX_POLL_MS = Long.parseLong(System.getProperty("appium.wait.poll.max.ms", "500"));
+    private static final double POLL_FACTOR = Double.parseDouble(System.getProperty("appium.wait.poll.factor", "1.5"));
+    
+    private WaitEngine() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Espera hasta que la condición devuelva un valor distinto de null y de false
+     * Las excepciones NoSuchElement y StaleElementReference se tratan como "todavía no"
+     * 
+     * @param description Descripción de la espera para logs y mensajes de error
+     * @param timeout Plazo máximo de esta llamada
+     * @param condition Condición a evaluar
+     * @param <T> Tipo del valor devuelto por la condición
+     * @return Primer valor válido devuelto por la condición
+     * @throws TimeoutException si la condición no se cumple dentro del plazo
+     */
+    public static <T> T until(String description, Duration timeout, Supplier<T> condition) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = INITIAL_POLL_MS;
+        int polls = 0;
+        RuntimeException lastError = null;
+        
+        while (true) {
+            polls++;
+            try {
+                T value = condition.get();
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    LOGGER.debug("Espera '{}' cumplida en {} ms ({} sondeos)", description, elapsedMillis(start), polls);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            
+            long remainingMs = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remainingMs <= 0) {
+                throw new TimeoutException(String.format("Espera '%s' no cumplida después de %d ms (%d sondeos)",
+                        description, elapsedMillis(start), polls), lastError);
+            }
+            sleep(Math.min(interval, remainingMs));
+            // La pantalla pudo cambiar durante la pausa
+            SnapshotManager.invalidate();
+            interval = Math.min(MAX_POLL_MS, (long) (interval * POLL_FACTOR));
+        }
+    }
+    
+    private static long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000L;
+    }
+    
+    private static void sleep(long milliseconds) {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Espera interrumpida", e);
+        } finally {
+            ScenarioTimer.addWaitNanos(System.nanoTime() - start);
+        }
+    }
+}
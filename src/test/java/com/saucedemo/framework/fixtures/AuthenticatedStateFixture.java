@@ -0,0 +1,152 @@
+package com.saucedemo.framework.fixtures;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.core.WaitEngine;
+import com.saucedemo.framework.locators.ElementHandleCache;
+import com.saucedemo.framework.pages.InventoryPage;
+import com.saucedemo.framework.pages.LoginPage;
+import com.saucedemo.framework.pages.PageRegistry;
+import com.saucedemo.framework.snapshot.SnapshotManager;
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fixture que deja la aplicación en el inventario con un usuario autenticado sin pasar por el login de la UI
+ * Lo solicitan los escenarios con el tag @logged-in (ver TestHooks); los escenarios que prueban el login
+ * siguen usando la UI
+ * 
+ * El inventario se muestra también sin usuario, por lo que estar en él no prueba el login: el estado
+ * solo se da por establecido cuando la app pasa del login al inventario, y se registra en la sesión
+ * ({@link AppiumDriverManager#markAuthenticated()}) para reutilizarlo en los escenarios siguientes
+ * 
+ * Estrategias (appium.fixture.login.strategy):
+ * - deeplink: abre el deep link de login con las credenciales (por defecto); si la app no lo acepta
+ *   queda en el formulario de login y se recurre al login por la UI
+ * - ui: login por la UI, para apps o builds que no exponen el deep link
+ * 
+ * Configuración:
+ * - appium.fixture.login.deeplink: deep link que autentica; {user} y {password} se reemplazan por las credenciales
+ *   (por defecto mydemoapp://login?username={user}&password={password})
+ * - appium.fixture.login.page: deep link del formulario de login, usado si la app no está en el login (por defecto mydemoapp://login)
+ * - appium.fixture.login.user / appium.fixture.login.password: credenciales
+ * - appium.fixture.login.timeout.ms: plazo para confirmar la pantalla tras el deep link (por defecto 5000)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class AuthenticatedStateFixture {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticatedStateFixture.class);
+    
+    private static final String STRATEGY = System.getProperty("appium.fixture.login.strategy", "deeplink");
+    private static final String DEEP_LINK = System.getProperty("appium.fixture.login.deeplink",
+            "mydemoapp://login?username={user}&password={password}");
+    private static final String LOGIN_PAGE = System.getProperty("appium.fixture.login.page", "mydemoapp://login");
+    private static final String USER = System.getProperty("appium.fixture.login.user", "bob@example.com");
+    private static final String PASSWORD = System.getProperty("appium.fixture.login.password", "10203040my");
+    private static final Duration TIMEOUT = Duration.ofMillis(Long.parseLong(System.getProperty("appium.fixture.login.timeout.ms", "5000")));
+    
+    private AuthenticatedStateFixture() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Lleva la aplicación al inventario con un usuario autenticado
+     * 
+     * @return Estrategia con la que se alcanzó el estado ("existente", "deeplink" o "ui")
+     * @throws IllegalStateException si el login no lleva la app al inventario
+     */
+    public static String establish() {
+        InventoryPage inventoryPage = PageRegistry.get(InventoryPage.class);
+        LoginPage loginPage = PageRegistry.get(LoginPage.class);
+        if (AppiumDriverManager.isAuthenticated() && inventoryPage.isPageLoaded()) {
+            LOGGER.info("La sesión ya tiene un usuario autenticado en el inventario");
+            return "existente";
+        }
+        
+        if ("deeplink".equalsIgnoreCase(STRATEGY) && loginByDeepLink(inventoryPage, loginPage)) {
+            AppiumDriverManager.markAuthenticated();
+            return "deeplink";
+        }
+        
+        LOGGER.info("Estableciendo el estado autenticado mediante login por la UI");
+        if (!loginPage.isPageLoaded()) {
+            // El catálogo se muestra también sin usuario: se abre el formulario de login
+            openDeepLink(LOGIN_PAGE, LOGIN_PAGE);
+        }
+        loginPage.waitForPageToLoad();
+        loginPage.performLogin(USER, PASSWORD);
+        inventoryPage.waitForPageToLoad();
+        if (!inventoryPage.isPageLoaded()) {
+            throw new IllegalStateException("No se pudo llevar la aplicación al inventario autenticado");
+        }
+        AppiumDriverManager.markAuthenticated();
+        return "ui";
+    }
+    
+    /**
+     * Abre el deep link de login con las credenciales y confirma que la app pasó al inventario
+     * Una app que no acepta credenciales en el deep link deja el formulario de login en pantalla
+     * 
+     * @param inventoryPage Página del inventario
+     * @param loginPage Página del login
+     * @return true si el deep link autenticó al usuario
+     */
+    private static boolean loginByDeepLink(InventoryPage inventoryPage, LoginPage loginPage) {
+        String url = DEEP_LINK.replace("{user}", encode(USER)).replace("{password}", encode(PASSWORD));
+        if (!openDeepLink(url, DEEP_LINK)) {
+            return false;
+        }
+        try {
+            WaitEngine.until("pantalla tras el deep link de login", TIMEOUT,
+                    () -> inventoryPage.isPageLoaded() || loginPage.isPageLoaded());
+        } catch (RuntimeException e) {
+            LOGGER.warn("El deep link {} no dejó la app en el login ni en el inventario: {}", DEEP_LINK, e.getMessage());
+            return false;
+        }
+        if (!inventoryPage.isPageLoaded()) {
+            LOGGER.warn("El deep link {} no autenticó al usuario, la app quedó en el login", DEEP_LINK);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Abre un deep link de la aplicación
+     * 
+     * @param url URL del deep link
+     * @param logged URL que se registra en el log (sin credenciales)
+     * @return true si la app aceptó el deep link
+     */
+    private static boolean openDeepLink(String url, String logged) {
+        AppiumDriver driver = AppiumDriverManager.getDriver();
+        Map<String, Object> params = new HashMap<>();
+        params.put("url", url);
+        if (AppiumDriverManager.isAndroidPlatform()) {
+            params.put("package", AppiumDriverManager.getAppPackage());
+        }
+        
+        try {
+            LOGGER.info("Abriendo deep link {}", logged);
+            driver.executeScript("mobile: deepLink", params);
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.warn("La app no aceptó el deep link {}: {}", logged, e.getMessage());
+            return false;
+        } finally {
+            SnapshotManager.invalidate();
+            ElementHandleCache.invalidate();
+        }
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,422 @@
+package com.saucedemo.framework.gestures;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.locators.ElementHandleCache;
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import com.saucedemo.framework.snapshot.SnapshotElement;
+import com.saucedemo.framework.snapshot.SnapshotManager;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Motor de gestos nativos para desplazarse por listas
+ * Reemplaza el JavaScript de navegador (scrollIntoView, window.scrollBy), que no tiene efecto en
+ * una sesión nativa de UiAutomator2
+ * 
+ * Cada búsqueda se resuelve sobre la captura de la jerarquía ({@link PageSnapshot}):
+ * - si el objetivo ya está completamente visible no se ejecuta ningún gesto
+ * - si está cortado por el borde del área, un único gesto con la distancia exacta lo trae a la vista
+ * - si no está, la distancia del gesto se adapta a la densidad de la lista: se avanza el alto del área
+ *   menos el alto de un elemento, de modo que ningún elemento quede sin aparecer completo
+ * - el final de la lista se detecta cuando el gesto no cambia el contenido del área entre capturas
+ * 
+ * Estrategias (appium.gestures.strategy):
+ * - auto (por defecto): mobile: scrollGesture en Android, acciones de puntero W3C en otras plataformas
+ * - uiautomator2: siempre mobile: scrollGesture
+ * - w3c: siempre acciones de puntero W3C
+ * 
+ * Configuración adicional:
+ * - appium.gestures.max.swipes: gestos máximos por búsqueda (por defecto 15)
+ * - appium.gestures.speed: velocidad del gesto en píxeles por segundo (por defecto 5000)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class GestureEngine {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(GestureEngine.class);
+    
+    private static final String STRATEGY = System.getProperty("appium.gestures.strategy", "auto");
+    private static final int MAX_SWIPES = Integer.parseInt(System.getProperty("appium.gestures.max.swipes", "15"));
+    private static final int SPEED = Integer.parseInt(System.getProperty("appium.gestures.speed", "5000"));
+    
+    // Límites del desplazamiento relativo al alto del área
+    private static final double MIN_PERCENT = 0.2;
+    private static final double MAX_PERCENT = 0.9;
+    private static final double DEFAULT_PERCENT = 0.75;
+    
+    // Margen para no iniciar el gesto W3C sobre el borde del área
+    private static final double EDGE_MARGIN = 0.1;
+    
+    private static final By SCROLLABLE = By.xpath("//*[@scrollable='true']");
+    
+    // Tras un "unknown command" la sesión usa W3C hasta que cambie
+    private static final ThreadLocal<String> W3C_ONLY_SESSION = new ThreadLocal<>();
+    
+    private static final LongAdder SEARCHES = new LongAdder();
+    private static final LongAdder FOUND = new LongAdder();
+    private static final LongAdder FOUND_WITHOUT_GESTURE = new LongAdder();
+    private static final LongAdder GESTURES = new LongAdder();
+    private static final LongAdder PRECISE_GESTURES = new LongAdder();
+    private static final LongAdder END_OF_LIST = new LongAdder();
+    private static final LongAdder TAPS = new LongAdder();
+    
+    /**
+     * Dirección del contenido que se quiere revelar
+     */
+    public enum Direction {
+        DOWN, UP;
+        
+        private String value() {
+            return name().toLowerCase();
+        }
+    }
+    
+    private GestureEngine() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Se desplaza hasta que el objetivo esté completamente visible
+     * Busca hacia abajo y, si llega al final de la lista sin encontrarlo, hacia arriba
+     * 
+     * @param driver Driver de la sesión actual
+     * @param target Localizador del elemento buscado
+     * @return true si el objetivo quedó visible, false si no está en la lista
+     */
+    public static boolean scrollUntilFound(AppiumDriver driver, By target) {
+        return scrollUntilFound(driver, target, null, Direction.DOWN)
+                || scrollUntilFound(driver, target, null, Direction.UP);
+    }
+    
+    /**
+     * Se desplaza hasta que el objetivo esté completamente visible dentro del área
+     * 
+     * @param driver Driver de la sesión actual
+     * @param target Localizador del elemento buscado
+     * @param container Localizador de la lista, o null para usar el área desplazable más grande de la pantalla
+     * @param direction Dirección de búsqueda
+     * @return true si el objetivo quedó visible, false si se llegó al final de la lista o al máximo de gestos
+     */
+    public static boolean scrollUntilFound(AppiumDriver driver, By target, By container, Direction direction) {
+        return scrollUntilFound(driver, target, container, direction, snapshot -> { });
+    }
+    
+    /**
+     * Se desplaza hasta que el objetivo esté completamente visible dentro del área,
+     * entregando cada captura tomada durante la búsqueda (por ejemplo para indexar la lista)
+     * 
+     * @param driver Driver de la sesión actual
+     * @param target Localizador del elemento buscado
+     * @param container Localizador de la lista, o null para usar el área desplazable más grande de la pantalla
+     * @param direction Dirección de búsqueda
+     * @param observer Receptor de cada captura, incluida la inicial
+     * @return true si el objetivo quedó visible, false si se llegó al final de la lista o al máximo de gestos,
+     *         o si un gesto no desplazó el contenido y el objetivo sigue recortado
+     */
+    public static boolean scrollUntilFound(AppiumDriver driver, By target, By container, Direction direction,
+                                           Consumer<PageSnapshot> observer) {
+        SEARCHES.increment();
+        PageSnapshot snapshot = SnapshotManager.current(driver);
+        observer.accept(snapshot);
+        Rectangle area = resolveArea(driver, snapshot, container);
+        String content = contentSignature(snapshot, area);
+        
+        for (int swipe = 0; swipe <= MAX_SWIPES; swipe++) {
+            Rectangle found = locate(driver, snapshot, target);
+            if (found != null && isInside(found, area)) {
+                FOUND.increment();
+                if (swipe == 0) {
+                    FOUND_WITHOUT_GESTURE.increment();
+                }
+                LOGGER.debug("{} visible después de {} gesto(s)", target, swipe);
+                return true;
+            }
+            if (swipe == MAX_SWIPES) {
+                break;
+            }
+            
+            double percent;
+            Direction step = direction;
+            if (found != null) {
+                // Visible a medias: se desplaza exactamente lo necesario para mostrarlo completo
+                int overflow = found.getY() + found.getHeight() > area.getY() + area.getHeight()
+                        ? found.getY() + found.getHeight() - (area.getY() + area.getHeight())
+                        : area.getY() - found.getY();
+                step = found.getY() < area.getY() ? Direction.UP : Direction.DOWN;
+                percent = clamp((overflow + area.getHeight() * 0.05) / area.getHeight());
+                PRECISE_GESTURES.increment();
+            } else {
+                percent = adaptivePercent(snapshot, area);
+            }
+            
+            swipe(driver, area, step, percent);
+            snapshot = SnapshotManager.current(driver);
+            observer.accept(snapshot);
+            String after = contentSignature(snapshot, area);
+            if (after.equals(content)) {
+                // El contenido no cambió: no hay más elementos en esa dirección
+                // (con un gesto preciso, el objetivo queda recortado en el borde de la lista)
+                END_OF_LIST.increment();
+                if (found != null) {
+                    LOGGER.debug("El gesto no desplazó el contenido, {} queda recortado en el borde de la lista", target);
+                } else {
+                    LOGGER.debug("Fin de la lista después de {} gesto(s) sin encontrar {}", swipe + 1, target);
+                }
+                Rectangle last = locate(driver, snapshot, target);
+                return last != null && isInside(last, area);
+            }
+            content = after;
+        }
+        LOGGER.warn("No se encontró {} después de {} gesto(s)", target, MAX_SWIPES);
+        return false;
+    }
+    
+    /**
+     * Ejecuta un gesto de desplazamiento sobre el área desplazable principal de la pantalla
+     * 
+     * @param driver Driver de la sesión actual
+     * @param direction Dirección del contenido que se quiere revelar
+     * @return true si el contenido cambió con el gesto
+     */
+    public static boolean scroll(AppiumDriver driver, Direction direction) {
+        PageSnapshot snapshot = SnapshotManager.current(driver);
+        Rectangle area = resolveArea(driver, snapshot, null);
+        String before = contentSignature(snapshot, area);
+        swipe(driver, area, direction, adaptivePercent(snapshot, area));
+        boolean moved = !before.equals(contentSignature(SnapshotManager.current(driver), area));
+        if (!moved) {
+            END_OF_LIST.increment();
+        }
+        return moved;
+    }
+    
+    /**
+     * Toca un punto de la pantalla con una acción de puntero W3C
+     * Permite accionar un elemento cuyas coordenadas ya se conocen por la captura, sin buscarlo en el servidor
+     * 
+     * @param driver Driver de la sesión actual
+     * @param point Punto de la pantalla
+     */
+    public static void tap(AppiumDriver driver, Point point) {
+        TAPS.increment();
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence sequence = new Sequence(finger, 0)
+                .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), point.getX(), point.getY()))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        try {
+            driver.perform(Collections.singletonList(sequence));
+        } finally {
+            SnapshotManager.invalidate();
+            ElementHandleCache.invalidate();
+        }
+    }
+    
+    /**
+     * Ejecuta un gesto e invalida la captura y las referencias de elementos (la lista recicla sus vistas)
+     */
+    private static void swipe(AppiumDriver driver, Rectangle area, Direction direction, double percent) {
+        GESTURES.increment();
+        try {
+            if (useScrollGesture(driver)) {
+                try {
+                    scrollGesture(driver, area, direction, percent);
+                    return;
+                } catch (UnsupportedCommandException e) {
+                    LOGGER.info("mobile: scrollGesture no soportado, se usan acciones W3C: {}", e.getMessage());
+                    W3C_ONLY_SESSION.set(String.valueOf(driver.getSessionId()));
+                }
+            }
+            pointerSwipe(driver, area, direction, percent);
+        } finally {
+            SnapshotManager.invalidate();
+            ElementHandleCache.invalidate();
+        }
+    }
+    
+    private static boolean useScrollGesture(AppiumDriver driver) {
+        if ("w3c".equalsIgnoreCase(STRATEGY)) {
+            return false;
+        }
+        if (String.valueOf(driver.getSessionId()).equals(W3C_ONLY_SESSION.get())) {
+            return false;
+        }
+        return "uiautomator2".equalsIgnoreCase(STRATEGY) || AppiumDriverManager.isAndroidPlatform();
+    }
+    
+    /**
+     * Gesto de UiAutomator2: un solo comando, el servidor calcula las coordenadas del arrastre
+     */
+    private static void scrollGesture(AppiumDriver driver, Rectangle area, Direction direction, double percent) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("left", area.getX());
+        params.put("top", area.getY());
+        params.put("width", area.getWidth());
+        params.put("height", area.getHeight());
+        params.put("direction", direction.value());
+        params.put("percent", percent);
+        params.put("speed", SPEED);
+        driver.executeScript("mobile: scrollGesture", params);
+    }
+    
+    /**
+     * Arrastre con acciones de puntero W3C por el centro del área
+     */
+    private static void pointerSwipe(AppiumDriver driver, Rectangle area, Direction direction, double percent) {
+        int x = area.getX() + area.getWidth() / 2;
+        int margin = (int) (area.getHeight() * EDGE_MARGIN);
+        int distance = (int) Math.min(area.getHeight() - 2 * margin, Math.round(area.getHeight() * percent));
+        int bottom = area.getY() + area.getHeight() - margin;
+        int top = area.getY() + margin;
+        // Para revelar el contenido de abajo el dedo se mueve hacia arriba
+        int startY = direction == Direction.DOWN ? bottom : top;
+        int endY = direction == Direction.DOWN ? bottom - distance : top + distance;
+        long durationMs = Math.max(100, distance * 1000L / Math.max(1, SPEED));
+        
+        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+        Sequence sequence = new Sequence(finger, 0)
+                .addAction(finger.createPointerMove(Duration.ZERO, PointerInput.Origin.viewport(), x, startY))
+                .addAction(finger.createPointerDown(PointerInput.MouseButton.LEFT.asArg()))
+                .addAction(finger.createPointerMove(Duration.ofMillis(durationMs), PointerInput.Origin.viewport(), x, endY))
+                .addAction(finger.createPointerUp(PointerInput.MouseButton.LEFT.asArg()));
+        driver.perform(Collections.singletonList(sequence));
+    }
+    
+    /**
+     * Rectángulo del objetivo en la captura (o en el servidor si la captura no soporta el localizador)
+     */
+    private static Rectangle locate(AppiumDriver driver, PageSnapshot snapshot, By target) {
+        if (PageSnapshot.supports(target)) {
+            SnapshotElement element = snapshot.find(target);
+            return element != null && element.isDisplayed() ? element.getRect() : null;
+        }
+        try {
+            List<WebElement> elements = driver.findElements(target);
+            return elements.isEmpty() || !elements.get(0).isDisplayed() ? null : elements.get(0).getRect();
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Área del gesto: la lista indicada, el elemento desplazable más grande o la ventana completa
+     */
+    private static Rectangle resolveArea(AppiumDriver driver, PageSnapshot snapshot, By container) {
+        List<SnapshotElement> candidates = container != null && PageSnapshot.supports(container)
+                ? snapshot.findAll(container) : snapshot.findAll(SCROLLABLE);
+        Rectangle best = null;
+        for (SnapshotElement candidate : candidates) {
+            Rectangle rect = candidate.getRect();
+            if (rect != null && rect.getHeight() > 0
+                    && (best == null || rect.getHeight() * rect.getWidth() > best.getHeight() * best.getWidth())) {
+                best = rect;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        Dimension size = driver.manage().window().getSize();
+        return new Rectangle(0, 0, size.getHeight(), size.getWidth());
+    }
+    
+    /**
+     * Distancia del gesto según la densidad de la lista: el alto del área menos el paso entre elementos,
+     * de modo que el último elemento visible a medias quede completo después del gesto
+     */
+    private static double adaptivePercent(PageSnapshot snapshot, Rectangle area) {
+        int pitch = itemPitch(snapshot, area);
+        if (pitch <= 0) {
+            return DEFAULT_PERCENT;
+        }
+        return clamp((double) (area.getHeight() - pitch) / area.getHeight());
+    }
+    
+    /**
+     * Paso vertical típico entre elementos de la lista (mediana de la distancia entre filas)
+     */
+    private static int itemPitch(PageSnapshot snapshot, Rectangle area) {
+        TreeSet<Integer> rows = new TreeSet<>();
+        for (SnapshotElement element : snapshot.findAll(By.xpath("//*[@scrollable='true']/*"))) {
+            Rectangle rect = element.getRect();
+            // Cuentan también las filas cortadas por el borde inferior, basta con que empiecen dentro del área
+            if (rect != null && rect.getY() >= area.getY() && rect.getY() < area.getY() + area.getHeight()) {
+                rows.add(rect.getY());
+            }
+        }
+        if (rows.size() < 2) {
+            return 0;
+        }
+        List<Integer> gaps = new ArrayList<>();
+        Integer previous = null;
+        for (Integer row : rows) {
+            if (previous != null) {
+                gaps.add(row - previous);
+            }
+            previous = row;
+        }
+        Collections.sort(gaps);
+        return gaps.get(gaps.size() / 2);
+    }
+    
+    /**
+     * Resumen del contenido del área: textos, descripciones y posiciones de los elementos dentro de ella
+     */
+    private static String contentSignature(PageSnapshot snapshot, Rectangle area) {
+        StringBuilder signature = new StringBuilder();
+        for (SnapshotElement element : snapshot.findAll(By.xpath("//*[@scrollable='true']//*"))) {
+            Rectangle rect = element.getRect();
+            if (rect != null && rect.getY() >= area.getY() && rect.getY() < area.getY() + area.getHeight()) {
+                signature.append(element.getText()).append('|').append(element.getContentDesc())
+                        .append('|').append(rect.getY()).append(';');
+            }
+        }
+        return signature.toString();
+    }
+    
+    private static boolean isInside(Rectangle rect, Rectangle area) {
+        return rect.getY() >= area.getY() && rect.getY() + rect.getHeight() <= area.getY() + area.getHeight();
+    }
+    
+    private static double clamp(double percent) {
+        return Math.max(MIN_PERCENT, Math.min(MAX_PERCENT, percent));
+    }
+    
+    /**
+     * Métricas del motor de gestos para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strategy", STRATEGY);
+        stats.put("searches", SEARCHES.sum());
+        stats.put("found", FOUND.sum());
+        stats.put("foundWithoutGesture", FOUND_WITHOUT_GESTURE.sum());
+        stats.put("gestures", GESTURES.sum());
+        stats.put("preciseGestures", PRECISE_GESTURES.sum());
+        stats.put("endOfList", END_OF_LIST.sum());
+        stats.put("taps", TAPS.sum());
+        return stats;
+    }
+}
@@ -1,13 +1,23 @@
 package com.saucedemo.framework.hooks;
 
 import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.fixtures.AuthenticatedStateFixture;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.metrics.CommandMetrics;
+import com.saucedemo.framework.metrics.ScenarioTimer;
+import com.saucedemo.framework.pages.LoginPage;
+import com.saucedemo.framework.pages.PageRegistry;
+import com.saucedemo.framework.reporting.ReportDataSink;
+import com.saucedemo.framework.screenshots.ScreenshotPipeline;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterStep;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import net.serenitybdd.core.Serenity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
+
 /**
  * Hooks para manejar el ciclo de vida de los tests
  * Configura el driver antes de cada escenario y lo limpia después
@@ -22,23 +32,35 @@ public class TestHooks {
     /**
      * Hook que se ejecuta antes de cada escenario
      * Inicializa el driver de Appium y configura el entorno
+     * Se ejecuta antes que los hooks de los steps para que las páginas usen la sesión definitiva
      * 
      * @param scenario Escenario actual de Cucumber
      */
-    @Before
+    @Before(order = 0)
     public void setUp(Scenario scenario) {
         LOGGER.info("=== Iniciando escenario: {} ===", scenario.getName());
+        ReportDataSink.beginScenario(scenario.getName());
+        ScenarioLog.begin();
+        PageRegistry.clear();
         
         try {
-            // Inicializar el driver de Appium
+            // Inicializar el driver de Appium del hilo actual
             AppiumDriverManager.getDriver();
             
+            // En modo de sesión caliente, reiniciar la app en lugar de crear una sesión nueva
+            if (AppiumDriverManager.getScenariosInSession() > 0) {
+                prepareWarmSession();
+            }
+            
             // Registrar información del escenario en Serenity
-            Serenity.recordReportData().withTitle("Escenario Iniciado")
-                    .andContents("Nombre: " + scenario.getName() + 
-                               "\nTags: " + scenario.getSourceTagNames());
+            String device = String.valueOf(AppiumDriverManager.getCurrentDevice());
+            ReportDataSink.summary("Escenario Iniciado",
+                    () -> "Nombre: " + scenario.getName() + 
+                               "\nTags: " + scenario.getSourceTagNames() +
+                               "\nDispositivo: " + device);
+            ReportDataSink.flush();
             
-            LOGGER.info("Driver de Appium inicializado correctamente");
+            LOGGER.info("Driver de Appium inicializado correctamente en {}", AppiumDriverManager.getCurrentDevice());
             
         } catch (Exception e) {
             LOGGER.error("Error al inicializar el driver de Appium: {}", e.getMessage(), e);
@@ -46,6 +68,24 @@ public class TestHooks {
         }
     }
     
+    /**
+     * Hook de los escenarios con el tag @logged-in
+     * Deja la aplicación en el inventario autenticado sin pasar por el login de la UI
+     * 
+     * @param scenario Escenario actual de Cucumber
+     */
+    @Before(value = "@logged-in", order = 1)
+    public void establishAuthenticatedState(Scenario scenario) {
+        long start = System.nanoTime();
+        String strategy = AuthenticatedStateFixture.establish();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        LOGGER.info("Estado autenticado establecido por {} en {} ms", strategy, elapsedMs);
+        
+        ReportDataSink.summary("Sesión de Usuario",
+                () -> "Estado autenticado establecido por " + strategy + " en " + elapsedMs + " ms");
+        ReportDataSink.flush();
+    }
+    
     /**
      * Hook que se ejecuta después de cada escenario
      * Limpia el driver y registra el resultado del escenario
@@ -61,31 +101,121 @@ public class TestHooks {
             String status = scenario.isFailed() ? "FALLIDO" : "EXITOSO";
             LOGGER.info("Estado del escenario: {}", status);
             
-            Serenity.recordReportData().withTitle("Escenario Finalizado")
-                    .andContents("Nombre: " + scenario.getName() + 
+            // Los datos del hilo actual se leen aquí: el contenido puede construirse en otro hilo
+            String duration = getScenarioDuration(scenario);
+            ReportDataSink.summary("Escenario Finalizado",
+                    () -> "Nombre: " + scenario.getName() + 
                                "\nEstado: " + status +
-                               "\nDuración: " + getScenarioDuration(scenario));
+                               "\nDuración: " + duration);
+            
+            // Resumen de latencias de los comandos de Appium del escenario
+            if (CommandMetrics.isEnabled() && ReportDataSink.isEnabled(ReportDataSink.Level.SUMMARY)) {
+                String summary = CommandMetrics.getScenarioSummary();
+                ReportDataSink.summary("Tiempos de comandos de Appium", () -> summary);
+            }
             
             // Si el escenario falló, registrar información adicional
             if (scenario.isFailed()) {
                 LOGGER.error("El escenario falló: {}", scenario.getName());
-                Serenity.recordReportData().withTitle("Error del Escenario")
-                        .andContents("El escenario '" + scenario.getName() + "' falló");
+                ReportDataSink.summary("Error del Escenario",
+                        () -> "El escenario '" + scenario.getName() + "' falló");
+                
+                // La captura se escribe en segundo plano; aquí solo se registra su ruta
+                // Sin deduplicar: la ruta se adjunta al reporte y el archivo debe existir
+                // Un error de la captura no debe impedir el volcado del log del escenario
+                if (ScreenshotPipeline.isEnabled()) {
+                    try {
+                        Path screenshot = ScreenshotPipeline.capture(scenario.getName(), "fallo", false);
+                        if (screenshot != null) {
+                            ReportDataSink.summary("Captura del Fallo",
+                                    () -> screenshot.toAbsolutePath().toString());
+                        }
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("No se pudo capturar la pantalla del fallo: {}", e.getMessage());
+                    }
+                }
             }
+            ScreenshotPipeline.finishScenario(scenario.getName());
+            
+            // El log en memoria de páginas y steps solo se escribe si el escenario falló
+            ScenarioLog.finish(scenario.getName(), scenario.isFailed());
             
         } catch (Exception e) {
             LOGGER.error("Error durante el tearDown del escenario: {}", e.getMessage(), e);
         } finally {
-            // Cerrar el driver de Appium
+            // Las páginas del escenario no se comparten con el siguiente
+            PageRegistry.clear();
+            
+            // Cerrar el driver de Appium, o conservarlo en modo de sesión caliente
             try {
-                AppiumDriverManager.quitDriver();
-                LOGGER.info("Driver de Appium cerrado correctamente");
+                boolean kept = AppiumDriverManager.releaseDriver(scenario.isFailed());
+                LOGGER.info(kept ? "Sesión de Appium conservada" : "Driver de Appium cerrado correctamente");
             } catch (Exception e) {
                 LOGGER.warn("Error al cerrar el driver de Appium: {}", e.getMessage());
             }
         }
     }
     
+    /**
+     * Hook que se ejecuta después de cada paso
+     * Con appium.screenshots.mode=steps encola una captura del estado de la pantalla
+     * 
+     * @param scenario Escenario actual de Cucumber
+     */
+    @AfterStep
+    public void captureStep(Scenario scenario) {
+        if (ScreenshotPipeline.isStepMode()) {
+            try {
+                ScreenshotPipeline.capture(scenario.getName(), "paso");
+            } catch (Exception e) {
+                LOGGER.warn("No se pudo capturar la pantalla del paso: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Hook que se ejecuta después de cada paso
+     * Adjunta al reporte los datos registrados durante el paso
+     */
+    @AfterStep
+    public void flushReportData() {
+        ReportDataSink.flush();
+    }
+    
+    /**
+     * Último hook del escenario (los hooks @After corren de mayor a menor orden)
+     * Adjunta los datos registrados por los demás hooks de cierre
+     */
+    @After(order = 0)
+    public void finishReportData() {
+        ReportDataSink.finishScenario();
+    }
+    
+    /**
+     * Reinicia la aplicación sobre la sesión reutilizada y verifica la pantalla de login
+     * Si la app no vuelve al login, recicla la sesión
+     */
+    private void prepareWarmSession() {
+        LOGGER.info("Reutilizando sesión de Appium ({} escenario(s) previos)", AppiumDriverManager.getScenariosInSession());
+        
+        boolean loginReady;
+        try {
+            AppiumDriverManager.resetAppState();
+            LoginPage loginPage = PageRegistry.get(LoginPage.class);
+            loginPage.waitForPageToLoad();
+            loginReady = loginPage.isPageLoaded();
+        } catch (Exception e) {
+            LOGGER.warn("Error al reiniciar la aplicación: {}", e.getMessage());
+            loginReady = false;
+        }
+        
+        if (!loginReady) {
+            LOGGER.warn("La pantalla de login no está disponible después del reinicio, reciclando la sesión");
+            AppiumDriverManager.quitDriver();
+            AppiumDriverManager.getDriver();
+        }
+    }
+    
     /**
      * Hook que se ejecuta después de cada paso
      * Registra información del paso actual
@@ -101,15 +231,14 @@ public class TestHooks {
     }
     
     /**
-     * Calcula la duración del escenario
+     * Calcula la duración del escenario hasta el momento
+     * El cronómetro lo inicia TimingHistoryPlugin al comenzar el escenario
      * 
      * @param scenario Escenario de Cucumber
-     * @return Duración en formato legible
+     * @return Duración en formato legible, con el desglose de comandos y esperas
      */
     private String getScenarioDuration(Scenario scenario) {
-        // En una implementación real, aquí se calcularía la duración del escenario
-        // Por ahora, retornamos un valor por defecto
-        return "N/A";
+        return ScenarioTimer.describeCurrent();
     }
     
     /**
@@ -123,8 +252,8 @@ public class TestHooks {
             LOGGER.error("Excepción no capturada en el escenario: {}", scenario.getName());
             
             // Registrar información adicional sobre la excepción
-            Serenity.recordReportData().withTitle("Excepción del Escenario")
-                    .andContents("El escenario '" + scenario.getName() + "' falló con una excepción");
+            ReportDataSink.summary("Excepción del Escenario",
+                    () -> "El escenario '" + scenario.getName() + "' falló con una excepción");
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.saucedemo.framework.locators;
+
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caché de referencias a elementos de la pantalla actual
+ * Guarda el id de elemento devuelto por findElement para cada localizador y lo reutiliza en las
+ * acciones siguientes, evitando un findElement por cada clic, escritura o lectura
+ * 
+ * Las referencias se descartan cuando:
+ * - una acción sobre el elemento responde stale element reference (se busca de nuevo y se reintenta una vez)
+ * - la captura de la jerarquía muestra otra pantalla (cambia la firma de {@link PageSnapshot})
+ * - cambia la sesión de Appium o se invalida explícitamente (por ejemplo al navegar hacia atrás)
+ * 
+ * Configuración:
+ * - appium.element.cache.enabled: habilita la caché (por defecto true)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ElementHandleCache {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementHandleCache.class);
+    
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("appium.element.cache.enabled", "true"));
+    
+    private static final ThreadLocal<Screen> SCREEN = ThreadLocal.withInitial(Screen::new);
+    
+    private static final LongAdder LOOKUPS = new LongAdder();
+    private static final LongAdder SAVED = new LongAdder();
+    private static final LongAdder STALE = new LongAdder();
+    private static final LongAdder TRANSITIONS = new LongAdder();
+    
+    private ElementHandleCache() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Referencias resueltas en la pantalla actual de un hilo
+     */
+    private static final class Screen {
+        
+        private final Map<By, WebElement> elements = new HashMap<>();
+        private String sessionId;
+        private String signature;
+        private PageSnapshot lastSnapshot;
+    }
+    
+    /**
+     * Indica si la caché está habilitada
+     * 
+     * @return true si se reutilizan las referencias
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    /**
+     * Obtiene el elemento de un localizador, reutilizando la referencia si ya fue resuelto en esta pantalla
+     * 
+     * @param driver Driver de la sesión actual
+     * @param locator Localizador del elemento
+     * @return Elemento resuelto
+     * @throws org.openqa.selenium.NoSuchElementException si el elemento no existe
+     */
+    public static WebElement resolve(AppiumDriver driver, By locator) {
+        if (!ENABLED) {
+            LOOKUPS.increment();
+            return driver.findElement(locator);
+        }
+        Screen screen = screenFor(driver);
+        WebElement element = screen.elements.get(locator);
+        if (element != null) {
+            SAVED.increment();
+            return element;
+        }
+        LOOKUPS.increment();
+        element = driver.findElement(locator);
+        screen.elements.put(locator, element);
+        return element;
+    }
+    
+    /**
+     * Ejecuta una acción sobre el elemento de un localizador
+     * Si la referencia guardada ya no es válida, la descarta, busca el elemento de nuevo y reintenta una vez
+     * 
+     * @param driver Driver de la sesión actual
+     * @param locator Localizador del elemento
+     * @param action Acción a ejecutar
+     * @param <T> Tipo del resultado
+     * @return Resultado de la acción
+     */
+    public static <T> T apply(AppiumDriver driver, By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(resolve(driver, locator));
+        } catch (StaleElementReferenceException e) {
+            STALE.increment();
+            LOGGER.debug("Referencia obsoleta para {}, se busca de nuevo", locator);
+            SCREEN.get().elements.remove(locator);
+            return action.apply(resolve(driver, locator));
+        }
+    }
+    
+    /**
+     * Compara la captura de la jerarquía con la pantalla de las referencias guardadas
+     * Si la firma cambió, las referencias pertenecen a otra pantalla y se descartan
+     * 
+     * @param snapshot Captura vigente
+     */
+    public static void observe(PageSnapshot snapshot) {
+        if (!ENABLED) {
+            return;
+        }
+        Screen screen = SCREEN.get();
+        if (snapshot == screen.lastSnapshot) {
+            return;
+        }
+        screen.lastSnapshot = snapshot;
+        String signature = snapshot.getScreenSignature();
+        if (screen.signature != null && !screen.signature.equals(signature)) {
+            if (!screen.elements.isEmpty()) {
+                TRANSITIONS.increment();
+                LOGGER.debug("Cambio de pantalla detectado, se descartan {} referencia(s)", screen.elements.size());
+            }
+            screen.elements.clear();
+        }
+        screen.signature = signature;
+    }
+    
+    /**
+     * Descarta las referencias del hilo actual
+     * Se debe llamar después de una acción que cambia de pantalla sin pasar por una captura
+     */
+    public static void invalidate() {
+        Screen screen = SCREEN.get();
+        screen.elements.clear();
+        screen.signature = null;
+        screen.lastSnapshot = null;
+    }
+    
+    /**
+     * Elimina el estado del hilo actual (al cerrar la sesión)
+     */
+    public static void clear() {
+        SCREEN.remove();
+    }
+    
+    private static Screen screenFor(AppiumDriver driver) {
+        Screen screen = SCREEN.get();
+        String sessionId = String.valueOf(driver.getSessionId());
+        if (!sessionId.equals(screen.sessionId)) {
+            invalidate();
+            screen.sessionId = sessionId;
+        }
+        return screen;
+    }
+    
+    /**
+     * Métricas de la caché para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        stats.put("findElementCalls", LOOKUPS.sum());
+        stats.put("savedLookups", SAVED.sum());
+        stats.put("staleRetries", STALE.sum());
+        stats.put("screenTransitions", TRANSITIONS.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,109 @@
+package com.saucedemo.framework.locators;
+
+/**
+ * Descripción de un elemento independiente de la estrategia de búsqueda
+ * Los valores pueden contener marcadores %s que se completan con los parámetros del localizador
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ElementSpec {
+    
+    private final String className;
+    private final String resourceId;
+    private final String text;
+    private final String description;
+    
+    private ElementSpec(String className, String resourceId, String text, String description) {
+        this.className = className;
+        this.resourceId = resourceId;
+        this.text = text;
+        this.description = description;
+    }
+    
+    /**
+     * Elemento identificado por su resource id
+     * 
+     * @param resourceId Resource id completo
+     * @return Especificación del elemento
+     */
+    public static ElementSpec withId(String resourceId) {
+        return new ElementSpec(null, resourceId, null, null);
+    }
+    
+    /**
+     * Elemento identificado por su clase
+     * 
+     * @param className Clase Android del elemento
+     * @return Especificación del elemento
+     */
+    public static ElementSpec ofClass(String className) {
+        return new ElementSpec(className, null, null, null);
+    }
+    
+    /**
+     * Elemento identificado por su content-desc (accessibility id)
+     * 
+     * @param description Descripción de accesibilidad
+     * @return Especificación del elemento
+     */
+    public static ElementSpec withDescription(String description) {
+        return new ElementSpec(null, null, null, description);
+    }
+    
+    public ElementSpec text(String text) {
+        return new ElementSpec(className, resourceId, text, description);
+    }
+    
+    public ElementSpec description(String description) {
+        return new ElementSpec(className, resourceId, text, description);
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public String getResourceId() {
+        return resourceId;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+    
+    /**
+     * Completa los marcadores %s de la especificación
+     * 
+     * @param args Parámetros del localizador
+     * @return Especificación con valores concretos
+     */
+    ElementSpec bind(Object[] args) {
+        if (args.length == 0) {
+            return this;
+        }
+        return new ElementSpec(format(className, args), format(resourceId, args), format(text, args), format(description, args));
+    }
+    
+    private static String format(String value, Object[] args) {
+        return value == null || !value.contains("%") ? value : String.format(value, args);
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(className == null ? "*" : className);
+        append(result, "id", resourceId);
+        append(result, "text", text);
+        append(result, "desc", description);
+        return result.toString();
+    }
+    
+    private static void append(StringBuilder result, String name, String value) {
+        if (value != null) {
+            result.append('[').append(name).append('=').append(value).append(']');
+        }
+    }
+}
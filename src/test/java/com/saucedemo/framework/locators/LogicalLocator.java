@@ -0,0 +1,164 @@
+package com.saucedemo.framework.locators;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Localizador lógico: se declara una vez y se compila a la estrategia más rápida disponible
+ * 
+ * Orden de preferencia:
+ * 1. resource id (By.id) cuando solo se filtra por id
+ * 2. accessibility id cuando solo se filtra por content-desc
+ * 3. -android uiautomator (UiSelector) en Android, incluyendo hermanos con fromParent
+ * 4. XPath como último recurso (por ejemplo en iOS)
+ * 
+ * Las instancias parametrizadas (por ejemplo por nombre de producto) se compilan una sola vez y se cachean
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class LogicalLocator {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogicalLocator.class);
+    
+    private final String name;
+    private final ElementSpec target;
+    private final ElementSpec anchor;
+    private final Map<List<Object>, By> compiled = new ConcurrentHashMap<>();
+    
+    private LogicalLocator(String name, ElementSpec target, ElementSpec anchor) {
+        this.name = name;
+        this.target = target;
+        this.anchor = anchor;
+    }
+    
+    /**
+     * Declara un localizador lógico
+     * 
+     * @param name Nombre legible para logs
+     * @param target Elemento buscado
+     * @return Localizador lógico
+     */
+    public static LogicalLocator of(String name, ElementSpec target) {
+        return new LogicalLocator(name, target, null);
+    }
+    
+    /**
+     * Restringe la búsqueda a elementos hermanos de un elemento ancla
+     * 
+     * @param anchor Elemento hermano que identifica el contenedor (por ejemplo el título de un producto)
+     * @return Nuevo localizador lógico
+     */
+    public LogicalLocator siblingOf(ElementSpec anchor) {
+        return new LogicalLocator(name, target, anchor);
+    }
+    
+    /**
+     * Obtiene el localizador concreto para unos parámetros
+     * 
+     * @param args Valores de los marcadores %s
+     * @return Localizador compilado (cacheado por combinación de parámetros)
+     */
+    public By resolve(Object... args) {
+        return compiled.computeIfAbsent(Arrays.asList(args), key -> {
+            By locator = compile(target.bind(args), anchor == null ? null : anchor.bind(args),
+                    AppiumDriverManager.isAndroidPlatform());
+            LOGGER.debug("Localizador '{}' {} compilado a {}", name, key, locator);
+            return locator;
+        });
+    }
+    
+    /**
+     * Compila una especificación a la estrategia más rápida que pueda expresarla
+     * 
+     * @param target Elemento buscado
+     * @param anchor Hermano ancla, puede ser null
+     * @param android true si la plataforma soporta UiSelector
+     * @return Localizador concreto
+     */
+    static By compile(ElementSpec target, ElementSpec anchor, boolean android) {
+        if (anchor == null && onlyResourceId(target)) {
+            return By.id(target.getResourceId());
+        }
+        if (anchor == null && onlyDescription(target)) {
+            return AppiumBy.accessibilityId(target.getDescription());
+        }
+        if (android) {
+            String selector = anchor == null
+                    ? toUiSelector(target)
+                    : toUiSelector(anchor) + ".fromParent(" + toUiSelector(target) + ")";
+            return AppiumBy.androidUIAutomator(selector);
+        }
+        String xpath = anchor == null
+                ? "//" + toXPathStep(target)
+                : "//" + toXPathStep(anchor) + "/parent::*//" + toXPathStep(target);
+        return By.xpath(xpath);
+    }
+    
+    private static boolean onlyResourceId(ElementSpec spec) {
+        return spec.getResourceId() != null && spec.getClassName() == null
+                && spec.getText() == null && spec.getDescription() == null;
+    }
+    
+    private static boolean onlyDescription(ElementSpec spec) {
+        return spec.getDescription() != null && spec.getClassName() == null
+                && spec.getText() == null && spec.getResourceId() == null;
+    }
+    
+    private static String toUiSelector(ElementSpec spec) {
+        StringBuilder selector = new StringBuilder("new UiSelector()");
+        appendUiSelector(selector, "resourceId", spec.getResourceId());
+        appendUiSelector(selector, "className", spec.getClassName());
+        appendUiSelector(selector, "text", spec.getText());
+        appendUiSelector(selector, "description", spec.getDescription());
+        return selector.toString();
+    }
+    
+    private static void appendUiSelector(StringBuilder selector, String method, String value) {
+        if (value != null) {
+            selector.append('.').append(method).append("(\"")
+                    .append(value.replace("\\", "\\\\").replace("\"", "\\\""))
+                    .append("\")");
+        }
+    }
+    
+    private static String toXPathStep(ElementSpec spec) {
+        StringBuilder step = new StringBuilder(spec.getClassName() == null ? "*" : spec.getClassName());
+        appendXPath(step, "resource-id", spec.getResourceId());
+        appendXPath(step, "text", spec.getText());
+        appendXPath(step, "content-desc", spec.getDescription());
+        return step.toString();
+    }
+    
+    private static void appendXPath(StringBuilder step, String attribute, String value) {
+        if (value != null) {
+            step.append("[@").append(attribute).append('=').append(xpathLiteral(value)).append(']');
+        }
+    }
+    
+    /**
+     * Escapa un literal XPath 1.0, usando concat() si contiene ambos tipos de comillas
+     */
+    private static String xpathLiteral(String value) {
+        if (!value.contains("'")) {
+            return "'" + value + "'";
+        }
+        if (!value.contains("\"")) {
+            return "\"" + value + "\"";
+        }
+        return "concat('" + value.replace("'", "', \"'\", '") + "')";
+    }
+    
+    @Override
+    public String toString() {
+        return name + (anchor == null ? "" : " junto a " + anchor) + " -> " + target;
+    }
+}
@@ -0,0 +1,134 @@
+package com.saucedemo.framework.locators;
+
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas de la compilación de localizadores lógicos a la estrategia más rápida de cada plataforma
+ * Las expresiones UiSelector y XPath generadas se evalúan contra un page source fijo
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class LogicalLocatorTest {
+    
+    private static final String ID = "com.saucelabs.mydemoapp.android:id/";
+    private static final ElementSpec TITLE = ElementSpec.withId(ID + "titleTV").text("%s");
+    private static final ElementSpec CART_BUTTON = ElementSpec.withId(ID + "cartBt");
+    
+    private static final String SOURCE = "<hierarchy>"
+            + card("Sauce Labs Backpack", "ADD TO CART")
+            + card("Sauce Labs \"Bolt\" T-Shirt", "REMOVE")
+            + card("Sauce Labs Onesie's \"Fleece\"", "ADD TO CART")
+            + "</hierarchy>";
+    
+    @Test
+    void resourceIdOnlyCompilesToById() {
+        assertEquals(By.id(ID + "cartBt"), LogicalLocator.compile(CART_BUTTON, null, true));
+        assertEquals(By.id(ID + "cartBt"), LogicalLocator.compile(CART_BUTTON, null, false));
+    }
+    
+    @Test
+    void descriptionOnlyCompilesToAccessibilityId() {
+        assertEquals(AppiumBy.accessibilityId("open menu"),
+                LogicalLocator.compile(ElementSpec.withDescription("open menu"), null, true));
+    }
+    
+    @Test
+    void combinedCriteriaCompileToUiSelectorOnAndroid() {
+        By locator = LogicalLocator.compile(TITLE.bind(new Object[] {"Sauce Labs Backpack"}), null, true);
+        
+        assertEquals(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"" + ID + "titleTV\").text(\"Sauce Labs Backpack\")"),
+                locator);
+        assertEquals(1, uiSelectorMatches(locator));
+    }
+    
+    @Test
+    void siblingAnchorCompilesToFromParent() {
+        By locator = LogicalLocator.compile(CART_BUTTON, TITLE.bind(new Object[] {"Sauce Labs \"Bolt\" T-Shirt"}), true);
+        
+        assertEquals(AppiumBy.androidUIAutomator("new UiSelector().resourceId(\"" + ID + "titleTV\").text(\"Sauce Labs \\\"Bolt\\\" T-Shirt\")"
+                + ".fromParent(new UiSelector().resourceId(\"" + ID + "cartBt\"))"), locator);
+        assertEquals("REMOVE", uiSelectorTexts(locator));
+    }
+    
+    @Test
+    void combinedCriteriaCompileToXPathOutsideAndroid() {
+        By locator = LogicalLocator.compile(TITLE.bind(new Object[] {"Sauce Labs Backpack"}), null, false);
+        
+        assertEquals(By.xpath("//*[@resource-id='" + ID + "titleTV'][@text='Sauce Labs Backpack']"), locator);
+        assertEquals("Sauce Labs Backpack", xpathTexts(locator));
+    }
+    
+    @Test
+    void siblingAnchorCompilesToParentAxisInXPath() {
+        By locator = LogicalLocator.compile(CART_BUTTON, TITLE.bind(new Object[] {"Sauce Labs Backpack"}), false);
+        
+        assertEquals(By.xpath("//*[@resource-id='" + ID + "titleTV'][@text='Sauce Labs Backpack']/parent::*//*[@resource-id='" + ID + "cartBt']"),
+                locator);
+        assertEquals("ADD TO CART", xpathTexts(locator));
+    }
+    
+    @Test
+    void xpathLiteralsHandleBothQuoteKinds() {
+        By doubleQuotes = LogicalLocator.compile(CART_BUTTON, TITLE.bind(new Object[] {"Sauce Labs \"Bolt\" T-Shirt"}), false);
+        By bothQuotes = LogicalLocator.compile(CART_BUTTON, TITLE.bind(new Object[] {"Sauce Labs Onesie's \"Fleece\""}), false);
+        
+        assertEquals("REMOVE", xpathTexts(doubleQuotes));
+        assertEquals("ADD TO CART", xpathTexts(bothQuotes));
+    }
+    
+    private static String expression(By locator) {
+        return ((By.Remotable) locator).getRemoteParameters().value().toString();
+    }
+    
+    private static int uiSelectorMatches(By locator) {
+        return UiSelectorQuery.parse(expression(locator)).findAll(parse().getDocumentElement()).size();
+    }
+    
+    private static String uiSelectorTexts(By locator) {
+        return String.join(",", UiSelectorQuery.parse(expression(locator)).findAll(parse().getDocumentElement()).stream()
+                .map(element -> element.getAttribute("text")).toArray(String[]::new));
+    }
+    
+    private static String xpathTexts(By locator) {
+        try {
+            NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                    .evaluate(expression(locator), parse(), XPathConstants.NODESET);
+            StringBuilder texts = new StringBuilder();
+            for (int i = 0; i < nodes.getLength(); i++) {
+                texts.append(i == 0 ? "" : ",").append(nodes.item(i).getAttributes().getNamedItem("text").getNodeValue());
+            }
+            return texts.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Document parse() {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(SOURCE)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String card(String title, String button) {
+        return "<android.view.ViewGroup>"
+                + "<android.widget.TextView resource-id=\"" + ID + "titleTV\" text=\""
+                + title.replace("\"", "&quot;").replace("'", "&apos;") + "\"/>"
+                + "<android.widget.TextView resource-id=\"" + ID + "cartBt\" text=\"" + button + "\"/>"
+                + "</android.view.ViewGroup>";
+    }
+}
@@ -0,0 +1,295 @@
+package com.saucedemo.framework.locators;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evaluador de expresiones UiSelector (estrategia -android uiautomator) sobre una jerarquía XML
+ * Permite resolver localmente, contra un page source, los localizadores generados por {@link LogicalLocator}
+ * 
+ * Métodos soportados: resourceId, resourceIdMatches, text, textContains, textStartsWith, textMatches,
+ * className, description, descriptionContains, clickable, enabled, scrollable, index, instance,
+ * childSelector y fromParent
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class UiSelectorQuery {
+    
+    private final List<Criterion> criteria = new ArrayList<>();
+    private UiSelectorQuery child;
+    private boolean childFromParent;
+    private int instance = -1;
+    
+    private UiSelectorQuery() {
+    }
+    
+    /**
+     * Parsea una expresión UiSelector, por ejemplo new UiSelector().text("A").fromParent(new UiSelector().text("B"))
+     * 
+     * @param expression Expresión a parsear
+     * @return Consulta compilada
+     * @throws IllegalArgumentException si la expresión no es válida o usa métodos no soportados
+     */
+    public static UiSelectorQuery parse(String expression) {
+        Parser parser = new Parser(expression);
+        UiSelectorQuery query = parser.selector();
+        parser.skipSpaces();
+        if (parser.peek() == ';') {
+            parser.position++;
+        }
+        parser.skipSpaces();
+        if (!parser.atEnd()) {
+            throw parser.error("Texto inesperado");
+        }
+        return query;
+    }
+    
+    /**
+     * Busca los elementos que coinciden con la consulta dentro de un elemento raíz
+     * 
+     * @param root Raíz de la búsqueda (no se evalúa a sí misma)
+     * @return Elementos encontrados en orden de documento
+     */
+    public List<Element> findAll(Element root) {
+        List<Element> matches = new ArrayList<>();
+        collect(root, matches);
+        if (instance >= 0) {
+            matches = instance < matches.size() ? Collections.singletonList(matches.get(instance)) : Collections.emptyList();
+        }
+        if (child == null) {
+            return matches;
+        }
+        
+        Set<Element> result = new LinkedHashSet<>();
+        for (Element match : matches) {
+            Node scope = childFromParent ? match.getParentNode() : match;
+            if (scope instanceof Element) {
+                result.addAll(child.findAll((Element) scope));
+            }
+        }
+        return new ArrayList<>(result);
+    }
+    
+    private void collect(Element element, List<Element> matches) {
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element) {
+                Element candidate = (Element) node;
+                if (matches(candidate)) {
+                    matches.add(candidate);
+                }
+                collect(candidate, matches);
+            }
+        }
+    }
+    
+    private boolean matches(Element element) {
+        for (Criterion criterion : criteria) {
+            if (!criterion.matches(element)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Condición sobre un atributo del page source
+     */
+    private static final class Criterion {
+        
+        private final String method;
+        private final String attribute;
+        private final Object value;
+        
+        private Criterion(String method, String attribute, Object value) {
+            this.method = method;
+            this.attribute = attribute;
+            this.value = value;
+        }
+        
+        private boolean matches(Element element) {
+            String actual = element.getAttribute(attribute);
+            String expected = String.valueOf(value);
+            switch (method) {
+                case "textContains":
+                case "descriptionContains":
+                    return actual.contains(expected);
+                case "textStartsWith":
+                case "descriptionStartsWith":
+                    return actual.startsWith(expected);
+                case "textMatches":
+                case "resourceIdMatches":
+                case "classNameMatches":
+                case "descriptionMatches":
+                    return actual.matches(expected);
+                default:
+                    return actual.equals(expected);
+            }
+        }
+    }
+    
+    /**
+     * Parser descendente recursivo del subconjunto de Java usado por UiSelector
+     */
+    private static final class Parser {
+        
+        private final String text;
+        private int position;
+        
+        private Parser(String text) {
+            this.text = text;
+        }
+        
+        private UiSelectorQuery selector() {
+            skipSpaces();
+            expectWord("new");
+            skipSpaces();
+            expectWord("UiSelector");
+            skipSpaces();
+            expect('(');
+            skipSpaces();
+            expect(')');
+            
+            UiSelectorQuery query = new UiSelectorQuery();
+            skipSpaces();
+            while (peek() == '.') {
+                position++;
+                String method = identifier();
+                skipSpaces();
+                expect('(');
+                skipSpaces();
+                apply(query, method);
+                skipSpaces();
+                expect(')');
+                skipSpaces();
+            }
+            return query;
+        }
+        
+        private void apply(UiSelectorQuery query, String method) {
+            switch (method) {
+                case "childSelector":
+                case "fromParent":
+                    if (query.child != null) {
+                        throw error("Solo se soporta un childSelector/fromParent por selector");
+                    }
+                    query.child = selector();
+                    query.childFromParent = "fromParent".equals(method);
+                    return;
+                case "instance":
+                    query.instance = integer();
+                    return;
+                case "index":
+                    query.criteria.add(new Criterion(method, "index", integer()));
+                    return;
+                case "clickable":
+                case "enabled":
+                case "scrollable":
+                case "checked":
+                case "selected":
+                case "focusable":
+                    query.criteria.add(new Criterion(method, method, bool()));
+                    return;
+                default:
+                    query.criteria.add(new Criterion(method, attributeFor(method), string()));
+            }
+        }
+        
+        private String attributeFor(String method) {
+            if (method.startsWith("resourceId")) {
+                return "resource-id";
+            }
+            if (method.startsWith("text")) {
+                return "text";
+            }
+            if (method.startsWith("className")) {
+                return "class";
+            }
+            if (method.startsWith("description")) {
+                return "content-desc";
+            }
+            throw error("Método de UiSelector no soportado: " + method);
+        }
+        
+        private String string() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (!atEnd() && peek() != '"') {
+                char current = text.charAt(position++);
+                if (current == '\\' && !atEnd()) {
+                    current = text.charAt(position++);
+                }
+                value.append(current);
+            }
+            expect('"');
+            return value.toString();
+        }
+        
+        private int integer() {
+            int start = position;
+            while (!atEnd() && Character.isDigit(peek())) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Se esperaba un número");
+            }
+            return Integer.parseInt(text.substring(start, position));
+        }
+        
+        private boolean bool() {
+            String word = identifier();
+            if (!"true".equals(word) && !"false".equals(word)) {
+                throw error("Se esperaba true o false");
+            }
+            return Boolean.parseBoolean(word);
+        }
+        
+        private String identifier() {
+            int start = position;
+            while (!atEnd() && Character.isJavaIdentifierPart(peek())) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Se esperaba un identificador");
+            }
+            return text.substring(start, position);
+        }
+        
+        private void expectWord(String word) {
+            if (!word.equals(identifier())) {
+                throw error("Se esperaba '" + word + "'");
+            }
+        }
+        
+        private void expect(char expected) {
+            if (atEnd() || peek() != expected) {
+                throw error("Se esperaba '" + expected + "'");
+            }
+            position++;
+        }
+        
+        private void skipSpaces() {
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+        }
+        
+        private char peek() {
+            return atEnd() ? '\0' : text.charAt(position);
+        }
+        
+        private boolean atEnd() {
+            return position >= text.length();
+        }
+        
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " en la posición " + position + " de: " + text);
+        }
+    }
+}
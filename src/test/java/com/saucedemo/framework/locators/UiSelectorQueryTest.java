@@ -0,0 +1,118 @@
+package com.saucedemo.framework.locators;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del evaluador de UiSelector sobre un page source fijo con dos tarjetas de producto
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class UiSelectorQueryTest {
+    
+    private static final String ID = "com.saucelabs.mydemoapp.android:id/";
+    
+    private static final String SOURCE = "<hierarchy>"
+            + "<android.view.ViewGroup index=\"0\" resource-id=\"" + ID + "productRV\" class=\"androidx.recyclerview.widget.RecyclerView\" scrollable=\"true\">"
+            + card(0, "Sauce Labs Backpack", "$29.99", "ADD TO CART")
+            + card(1, "Test.allTheThings() T-Shirt \"Red\"", "$15.99", "REMOVE")
+            + "</android.view.ViewGroup>"
+            + "</hierarchy>";
+    
+    private static Element root;
+    
+    @BeforeAll
+    static void parseSource() throws Exception {
+        root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(SOURCE))).getDocumentElement();
+    }
+    
+    @Test
+    void matchesAllCriteriaOfTheSelector() {
+        assertEquals(List.of("Sauce Labs Backpack"),
+                texts("new UiSelector().resourceId(\"" + ID + "titleTV\").text(\"Sauce Labs Backpack\")"));
+        assertEquals(List.of(), texts("new UiSelector().resourceId(\"" + ID + "priceTV\").text(\"Sauce Labs Backpack\")"));
+    }
+    
+    @Test
+    void supportsPartialTextMatchers() {
+        assertEquals(List.of("Test.allTheThings() T-Shirt \"Red\""), texts("new UiSelector().textContains(\"T-Shirt\")"));
+        assertEquals(List.of("Sauce Labs Backpack"), texts("new UiSelector().textStartsWith(\"Sauce\")"));
+        assertEquals(List.of("$29.99", "$15.99"), texts("new UiSelector().textMatches(\"\\\\$\\\\d+\\\\.99\")"));
+    }
+    
+    @Test
+    void fromParentSearchesAmongSiblings() {
+        String selector = "new UiSelector().text(\"Sauce Labs Backpack\")"
+                + ".fromParent(new UiSelector().resourceId(\"" + ID + "cartBt\"))";
+        
+        assertEquals(List.of("ADD TO CART"), texts(selector));
+    }
+    
+    @Test
+    void childSelectorSearchesDescendants() {
+        String selector = "new UiSelector().resourceId(\"" + ID + "productRV\")"
+                + ".childSelector(new UiSelector().resourceId(\"" + ID + "cartBt\"))";
+        
+        assertEquals(List.of("ADD TO CART", "REMOVE"), texts(selector));
+    }
+    
+    @Test
+    void instanceSelectsTheNthMatch() {
+        assertEquals(List.of("$15.99"), texts("new UiSelector().resourceId(\"" + ID + "priceTV\").instance(1)"));
+        assertEquals(List.of(), texts("new UiSelector().resourceId(\"" + ID + "priceTV\").instance(5)"));
+    }
+    
+    @Test
+    void supportsBooleanAndIndexCriteria() {
+        assertEquals(List.of("ADD TO CART", "REMOVE"), texts("new UiSelector().clickable(true)"));
+        assertEquals(1, UiSelectorQuery.parse("new UiSelector().scrollable(true)").findAll(root).size());
+        assertEquals(List.of("$29.99", "$15.99"), texts("new UiSelector().className(\"android.widget.TextView\").index(1)"));
+    }
+    
+    @Test
+    void unescapesQuotedStringsAndAcceptsTrailingSemicolon() {
+        assertEquals(List.of("Test.allTheThings() T-Shirt \"Red\""),
+                texts(" new UiSelector().text(\"Test.allTheThings() T-Shirt \\\"Red\\\"\") ; "));
+    }
+    
+    @Test
+    void rejectsUnsupportedOrMalformedExpressions() {
+        IllegalArgumentException unsupported = assertThrows(IllegalArgumentException.class,
+                () -> UiSelectorQuery.parse("new UiSelector().checkable(true)"));
+        assertTrue(unsupported.getMessage().contains("checkable"));
+        assertThrows(IllegalArgumentException.class, () -> UiSelectorQuery.parse("new UiSelector().text(\"A\") extra"));
+        assertThrows(IllegalArgumentException.class, () -> UiSelectorQuery.parse("new UiSelector().index(uno)"));
+        assertThrows(IllegalArgumentException.class, () -> UiSelectorQuery.parse(
+                "new UiSelector().childSelector(new UiSelector()).fromParent(new UiSelector())"));
+    }
+    
+    private static List<String> texts(String expression) {
+        return UiSelectorQuery.parse(expression).findAll(root).stream()
+                .map(element -> element.getAttribute("text"))
+                .collect(Collectors.toList());
+    }
+    
+    private static String card(int index, String title, String price, String button) {
+        return "<android.view.ViewGroup index=\"" + index + "\" class=\"android.view.ViewGroup\" text=\"\">"
+                + "<android.widget.TextView index=\"0\" class=\"android.widget.TextView\" resource-id=\"" + ID
+                + "titleTV\" text=\"" + title.replace("\"", "&quot;") + "\" clickable=\"false\"/>"
+                + "<android.widget.TextView index=\"1\" class=\"android.widget.TextView\" resource-id=\"" + ID
+                + "priceTV\" text=\"" + price + "\" clickable=\"false\"/>"
+                + "<android.widget.TextView index=\"2\" class=\"android.widget.TextView\" resource-id=\"" + ID
+                + "cartBt\" text=\"" + button + "\" clickable=\"true\"/>"
+                + "</android.view.ViewGroup>";
+    }
+}
@@ -0,0 +1,223 @@
+package com.saucedemo.framework.logging;
+
+import com.saucedemo.framework.reporting.ReportDataSink;
+import com.saucedemo.framework.reporting.ReportFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log de escenario en memoria para page objects y steps
+ * Los loggers obtenidos con {@link #getLogger(Class)} guardan los eventos en un buffer circular del hilo
+ * mientras hay un escenario activo, sin formatear el mensaje ni escribir en consola.
+ * WARN y ERROR se escriben además de inmediato a través de slf4j
+ * 
+ * Al terminar el escenario el buffer se descarta, salvo que el escenario haya fallado (o log.buffer.always=true):
+ * en ese caso se formatea y se escribe en log.buffer.dir y en el reporte de Serenity
+ * 
+ * Configuración:
+ * - log.buffer.enabled: habilita el buffer (por defecto true; con false los loggers escriben directo a slf4j)
+ * - log.buffer.capacity: eventos conservados por escenario, los más antiguos se sobrescriben (por defecto 500)
+ * - log.buffer.level: nivel mínimo capturado en el buffer (por defecto info)
+ * - log.buffer.always: vuelca también el log de los escenarios exitosos (por defecto false)
+ * - log.buffer.dir: directorio de los logs volcados (por defecto target/scenario-logs)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ScenarioLog {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScenarioLog.class);
+    
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("log.buffer.enabled", "true"));
+    private static final int CAPACITY = Math.max(16, Integer.parseInt(System.getProperty("log.buffer.capacity", "500")));
+    private static final Level CAPTURE_LEVEL = Level.valueOf(System.getProperty("log.buffer.level", "info").toUpperCase());
+    private static final boolean ALWAYS = Boolean.parseBoolean(System.getProperty("log.buffer.always", "false"));
+    private static final Path OUTPUT = Paths.get(System.getProperty("log.buffer.dir", "target/scenario-logs"));
+    
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+    
+    // Solo los hilos con un escenario activo tienen buffer; el resto escribe directo a slf4j
+    private static final ThreadLocal<Ring> ACTIVE = new ThreadLocal<>();
+    
+    private static final LongAdder CAPTURED = new LongAdder();
+    private static final LongAdder OVERWRITTEN = new LongAdder();
+    private static final LongAdder DISCARDED = new LongAdder();
+    private static final LongAdder FLUSHED = new LongAdder();
+    private static final LongAdder FLUSHED_SCENARIOS = new LongAdder();
+    
+    private ScenarioLog() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Evento capturado; el mensaje se formatea solo si se vuelca
+     */
+    private static final class Event {
+        
+        private final long timestamp;
+        private final Level level;
+        private final String logger;
+        private final String pattern;
+        private final Object[] arguments;
+        private final Throwable throwable;
+        
+        private Event(Level level, String logger, String pattern, Object[] arguments, Throwable throwable) {
+            this.timestamp = System.currentTimeMillis();
+            this.level = level;
+            this.logger = logger;
+            this.pattern = pattern;
+            this.arguments = arguments;
+            this.throwable = throwable;
+        }
+    }
+    
+    /**
+     * Buffer circular de un hilo; solo lo usa su propio hilo, por lo que no necesita sincronización
+     */
+    private static final class Ring {
+        
+        private final Event[] events = new Event[CAPACITY];
+        private int next;
+        private int size;
+        
+        private void add(Event event) {
+            if (size == events.length) {
+                OVERWRITTEN.increment();
+            } else {
+                size++;
+            }
+            events[next] = event;
+            next = (next + 1) % events.length;
+        }
+        
+        private Event get(int index) {
+            return events[(next - size + index + events.length) % events.length];
+        }
+    }
+    
+    /**
+     * Obtiene un logger que escribe en el buffer del escenario
+     * 
+     * @param type Clase que registra los eventos
+     * @return Logger con buffer, o el logger de slf4j si el buffer está deshabilitado
+     */
+    public static Logger getLogger(Class<?> type) {
+        Logger delegate = LoggerFactory.getLogger(type);
+        return ENABLED ? new ScenarioLogger(delegate) : delegate;
+    }
+    
+    /**
+     * Inicia el buffer del escenario en el hilo actual
+     */
+    public static void begin() {
+        if (ENABLED) {
+            ACTIVE.set(new Ring());
+        }
+    }
+    
+    /**
+     * Termina el escenario del hilo actual: vuelca el buffer si falló y lo descarta
+     * 
+     * @param scenario Nombre del escenario
+     * @param failed true si el escenario falló
+     * @return Ruta del log volcado, o null si el buffer se descartó
+     */
+    public static Path finish(String scenario, boolean failed) {
+        Ring ring = ACTIVE.get();
+        ACTIVE.remove();
+        if (ring == null || ring.size == 0) {
+            return null;
+        }
+        if (!failed && !ALWAYS) {
+            DISCARDED.add(ring.size);
+            return null;
+        }
+        
+        String text = format(ring);
+        FLUSHED.add(ring.size);
+        FLUSHED_SCENARIOS.increment();
+        ReportDataSink.summary("Log del Escenario", () -> text);
+        
+        Path target = OUTPUT.resolve(ReportFiles.sanitize(scenario) + ".log");
+        try {
+            Files.createDirectories(OUTPUT);
+            Files.write(target, text.getBytes(StandardCharsets.UTF_8));
+            LOGGER.info("Log del escenario '{}' volcado en {} ({} evento(s))", scenario, target, ring.size);
+            return target;
+        } catch (IOException e) {
+            LOGGER.warn("No se pudo escribir el log del escenario en {}: {}", target, e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Indica si el hilo actual captura eventos de un nivel
+     */
+    static boolean isCapturing(Level level) {
+        return ACTIVE.get() != null && level.toInt() >= CAPTURE_LEVEL.toInt();
+    }
+    
+    /**
+     * Guarda un evento en el buffer del hilo actual
+     * 
+     * @return true si el evento quedó en el buffer
+     */
+    static boolean capture(Level level, String logger, String pattern, Object[] arguments, Throwable throwable) {
+        Ring ring = ACTIVE.get();
+        if (ring == null || level.toInt() < CAPTURE_LEVEL.toInt()) {
+            return false;
+        }
+        ring.add(new Event(level, logger, pattern, arguments, throwable));
+        CAPTURED.increment();
+        return true;
+    }
+    
+    private static String format(Ring ring) {
+        StringBuilder text = new StringBuilder(ring.size * 96);
+        for (int i = 0; i < ring.size; i++) {
+            Event event = ring.get(i);
+            String logger = event.logger.substring(event.logger.lastIndexOf('.') + 1);
+            text.append(TIME.format(Instant.ofEpochMilli(event.timestamp))).append(' ')
+                    .append(event.level).append(' ').append(logger).append(" - ")
+                    .append(MessageFormatter.basicArrayFormat(event.pattern, event.arguments)).append('\n');
+            if (event.throwable != null) {
+                StringWriter trace = new StringWriter();
+                event.throwable.printStackTrace(new PrintWriter(trace));
+                text.append(trace);
+            }
+        }
+        return text.toString();
+    }
+    
+    /**
+     * Métricas del buffer para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", ENABLED);
+        stats.put("captured", CAPTURED.sum());
+        stats.put("overwritten", OVERWRITTEN.sum());
+        stats.put("discarded", DISCARDED.sum());
+        stats.put("flushed", FLUSHED.sum());
+        stats.put("flushedScenarios", FLUSHED_SCENARIOS.sum());
+        return stats;
+    }
+}
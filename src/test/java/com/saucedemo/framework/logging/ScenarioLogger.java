@@ -0,0 +1,94 @@
+package com.saucedemo.framework.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+import java.util.Arrays;
+
+/**
+ * Logger de slf4j que escribe en el buffer del escenario de {@link ScenarioLog}
+ * WARN y ERROR, y cualquier evento fuera de un escenario, se reenvían al logger real
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+final class ScenarioLogger extends LegacyAbstractLogger {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final transient Logger delegate;
+    
+    ScenarioLogger(Logger delegate) {
+        this.delegate = delegate;
+        this.name = delegate.getName();
+    }
+    
+    @Override
+    public boolean isTraceEnabled() {
+        return ScenarioLog.isCapturing(Level.TRACE) || delegate.isTraceEnabled();
+    }
+    
+    @Override
+    public boolean isDebugEnabled() {
+        return ScenarioLog.isCapturing(Level.DEBUG) || delegate.isDebugEnabled();
+    }
+    
+    @Override
+    public boolean isInfoEnabled() {
+        return ScenarioLog.isCapturing(Level.INFO) || delegate.isInfoEnabled();
+    }
+    
+    @Override
+    public boolean isWarnEnabled() {
+        return true;
+    }
+    
+    @Override
+    public boolean isErrorEnabled() {
+        return true;
+    }
+    
+    @Override
+    protected String getFullyQualifiedCallerName() {
+        return null;
+    }
+    
+    @Override
+    protected void handleNormalizedLoggingCall(Level level, Marker marker, String pattern, Object[] arguments,
+                                               Throwable throwable) {
+        boolean captured = ScenarioLog.capture(level, name, pattern, arguments, throwable);
+        if (!captured || level.toInt() >= Level.WARN.toInt()) {
+            forward(level, pattern, arguments, throwable);
+        }
+    }
+    
+    /**
+     * Reenvía el evento al logger real, con la excepción como último argumento
+     */
+    private void forward(Level level, String pattern, Object[] arguments, Throwable throwable) {
+        Object[] forwarded = arguments == null ? new Object[0] : arguments;
+        if (throwable != null) {
+            forwarded = Arrays.copyOf(forwarded, forwarded.length + 1);
+            forwarded[forwarded.length - 1] = throwable;
+        }
+        switch (level) {
+            case ERROR:
+                delegate.error(pattern, forwarded);
+                break;
+            case WARN:
+                delegate.warn(pattern, forwarded);
+                break;
+            case INFO:
+                delegate.info(pattern, forwarded);
+                break;
+            case DEBUG:
+                delegate.debug(pattern, forwarded);
+                break;
+            default:
+                delegate.trace(pattern, forwarded);
+                break;
+        }
+    }
+}
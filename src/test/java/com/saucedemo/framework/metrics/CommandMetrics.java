@@ -0,0 +1,223 @@
+package com.saucedemo.framework.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registro de latencias de los comandos enviados al servidor de Appium
+ * Cada comando se etiqueta con el método de página que lo originó y el paso de Cucumber en curso
+ * 
+ * Configuración:
+ * - appium.metrics.enabled: habilita la medición de comandos (por defecto true)
+ * - appium.metrics.output: archivo JSON generado al terminar la ejecución
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class CommandMetrics {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(CommandMetrics.class);
+    
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("appium.metrics.enabled", "true"));
+    private static final Path OUTPUT = Paths.get(System.getProperty("appium.metrics.output", "target/appium-command-metrics.json"));
+    
+    private static final String PAGES_PACKAGE = "com.saucedemo.framework.pages.";
+    private static final String BASE_PAGE = PAGES_PACKAGE + "BasePage";
+    private static final String NO_CONTEXT = "-";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    
+    private static final Map<String, LatencyHistogram> BY_COMMAND = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> BY_PAGE_METHOD = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LatencyHistogram>> BY_STEP = new ConcurrentHashMap<>();
+    
+    // Métricas de otros subsistemas, registradas por CommandMetricsPlugin al iniciar la ejecución (ver register)
+    private static final Map<String, Supplier<?>> SOURCES = new LinkedHashMap<>();
+    
+    private static final ThreadLocal<String> CURRENT_STEP = new ThreadLocal<>();
+    private static final ThreadLocal<Map<String, LatencyHistogram>> SCENARIO = ThreadLocal.withInitial(HashMap::new);
+    
+    private CommandMetrics() {
+        // Clase utilitaria
+    }
+    
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    /**
+     * Registra la latencia de un comando en el hilo actual
+     * 
+     * @param command Nombre del comando (findElement, clickElement, getPageSource, ...)
+     * @param nanos Duración del round trip en nanosegundos
+     */
+    public static void record(String command, long nanos) {
+        BY_COMMAND.computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+        histogram(BY_PAGE_METHOD, findPageMethod(), command).record(nanos);
+        String step = CURRENT_STEP.get();
+        histogram(BY_STEP, step == null ? NO_CONTEXT : step, command).record(nanos);
+        SCENARIO.get().computeIfAbsent(command, key -> new LatencyHistogram()).record(nanos);
+    }
+    
+    private static LatencyHistogram histogram(Map<String, Map<String, LatencyHistogram>> index, String context, String command) {
+        return index.computeIfAbsent(context, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, key -> new LatencyHistogram());
+    }
+    
+    /**
+     * Busca en la pila el método de página que originó el comando
+     * Prefiere el método de la página concreta; si solo hay métodos heredados usa el de BasePage
+     * 
+     * @return Página.método que originó el comando, o "-" si el comando no viene de una página
+     */
+    private static String findPageMethod() {
+        return STACK_WALKER.walk(frames -> {
+            String inherited = NO_CONTEXT;
+            Iterator<StackWalker.StackFrame> iterator = frames.iterator();
+            while (iterator.hasNext()) {
+                StackWalker.StackFrame frame = iterator.next();
+                String className = frame.getClassName();
+                if (!className.startsWith(PAGES_PACKAGE)) {
+                    continue;
+                }
+                String method = className.substring(PAGES_PACKAGE.length()) + "." + frame.getMethodName();
+                if (!className.equals(BASE_PAGE)) {
+                    return method;
+                }
+                inherited = method;
+            }
+            return inherited;
+        });
+    }
+    
+    /**
+     * Establece el paso de Cucumber en curso para el hilo actual
+     * 
+     * @param step Texto del paso, o null al terminar
+     */
+    public static void setCurrentStep(String step) {
+        if (step == null) {
+            CURRENT_STEP.remove();
+        } else {
+            CURRENT_STEP.set(step);
+        }
+    }
+    
+    /**
+     * Reinicia las métricas del escenario del hilo actual
+     */
+    public static void startScenario() {
+        SCENARIO.get().clear();
+    }
+    
+    /**
+     * Resumen legible de los comandos del escenario actual, para el reporte de Serenity
+     * 
+     * @return Tabla de comandos ordenada por tiempo total
+     */
+    public static String getScenarioSummary() {
+        Map<String, LatencyHistogram> scenario = SCENARIO.get();
+        if (scenario.isEmpty()) {
+            return "Sin comandos registrados";
+        }
+        double total = scenario.values().stream().mapToDouble(LatencyHistogram::getTotalMillis).sum();
+        long commands = scenario.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+        StringBuilder summary = new StringBuilder(String.format("Comandos: %d - Tiempo total en Appium: %.0f ms%n%n", commands, total));
+        summary.append(String.format("%-28s %7s %10s %9s %9s %9s%n", "Comando", "Count", "Total ms", "p50 ms", "p95 ms", "p99 ms"));
+        scenario.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> entry) -> entry.getValue().getTotalMillis()).reversed())
+                .forEach(entry -> {
+                    LatencyHistogram histogram = entry.getValue();
+                    summary.append(String.format("%-28s %7d %10.1f %9.1f %9.1f %9.1f%n", entry.getKey(), histogram.getCount(),
+                            histogram.getTotalMillis(), histogram.getPercentileMillis(50),
+                            histogram.getPercentileMillis(95), histogram.getPercentileMillis(99)));
+                });
+        return summary.toString();
+    }
+    
+    /**
+     * Registra las métricas de un subsistema para incluirlas en el reporte de la ejecución
+     * Los subsistemas del framework se registran juntos en {@link CommandMetricsPlugin}
+     * 
+     * @param name Clave del subsistema en el reporte (transport, gestures, pages, ...)
+     * @param stats Proveedor de un valor serializable, se consulta al generar el reporte
+     */
+    public static void register(String name, Supplier<?> stats) {
+        synchronized (SOURCES) {
+            SOURCES.put(name, stats);
+        }
+    }
+    
+    /**
+     * Construye el reporte completo de la ejecución
+     * 
+     * @return Mapa serializable con los histogramas por comando, por método de página y por paso,
+     *         y las métricas registradas por cada subsistema (ver {@link #register(String, Supplier)})
+     */
+    public static Map<String, Object> toReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commands", summarize(BY_COMMAND));
+        report.put("pageMethods", summarizeNested(BY_PAGE_METHOD));
+        report.put("steps", summarizeNested(BY_STEP));
+        Map<String, Supplier<?>> sources;
+        synchronized (SOURCES) {
+            sources = new LinkedHashMap<>(SOURCES);
+        }
+        sources.forEach((name, stats) -> report.put(name, stats.get()));
+        return report;
+    }
+    
+    private static Map<String, Object> summarize(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> result = new TreeMap<>();
+        histograms.forEach((key, histogram) -> result.put(key, histogram.toSummary()));
+        return result;
+    }
+    
+    private static Map<String, Object> summarizeNested(Map<String, Map<String, LatencyHistogram>> index) {
+        Map<String, Object> result = new TreeMap<>();
+        index.forEach((context, histograms) -> result.put(context, summarize(histograms)));
+        return result;
+    }
+    
+    /**
+     * Escribe el reporte JSON de la ejecución
+     * 
+     * @return Ruta del archivo generado
+     */
+    public static Path writeReport() {
+        try {
+            if (OUTPUT.getParent() != null) {
+                Files.createDirectories(OUTPUT.getParent());
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(OUTPUT.toFile(), toReport());
+            LOGGER.info("Métricas de comandos de Appium guardadas en {}", OUTPUT.toAbsolutePath());
+        } catch (IOException e) {
+            LOGGER.warn("No se pudieron guardar las métricas de comandos: {}", e.getMessage());
+        }
+        return OUTPUT;
+    }
+    
+    /**
+     * Elimina todas las métricas acumuladas
+     */
+    public static void reset() {
+        BY_COMMAND.clear();
+        BY_PAGE_METHOD.clear();
+        BY_STEP.clear();
+        SCENARIO.get().clear();
+    }
+}
@@ -0,0 +1,82 @@
+package com.saucedemo.framework.metrics;
+
+import com.saucedemo.framework.cart.CartModel;
+import com.saucedemo.framework.core.DevicePool;
+import com.saucedemo.framework.core.SessionPrewarmer;
+import com.saucedemo.framework.gestures.GestureEngine;
+import com.saucedemo.framework.locators.ElementHandleCache;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.pages.InventoryIndex;
+import com.saucedemo.framework.pages.PageRegistry;
+import com.saucedemo.framework.reporting.ReportDataSink;
+import com.saucedemo.framework.screenshots.ScreenshotPipeline;
+import com.saucedemo.framework.transport.ConnectionPool;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestRunStarted;
+import io.cucumber.plugin.event.TestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+import java.util.Collections;
+
+/**
+ * Plugin de Cucumber que asocia cada comando de Appium al paso en curso
+ * y genera el reporte JSON de latencias al terminar la ejecución
+ * Al iniciar la ejecución registra las métricas de todos los subsistemas que se agregan al reporte
+ * 
+ * Se registra en junit-platform.properties (cucumber.plugin)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class CommandMetricsPlugin implements ConcurrentEventListener {
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        if (!CommandMetrics.isEnabled()) {
+            return;
+        }
+        publisher.registerHandlerFor(TestRunStarted.class, event -> registerSources());
+        publisher.registerHandlerFor(TestCaseStarted.class, event -> CommandMetrics.startScenario());
+        publisher.registerHandlerFor(TestStepStarted.class, event -> CommandMetrics.setCurrentStep(describe(event.getTestStep())));
+        publisher.registerHandlerFor(TestStepFinished.class, event -> CommandMetrics.setCurrentStep(null));
+        publisher.registerHandlerFor(TestRunFinished.class, event -> CommandMetrics.writeReport());
+    }
+    
+    /**
+     * Registra en un solo lugar las métricas de cada subsistema incluidas en el reporte
+     * Todos aparecen aunque no se hayan usado en la ejecución (con sus contadores en cero)
+     */
+    static void registerSources() {
+        CommandMetrics.register("transport", () -> ConnectionPool.shared().getStats());
+        CommandMetrics.register("devices", () -> {
+            DevicePool pool = DevicePool.getInstanceIfCreated();
+            return pool == null ? Collections.emptyMap() : pool.getUtilization();
+        });
+        CommandMetrics.register("sessionPrewarm", SessionPrewarmer::getStats);
+        CommandMetrics.register("pages", PageRegistry::getStats);
+        CommandMetrics.register("inventoryIndex", InventoryIndex::getStats);
+        CommandMetrics.register("elementCache", ElementHandleCache::getStats);
+        CommandMetrics.register("gestures", GestureEngine::getStats);
+        CommandMetrics.register("cart", CartModel::getStats);
+        CommandMetrics.register("screenshots", ScreenshotPipeline::getStats);
+        CommandMetrics.register("reportData", ReportDataSink::getStats);
+        CommandMetrics.register("scenarioLog", ScenarioLog::getStats);
+    }
+    
+    static String describe(TestStep step) {
+        if (step instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) step;
+            return pickleStep.getStep().getKeyword().trim() + " " + pickleStep.getStep().getText();
+        }
+        if (step instanceof HookTestStep) {
+            return "Hook " + ((HookTestStep) step).getHookType() + " " + step.getCodeLocation();
+        }
+        return step.getCodeLocation();
+    }
+}
@@ -0,0 +1,130 @@
+package com.saucedemo.framework.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Histograma de latencias con buckets logarítmicos (precisión relativa de ~5%)
+ * Ocupa memoria constante sin importar el número de muestras
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+    
+    private static final double GROWTH = 1.05;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final int BUCKETS = 512;
+    
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+    
+    /**
+     * Registra una muestra
+     * 
+     * @param nanos Duración en nanosegundos
+     */
+    public synchronized void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        totalNanos += value;
+        minNanos = Math.min(minNanos, value);
+        maxNanos = Math.max(maxNanos, value);
+    }
+    
+    /**
+     * Agrega las muestras de otro histograma
+     * 
+     * @param other Histograma a combinar
+     */
+    public void merge(LatencyHistogram other) {
+        long[] otherCounts;
+        long otherCount;
+        long otherTotal;
+        long otherMin;
+        long otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherCount = other.count;
+            otherTotal = other.totalNanos;
+            otherMin = other.minNanos;
+            otherMax = other.maxNanos;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += otherCounts[i];
+            }
+            count += otherCount;
+            totalNanos += otherTotal;
+            minNanos = Math.min(minNanos, otherMin);
+            maxNanos = Math.max(maxNanos, otherMax);
+        }
+    }
+    
+    private static int bucketOf(long nanos) {
+        long micros = nanos / 1_000L;
+        if (micros <= 1) {
+            return 0;
+        }
+        return (int) Math.min(BUCKETS - 1, Math.ceil(Math.log(micros) / LOG_GROWTH));
+    }
+    
+    private static double upperBoundMillis(int bucket) {
+        return Math.pow(GROWTH, bucket) / 1_000.0;
+    }
+    
+    public synchronized long getCount() {
+        return count;
+    }
+    
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+    
+    /**
+     * Obtiene un percentil aproximado
+     * 
+     * @param percentile Percentil entre 0 y 100
+     * @return Latencia en milisegundos (limitada al máximo observado)
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMillis(i), maxNanos / 1_000_000.0);
+            }
+        }
+        return maxNanos / 1_000_000.0;
+    }
+    
+    /**
+     * Resumen del histograma listo para serializar a JSON
+     * 
+     * @return Mapa con count, total, mean, min, p50, p95, p99 y max en milisegundos
+     */
+    public synchronized Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("totalMs", round(totalNanos / 1_000_000.0));
+        summary.put("meanMs", round(count == 0 ? 0 : totalNanos / 1_000_000.0 / count));
+        summary.put("minMs", round(count == 0 ? 0 : minNanos / 1_000_000.0));
+        summary.put("p50Ms", round(getPercentileMillis(50)));
+        summary.put("p95Ms", round(getPercentileMillis(95)));
+        summary.put("p99Ms", round(getPercentileMillis(99)));
+        summary.put("maxMs", round(maxNanos / 1_000_000.0));
+        return summary;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -0,0 +1,222 @@
+package com.saucedemo.framework.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compuerta de regresiones de rendimiento
+ * Compara p50/p95 de los escenarios de la ejecución actual contra un baseline registrado y
+ * lanza una excepción con el resumen si algún escenario supera la tolerancia de sus tags
+ * (exec:java corre dentro del JVM de Maven: la excepción falla el build sin cortar el reactor)
+ * 
+ * Los escenarios sin baseline no se comparan y se advierten uno por uno
+ * 
+ * Formato del baseline (perf-baseline.json):
+ * - tolerances: tolerancia relativa por tag, por ejemplo {"@smoke": {"p50": 0.15, "p95": 0.25}, "default": {...}}
+ * - scenarios: p50/p95 por escenario (feature :: nombre) y por paso
+ * 
+ * Configuración:
+ * - perf.gate.baseline: archivo del baseline (por defecto src/test/resources/perf-baseline.json)
+ * - perf.gate.runs: ejecuciones del historial que se consideran "actuales" (por defecto 1)
+ * - perf.history.dir: directorio del historial (ver {@link TimingHistory})
+ * 
+ * Uso:
+ * mvn -P perf-gate verify                        ejecuta la suite y aplica la compuerta
+ * ... -Dexec.args="--record 10"                  regenera el baseline con las últimas 10 ejecuciones
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class PerformanceGate {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Path BASELINE = Paths.get(System.getProperty("perf.gate.baseline", "src/test/resources/perf-baseline.json"));
+    private static final int CURRENT_RUNS = Integer.parseInt(System.getProperty("perf.gate.runs", "1"));
+    private static final String DEFAULT_TOLERANCE = "default";
+    private static final int STEPS_TO_REPORT = 5;
+    
+    private PerformanceGate() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Punto de entrada de la compuerta
+     * 
+     * @param args vacío para comparar, o --record [ejecuciones] para regenerar el baseline
+     * @throws IOException si no se puede leer o escribir el baseline
+     * @throws IllegalStateException si algún escenario es más lento que el baseline
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "--record".equals(args[0])) {
+            int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+            record(TimingHistory.loadLastRuns(TimingHistory.getHistoryDir(), runs));
+            return;
+        }
+        
+        List<ScenarioTiming> current = TimingHistory.loadLastRuns(TimingHistory.getHistoryDir(), CURRENT_RUNS);
+        if (current.isEmpty()) {
+            System.out.println("[perf-gate] No hay tiempos en " + TimingHistory.getHistoryDir().toAbsolutePath() + ", nada que comparar");
+            return;
+        }
+        List<String> regressions = evaluate(readBaseline(), current);
+        if (!regressions.isEmpty()) {
+            String summary = "[perf-gate] FALLIDO: " + regressions.size() + " escenario(s) más lentos que el baseline: "
+                    + String.join(", ", regressions);
+            System.out.println(summary);
+            throw new IllegalStateException(summary);
+        }
+        System.out.println("[perf-gate] OK");
+    }
+    
+    /**
+     * Compara la ejecución actual contra el baseline e imprime el detalle
+     * 
+     * @param baseline Contenido del baseline
+     * @param current Escenarios de la ejecución actual
+     * @return Escenarios con regresión
+     */
+    static List<String> evaluate(JsonNode baseline, List<ScenarioTiming> current) {
+        List<String> regressions = new ArrayList<>();
+        JsonNode tolerances = baseline.path("tolerances");
+        JsonNode scenarios = baseline.path("scenarios");
+        if (scenarios.size() == 0) {
+            System.out.println("[perf-gate] ADVERTENCIA: el baseline " + BASELINE.toAbsolutePath()
+                    + " no tiene escenarios; regenerarlo con -Dexec.args=\"--record 10\"");
+        }
+        List<String> withoutBaseline = new ArrayList<>();
+        
+        TimingHistory.byScenario(current).forEach((key, runs) -> {
+            JsonNode reference = scenarios.path(key);
+            double[] tolerance = toleranceFor(tolerances, runs.get(runs.size() - 1).getTags());
+            if (reference.isMissingNode()) {
+                System.out.println("[perf-gate] ADVERTENCIA: sin baseline, no se compara: " + key);
+                withoutBaseline.add(key);
+                return;
+            }
+            if (tolerance == null) {
+                System.out.println("[perf-gate] Sin tolerancia para los tags de: " + key);
+                return;
+            }
+            
+            List<Long> durations = runs.stream().map(ScenarioTiming::getDurationMs).collect(Collectors.toList());
+            long p50 = TimingHistory.percentile(durations, 50);
+            long p95 = TimingHistory.percentile(durations, 95);
+            long baseP50 = reference.path("p50Ms").asLong();
+            long baseP95 = reference.path("p95Ms").asLong();
+            boolean slowP50 = p50 > baseP50 * (1 + tolerance[0]);
+            boolean slowP95 = p95 > baseP95 * (1 + tolerance[1]);
+            
+            System.out.printf("[perf-gate] %s %s%n    p50 %d ms (baseline %d, +%.0f%% permitido) - p95 %d ms (baseline %d, +%.0f%% permitido)%n",
+                    slowP50 || slowP95 ? "REGRESIÓN" : "ok", key, p50, baseP50, tolerance[0] * 100, p95, baseP95, tolerance[1] * 100);
+            if (slowP50 || slowP95) {
+                regressions.add(key);
+                printResponsibleSteps(reference.path("steps"), runs);
+            }
+        });
+        if (!withoutBaseline.isEmpty()) {
+            System.out.println("[perf-gate] ADVERTENCIA: " + withoutBaseline.size() + " escenario(s) sin baseline no fueron evaluados");
+        }
+        return regressions;
+    }
+    
+    /**
+     * Tolerancia aplicable: la más estricta entre los tags del escenario, o la tolerancia por defecto
+     * 
+     * @param tolerances Nodo "tolerances" del baseline
+     * @param tags Tags del escenario
+     * @return [tolerancia p50, tolerancia p95], o null si ningún tag tiene tolerancia
+     */
+    static double[] toleranceFor(JsonNode tolerances, List<String> tags) {
+        double[] result = null;
+        for (String tag : tags) {
+            JsonNode node = tolerances.path(tag);
+            if (!node.isMissingNode()) {
+                double p50 = node.path("p50").asDouble();
+                double p95 = node.path("p95").asDouble();
+                result = result == null ? new double[] {p50, p95} : new double[] {Math.min(result[0], p50), Math.min(result[1], p95)};
+            }
+        }
+        JsonNode fallback = tolerances.path(DEFAULT_TOLERANCE);
+        if (result == null && !fallback.isMissingNode()) {
+            result = new double[] {fallback.path("p50").asDouble(), fallback.path("p95").asDouble()};
+        }
+        return result;
+    }
+    
+    /**
+     * Imprime los pasos que más crecieron respecto al baseline
+     */
+    private static void printResponsibleSteps(JsonNode baselineSteps, List<ScenarioTiming> runs) {
+        List<Map.Entry<TimingHistory.StepStats, Long>> deltas = new ArrayList<>();
+        for (TimingHistory.StepStats stats : TimingHistory.stepStats(runs)) {
+            long baseP50 = baselineSteps.path(stats.getText()).path("p50Ms").asLong(0);
+            deltas.add(Map.entry(stats, stats.getP50Ms() - baseP50));
+        }
+        deltas.sort(Map.Entry.<TimingHistory.StepStats, Long>comparingByValue().reversed());
+        System.out.println("    Pasos responsables:");
+        deltas.stream().filter(entry -> entry.getValue() > 0).limit(STEPS_TO_REPORT).forEach(entry ->
+                System.out.printf("      +%6d ms  p50 %6d ms (comandos %d ms, esperas %d ms)  %s%n", entry.getValue(),
+                        entry.getKey().getP50Ms(), entry.getKey().getCommandP50Ms(), entry.getKey().getWaitP50Ms(),
+                        entry.getKey().getText()));
+    }
+    
+    private static JsonNode readBaseline() throws IOException {
+        if (!Files.exists(BASELINE)) {
+            System.out.println("[perf-gate] No existe el baseline " + BASELINE.toAbsolutePath());
+            return JsonNodeFactory.instance.objectNode();
+        }
+        return MAPPER.readTree(BASELINE.toFile());
+    }
+    
+    /**
+     * Regenera el baseline a partir del historial, conservando las tolerancias configuradas
+     * 
+     * @param timings Escenarios de referencia
+     * @throws IOException si no se puede escribir el baseline
+     */
+    private static void record(List<ScenarioTiming> timings) throws IOException {
+        JsonNode previous = readBaseline();
+        ObjectNode baseline = JsonNodeFactory.instance.objectNode();
+        baseline.set("tolerances", previous.path("tolerances").isMissingNode()
+                ? JsonNodeFactory.instance.objectNode() : previous.get("tolerances"));
+        ObjectNode scenarios = baseline.putObject("scenarios");
+        
+        // Solo las ejecuciones exitosas son representativas
+        List<ScenarioTiming> passed = timings.stream().filter(timing -> "PASSED".equals(timing.getStatus())).collect(Collectors.toList());
+        TimingHistory.byScenario(passed).forEach((key, runs) -> {
+            List<Long> durations = runs.stream().map(ScenarioTiming::getDurationMs).collect(Collectors.toList());
+            ObjectNode scenario = scenarios.putObject(key);
+            scenario.put("p50Ms", TimingHistory.percentile(durations, 50));
+            scenario.put("p95Ms", TimingHistory.percentile(durations, 95));
+            scenario.put("runs", runs.size());
+            ObjectNode steps = scenario.putObject("steps");
+            for (TimingHistory.StepStats stats : TimingHistory.stepStats(runs)) {
+                ObjectNode step = steps.putObject(stats.getText());
+                step.put("p50Ms", stats.getP50Ms());
+                step.put("p95Ms", stats.getP95Ms());
+            }
+        });
+        
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("escenarios", scenarios.size());
+        summary.put("ejecuciones", timings.stream().map(ScenarioTiming::getRunId).distinct().count());
+        if (BASELINE.getParent() != null) {
+            Files.createDirectories(BASELINE.getParent());
+        }
+        MAPPER.writeValue(BASELINE.toFile(), baseline);
+        System.out.println("[perf-gate] Baseline guardado en " + BASELINE.toAbsolutePath() + " " + summary);
+    }
+}
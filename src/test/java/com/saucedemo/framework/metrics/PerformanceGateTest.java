@@ -0,0 +1,147 @@
+package com.saucedemo.framework.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas de la compuerta de rendimiento: elección de tolerancia por tags y comparación de p50/p95
+ * contra el baseline
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class PerformanceGateTest {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String FEATURE = "compra.feature";
+    
+    private static final String TOLERANCES = "{"
+            + "\"@smoke\": {\"p50\": 0.15, \"p95\": 0.25},"
+            + "\"@purchase\": {\"p50\": 0.20, \"p95\": 0.10},"
+            + "\"default\": {\"p50\": 0.30, \"p95\": 0.50}}";
+    
+    @Test
+    void toleranceTakesTheStrictestValueOfEachPercentileAcrossTags() throws IOException {
+        double[] tolerance = PerformanceGate.toleranceFor(json(TOLERANCES), List.of("@smoke", "@purchase"));
+        
+        assertArrayEquals(new double[] {0.15, 0.10}, tolerance, 1e-9);
+    }
+    
+    @Test
+    void toleranceIgnoresTheDefaultWhenATagMatches() throws IOException {
+        JsonNode tolerances = json("{\"@purchase\": {\"p50\": 0.40, \"p95\": 0.60}, \"default\": {\"p50\": 0.10, \"p95\": 0.10}}");
+        
+        assertArrayEquals(new double[] {0.40, 0.60}, PerformanceGate.toleranceFor(tolerances, List.of("@purchase")), 1e-9);
+    }
+    
+    @Test
+    void toleranceFallsBackToDefaultWhenNoTagMatches() throws IOException {
+        assertArrayEquals(new double[] {0.30, 0.50}, PerformanceGate.toleranceFor(json(TOLERANCES), List.of("@regression")), 1e-9);
+        assertArrayEquals(new double[] {0.30, 0.50}, PerformanceGate.toleranceFor(json(TOLERANCES), List.of()), 1e-9);
+    }
+    
+    @Test
+    void toleranceIsNullWithoutMatchingTagOrDefault() throws IOException {
+        assertNull(PerformanceGate.toleranceFor(json("{\"@smoke\": {\"p50\": 0.15, \"p95\": 0.25}}"), List.of("@regression")));
+    }
+    
+    @Test
+    void scenarioWithinToleranceIsNotARegression() throws IOException {
+        JsonNode baseline = baseline("Login", 1000, 1200);
+        
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Login", List.of("@smoke"), 1100)).isEmpty());
+    }
+    
+    @Test
+    void p50AboveToleranceIsARegression() throws IOException {
+        JsonNode baseline = baseline("Login", 1000, 1200);
+        
+        List<String> regressions = PerformanceGate.evaluate(baseline, runs("Login", List.of("@smoke"), 1200));
+        
+        assertEquals(List.of(FEATURE + " :: Login"), regressions);
+    }
+    
+    @Test
+    void p95AboveToleranceIsARegressionEvenWhenP50IsFine() throws IOException {
+        JsonNode baseline = baseline("Login", 1000, 1000);
+        // p50 = 1000 (sin cambio), p95 = 2000 con 10 ejecuciones (rango más cercano = la más lenta)
+        List<ScenarioTiming> current = runs("Login", List.of("@smoke"), 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 1000, 2000);
+        
+        assertEquals(List.of(FEATURE + " :: Login"), PerformanceGate.evaluate(baseline, current));
+    }
+    
+    @Test
+    void strictestTagDecidesTheRegression() throws IOException {
+        JsonNode baseline = baseline("Compra", 1000, 5000);
+        
+        // +18 %: dentro de la tolerancia de @purchase (20 %) pero no de @smoke (15 %)
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Compra", List.of("@purchase"), 1180)).isEmpty());
+        assertEquals(1, PerformanceGate.evaluate(baseline, runs("Compra", List.of("@purchase", "@smoke"), 1180)).size());
+    }
+    
+    @Test
+    void defaultToleranceAppliesToUntaggedScenarios() throws IOException {
+        JsonNode baseline = baseline("Carrito", 1000, 5000);
+        
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Carrito", List.of(), 1250)).isEmpty());
+        assertEquals(1, PerformanceGate.evaluate(baseline, runs("Carrito", List.of(), 1350)).size());
+    }
+    
+    @Test
+    void scenarioWithoutBaselineIsNotEvaluated() throws IOException {
+        JsonNode baseline = baseline("Login", 1000, 1200);
+        
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Checkout", List.of("@smoke"), 99_000)).isEmpty());
+    }
+    
+    @Test
+    void scenarioWithoutApplicableToleranceIsNotEvaluated() throws IOException {
+        JsonNode baseline = json("{\"tolerances\": {\"@smoke\": {\"p50\": 0.15, \"p95\": 0.25}},"
+                + "\"scenarios\": {\"" + FEATURE + " :: Login\": {\"p50Ms\": 1000, \"p95Ms\": 1200}}}");
+        
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Login", List.of("@regression"), 99_000)).isEmpty());
+    }
+    
+    @Test
+    void committedBaselineWithoutScenariosReportsNoRegressions() throws IOException {
+        JsonNode baseline = MAPPER.readTree(Paths.get("src/test/resources/perf-baseline.json").toFile());
+        
+        assertEquals(0, baseline.path("scenarios").size());
+        assertTrue(PerformanceGate.evaluate(baseline, runs("Login", List.of("@smoke"), 99_000)).isEmpty());
+    }
+    
+    private static JsonNode json(String text) throws IOException {
+        return MAPPER.readTree(text);
+    }
+    
+    private static JsonNode baseline(String scenario, long p50Ms, long p95Ms) throws IOException {
+        return json("{\"tolerances\": " + TOLERANCES + ", \"scenarios\": {\"" + FEATURE + " :: " + scenario + "\": "
+                + "{\"p50Ms\": " + p50Ms + ", \"p95Ms\": " + p95Ms + ", \"steps\": {}}}}");
+    }
+    
+    private static List<ScenarioTiming> runs(String scenario, List<String> tags, long... durationsMs) {
+        List<ScenarioTiming> runs = new ArrayList<>();
+        for (long duration : durationsMs) {
+            ScenarioTiming timing = new ScenarioTiming();
+            timing.setFeature(FEATURE);
+            timing.setScenario(scenario);
+            timing.setTags(new ArrayList<>(tags));
+            timing.setStatus("PASSED");
+            timing.setDurationMs(duration);
+            runs.add(timing);
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,247 @@
+package com.saucedemo.framework.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Planificador del orden de ejecución de escenarios a partir del historial de tiempos
+ * Estima la duración de cada escenario (p50 histórico o, si es nuevo, número de pasos por la mediana
+ * histórica de un paso) y ordena el trabajo de mayor a menor duración para que los escenarios largos
+ * no queden al final de una ejecución en paralelo con dispositivos ociosos
+ * 
+ * El resultado es el valor de cucumber.features (feature:línea, ...) en orden, escrito en
+ * target/scenario-order.properties para el perfil scenario-order de Maven
+ * El engine de Cucumber agrupa los escenarios por feature: el orden se aplica entre features y,
+ * dentro de cada feature, se conserva el orden del archivo
+ * 
+ * Configuración:
+ * - perf.order.features: directorio de features (por defecto src/test/resources/features)
+ * - perf.order.runs: ejecuciones del historial consideradas (por defecto 10)
+ * - perf.order.workers: workers en paralelo para la estimación del tiempo total (por defecto 1)
+ * - perf.order.default.step.ms: duración estimada de un paso sin ningún historial (por defecto 3000)
+ * - perf.order.output: archivo generado (por defecto target/scenario-order.properties)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ScenarioOrderPlanner {
+    
+    private static final Path FEATURES = Paths.get(System.getProperty("perf.order.features", "src/test/resources/features"));
+    private static final int RUNS = Integer.parseInt(System.getProperty("perf.order.runs", "10"));
+    private static final int WORKERS = Integer.parseInt(System.getProperty("perf.order.workers", "1"));
+    private static final long DEFAULT_STEP_MS = Long.parseLong(System.getProperty("perf.order.default.step.ms", "3000"));
+    private static final Path OUTPUT = Paths.get(System.getProperty("perf.order.output", "target/scenario-order.properties"));
+    
+    private static final String[] STEP_KEYWORDS = {"Given ", "When ", "Then ", "And ", "But ", "* "};
+    
+    private ScenarioOrderPlanner() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Escenario de un archivo feature con su duración estimada
+     */
+    static final class PlannedScenario {
+        
+        private final Path path;
+        private final int line;
+        private final String name;
+        private final int steps;
+        private long estimateMs;
+        private boolean fromHistory;
+        
+        PlannedScenario(Path path, int line, String name, int steps) {
+            this.path = path;
+            this.line = line;
+            this.name = name;
+            this.steps = steps;
+        }
+        
+        String key() {
+            return path.getFileName() + " :: " + name;
+        }
+    }
+    
+    /**
+     * Genera el plan de ejecución
+     * 
+     * @param args No se usan
+     * @throws IOException si no se pueden leer las features o escribir el plan
+     */
+    public static void main(String[] args) throws IOException {
+        List<PlannedScenario> scenarios = parseFeatures(FEATURES);
+        estimate(scenarios, TimingHistory.loadLastRuns(TimingHistory.getHistoryDir(), RUNS));
+        
+        List<PlannedScenario> fileOrder = new ArrayList<>(scenarios);
+        List<PlannedScenario> planned = longestFirst(scenarios);
+        
+        System.out.printf("%-10s %-7s %-8s %s%n", "estimado", "pasos", "fuente", "escenario");
+        planned.forEach(scenario -> System.out.printf("%7d ms %7d %-8s %s:%d %s%n", scenario.estimateMs, scenario.steps,
+                scenario.fromHistory ? "historia" : "pasos", scenario.path.getFileName(), scenario.line, scenario.name));
+        System.out.printf("Tiempo total estimado con %d worker(s): orden de archivo %d ms, mayor duración primero %d ms%n",
+                WORKERS, makespan(fileOrder, WORKERS), makespan(planned, WORKERS));
+        
+        String features = toFeaturesProperty(planned);
+        if (OUTPUT.getParent() != null) {
+            Files.createDirectories(OUTPUT.getParent());
+        }
+        Files.write(OUTPUT, ("cucumber.features=" + features.replace("\\", "/") + System.lineSeparator())
+                .getBytes(StandardCharsets.ISO_8859_1));
+        System.out.println("cucumber.features=" + features);
+    }
+    
+    /**
+     * Lee los escenarios de todos los archivos feature del directorio
+     * Los pasos del Background se suman a cada escenario de la feature
+     * 
+     * @param directory Directorio de features
+     * @return Escenarios en orden de archivo
+     * @throws IOException si no se pueden leer los archivos
+     */
+    static List<PlannedScenario> parseFeatures(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            files = walk.filter(path -> path.toString().endsWith(".feature")).sorted().collect(Collectors.toList());
+        }
+        
+        List<PlannedScenario> scenarios = new ArrayList<>();
+        for (Path file : files) {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            int backgroundSteps = 0;
+            boolean inBackground = false;
+            String name = null;
+            int line = 0;
+            int steps = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                String text = lines.get(i).trim();
+                if (text.startsWith("Background:")) {
+                    inBackground = true;
+                } else if (text.startsWith("Scenario:") || text.startsWith("Scenario Outline:")
+                        || text.startsWith("Scenario Template:") || text.startsWith("Example:")) {
+                    if (name != null) {
+                        scenarios.add(new PlannedScenario(file, line, name, backgroundSteps + steps));
+                    }
+                    inBackground = false;
+                    name = text.substring(text.indexOf(':') + 1).trim();
+                    line = i + 1;
+                    steps = 0;
+                } else if (isStep(text)) {
+                    if (inBackground) {
+                        backgroundSteps++;
+                    } else if (name != null) {
+                        steps++;
+                    }
+                }
+            }
+            if (name != null) {
+                scenarios.add(new PlannedScenario(file, line, name, backgroundSteps + steps));
+            }
+        }
+        return scenarios;
+    }
+    
+    private static boolean isStep(String text) {
+        for (String keyword : STEP_KEYWORDS) {
+            if (text.startsWith(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Asigna a cada escenario su duración estimada
+     * 
+     * @param scenarios Escenarios a estimar
+     * @param history Historial de tiempos
+     */
+    static void estimate(List<PlannedScenario> scenarios, List<ScenarioTiming> history) {
+        Map<String, List<ScenarioTiming>> byScenario = TimingHistory.byScenario(history.stream()
+                .filter(timing -> "PASSED".equals(timing.getStatus())).collect(Collectors.toList()));
+        
+        // Mediana de un paso de Gherkin (sin hooks) para los escenarios sin historial
+        List<Long> stepDurations = history.stream()
+                .flatMap(timing -> timing.getSteps().stream())
+                .filter(step -> !step.getText().startsWith("Hook "))
+                .map(StepTiming::getDurationMs)
+                .collect(Collectors.toList());
+        long stepMs = stepDurations.isEmpty() ? DEFAULT_STEP_MS : TimingHistory.percentile(stepDurations, 50);
+        
+        for (PlannedScenario scenario : scenarios) {
+            List<ScenarioTiming> runs = byScenario.get(scenario.key());
+            if (runs != null) {
+                scenario.estimateMs = TimingHistory.percentile(runs.stream().map(ScenarioTiming::getDurationMs)
+                        .collect(Collectors.toList()), 50);
+                scenario.fromHistory = true;
+            } else {
+                scenario.estimateMs = scenario.steps * stepMs;
+            }
+        }
+    }
+    
+    /**
+     * Ordena las features por su escenario más largo (y luego por duración total), de mayor a menor
+     * Dentro de cada feature se conserva el orden del archivo, como lo ejecuta el engine de Cucumber
+     * 
+     * @param scenarios Escenarios estimados
+     * @return Escenarios en el orden planificado
+     */
+    static List<PlannedScenario> longestFirst(List<PlannedScenario> scenarios) {
+        Map<Path, List<PlannedScenario>> byFeature = scenarios.stream()
+                .collect(Collectors.groupingBy(scenario -> scenario.path, LinkedHashMap::new, Collectors.toList()));
+        Comparator<List<PlannedScenario>> longest = Comparator.comparingLong(
+                feature -> feature.stream().mapToLong(scenario -> scenario.estimateMs).max().orElse(0));
+        Comparator<List<PlannedScenario>> total = Comparator.comparingLong(
+                feature -> feature.stream().mapToLong(scenario -> scenario.estimateMs).sum());
+        return byFeature.values().stream()
+                .sorted(longest.thenComparing(total).reversed())
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Simula la ejecución: cada escenario se entrega al primer worker libre
+     * 
+     * @param order Orden de los escenarios
+     * @param workers Número de workers en paralelo
+     * @return Tiempo total estimado en milisegundos
+     */
+    static long makespan(List<PlannedScenario> order, int workers) {
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            finishTimes.add(0L);
+        }
+        long end = 0;
+        for (PlannedScenario scenario : order) {
+            long finish = finishTimes.poll() + scenario.estimateMs;
+            end = Math.max(end, finish);
+            finishTimes.add(finish);
+        }
+        return end;
+    }
+    
+    /**
+     * Construye el valor de cucumber.features con las líneas de cada feature en el orden planificado
+     * 
+     * @param planned Escenarios en orden
+     * @return Lista separada por comas de path:línea[:línea...]
+     */
+    static String toFeaturesProperty(List<PlannedScenario> planned) {
+        Map<Path, List<Integer>> lines = new LinkedHashMap<>();
+        planned.forEach(scenario -> lines.computeIfAbsent(scenario.path, path -> new ArrayList<>()).add(scenario.line));
+        return lines.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue().stream().map(String::valueOf).collect(Collectors.joining(":")))
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,161 @@
+package com.saucedemo.framework.metrics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cronómetro del escenario en curso de cada hilo
+ * Separa el tiempo de cada paso en tiempo de comandos de Appium, tiempo de esperas y tiempo propio del framework
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ScenarioTimer {
+    
+    private static final int COMMAND = 0;
+    private static final int WAIT = 1;
+    
+    // Acumuladores del hilo actual: [nanos en comandos, nanos en esperas]
+    private static final ThreadLocal<long[]> TOTALS = ThreadLocal.withInitial(() -> new long[2]);
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+    
+    private ScenarioTimer() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Estado del escenario en curso
+     */
+    private static final class State {
+        
+        private final ScenarioTiming timing = new ScenarioTiming();
+        private final long startNanos = System.nanoTime();
+        private final long[] startTotals = TOTALS.get().clone();
+        private final List<StepTiming> steps = new ArrayList<>();
+        private long stepStartNanos;
+        private long[] stepStartTotals;
+    }
+    
+    /**
+     * Suma tiempo de comandos de Appium al hilo actual
+     * 
+     * @param nanos Duración del comando
+     */
+    public static void addCommandNanos(long nanos) {
+        TOTALS.get()[COMMAND] += nanos;
+    }
+    
+    /**
+     * Suma tiempo de espera (pausas entre sondeos o esperas fijas) al hilo actual
+     * 
+     * @param nanos Duración de la espera
+     */
+    public static void addWaitNanos(long nanos) {
+        TOTALS.get()[WAIT] += nanos;
+    }
+    
+    /**
+     * Inicia el cronómetro de un escenario
+     * 
+     * @param feature Feature del escenario
+     * @param scenario Nombre del escenario
+     * @param tags Tags del escenario
+     */
+    public static void startScenario(String feature, String scenario, List<String> tags) {
+        State state = new State();
+        state.timing.setTimestamp(Instant.now().toString());
+        state.timing.setFeature(feature);
+        state.timing.setScenario(scenario);
+        state.timing.setTags(new ArrayList<>(tags));
+        STATE.set(state);
+    }
+    
+    /**
+     * Marca el inicio de un paso
+     */
+    public static void startStep() {
+        State state = STATE.get();
+        if (state != null) {
+            state.stepStartNanos = System.nanoTime();
+            state.stepStartTotals = TOTALS.get().clone();
+        }
+    }
+    
+    /**
+     * Marca el final de un paso
+     * 
+     * @param text Texto del paso
+     * @param status Resultado del paso
+     */
+    public static void finishStep(String text, String status) {
+        State state = STATE.get();
+        if (state == null || state.stepStartTotals == null) {
+            return;
+        }
+        long[] totals = TOTALS.get();
+        state.steps.add(new StepTiming(text, status,
+                toMillis(System.nanoTime() - state.stepStartNanos),
+                toMillis(totals[COMMAND] - state.stepStartTotals[COMMAND]),
+                toMillis(totals[WAIT] - state.stepStartTotals[WAIT])));
+        state.stepStartTotals = null;
+    }
+    
+    /**
+     * Registra el dispositivo sobre el que corre el escenario
+     * 
+     * @param device Nombre del dispositivo
+     */
+    public static void setDevice(String device) {
+        State state = STATE.get();
+        if (state != null && device != null) {
+            state.timing.setDevice(device);
+        }
+    }
+    
+    /**
+     * Finaliza el escenario en curso
+     * 
+     * @param status Resultado del escenario
+     * @return Registro de tiempos, o null si no había escenario en curso
+     */
+    public static ScenarioTiming finishScenario(String status) {
+        State state = STATE.get();
+        STATE.remove();
+        if (state == null) {
+            return null;
+        }
+        fill(state);
+        state.timing.setStatus(status);
+        state.timing.setSteps(state.steps);
+        return state.timing;
+    }
+    
+    private static void fill(State state) {
+        long[] totals = TOTALS.get();
+        state.timing.setDurationMs(toMillis(System.nanoTime() - state.startNanos));
+        state.timing.setCommandMs(toMillis(totals[COMMAND] - state.startTotals[COMMAND]));
+        state.timing.setWaitMs(toMillis(totals[WAIT] - state.startTotals[WAIT]));
+    }
+    
+    /**
+     * Describe el tiempo transcurrido del escenario en curso
+     * 
+     * @return Duración legible con el desglose de comandos y esperas, o "N/A" si no hay escenario en curso
+     */
+    public static String describeCurrent() {
+        State state = STATE.get();
+        if (state == null) {
+            return "N/A";
+        }
+        fill(state);
+        ScenarioTiming timing = state.timing;
+        return String.format("%.1f s (comandos de Appium: %.1f s, esperas: %.1f s, framework: %.1f s)",
+                timing.getDurationMs() / 1000.0, timing.getCommandMs() / 1000.0, timing.getWaitMs() / 1000.0,
+                (timing.getDurationMs() - timing.getCommandMs() - timing.getWaitMs()) / 1000.0);
+    }
+    
+    private static long toMillis(long nanos) {
+        return nanos / 1_000_000L;
+    }
+}
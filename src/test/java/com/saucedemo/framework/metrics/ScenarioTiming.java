@@ -0,0 +1,135 @@
+package com.saucedemo.framework.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro de tiempos de un escenario, tal como se guarda en el historial (una línea JSON por escenario)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class ScenarioTiming {
+    
+    private String runId;
+    private String timestamp;
+    private String revision;
+    private String device;
+    private String feature;
+    private String scenario;
+    private List<String> tags = new ArrayList<>();
+    private String status;
+    private long durationMs;
+    private long commandMs;
+    private long waitMs;
+    private List<StepTiming> steps = new ArrayList<>();
+    
+    public ScenarioTiming() {
+        // Constructor requerido por Jackson
+    }
+    
+    public String getRunId() {
+        return runId;
+    }
+    
+    public void setRunId(String runId) {
+        this.runId = runId;
+    }
+    
+    public String getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(String timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public String getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(String revision) {
+        this.revision = revision;
+    }
+    
+    public String getDevice() {
+        return device;
+    }
+    
+    public void setDevice(String device) {
+        this.device = device;
+    }
+    
+    public String getFeature() {
+        return feature;
+    }
+    
+    public void setFeature(String feature) {
+        this.feature = feature;
+    }
+    
+    public String getScenario() {
+        return scenario;
+    }
+    
+    public void setScenario(String scenario) {
+        this.scenario = scenario;
+    }
+    
+    public List<String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+    
+    public long getCommandMs() {
+        return commandMs;
+    }
+    
+    public void setCommandMs(long commandMs) {
+        this.commandMs = commandMs;
+    }
+    
+    public long getWaitMs() {
+        return waitMs;
+    }
+    
+    public void setWaitMs(long waitMs) {
+        this.waitMs = waitMs;
+    }
+    
+    public List<StepTiming> getSteps() {
+        return steps;
+    }
+    
+    public void setSteps(List<StepTiming> steps) {
+        this.steps = steps;
+    }
+    
+    /**
+     * Clave que identifica al escenario entre ejecuciones
+     * 
+     * @return feature + nombre del escenario
+     */
+    public String key() {
+        return feature + " :: " + scenario;
+    }
+}
@@ -0,0 +1,69 @@
+package com.saucedemo.framework.metrics;
+
+/**
+ * Tiempos de un paso de Cucumber (incluidos los hooks)
+ * El tiempo propio del framework es la diferencia entre la duración y los tiempos de comandos y esperas
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class StepTiming {
+    
+    private String text;
+    private String status;
+    private long durationMs;
+    private long commandMs;
+    private long waitMs;
+    
+    public StepTiming() {
+        // Constructor requerido por Jackson
+    }
+    
+    public StepTiming(String text, String status, long durationMs, long commandMs, long waitMs) {
+        this.text = text;
+        this.status = status;
+        this.durationMs = durationMs;
+        this.commandMs = commandMs;
+        this.waitMs = waitMs;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public long getDurationMs() {
+        return durationMs;
+    }
+    
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+    
+    public long getCommandMs() {
+        return commandMs;
+    }
+    
+    public void setCommandMs(long commandMs) {
+        this.commandMs = commandMs;
+    }
+    
+    public long getWaitMs() {
+        return waitMs;
+    }
+    
+    public void setWaitMs(long waitMs) {
+        this.waitMs = waitMs;
+    }
+}
@@ -0,0 +1,42 @@
+package com.saucedemo.framework.metrics;
+
+import io.appium.java_client.MobileCommand;
+import com.saucedemo.framework.transport.AppiumHttpTransport;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+
+import java.net.URL;
+
+/**
+ * Ejecutor de comandos de Appium que mide la latencia de cada round trip
+ * Se usa en lugar del ejecutor por defecto al crear el driver, sin cambiar su tipo (AndroidDriver/IOSDriver)
+ * Los comandos viajan por el transporte HTTP con pool de conexiones ({@link AppiumHttpTransport})
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class TimedCommandExecutor extends AppiumCommandExecutor {
+    
+    /**
+     * Constructor del ejecutor
+     * 
+     * @param serverUrl URL del servidor de Appium
+     */
+    public TimedCommandExecutor(URL serverUrl) {
+        super(MobileCommand.commandRepository, serverUrl, AppiumHttpTransport.factory());
+    }
+    
+    @Override
+    public Response execute(Command command) throws WebDriverException {
+        long start = System.nanoTime();
+        try {
+            return super.execute(command);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            CommandMetrics.record(command.getName(), elapsed);
+            ScenarioTimer.addCommandNanos(elapsed);
+        }
+    }
+}
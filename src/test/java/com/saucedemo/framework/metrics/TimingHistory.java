@@ -0,0 +1,324 @@
+package com.saucedemo.framework.metrics;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Historial de tiempos de escenarios y pasos
+ * Cada ejecución escribe un segmento JSONL (perf-history/run-&lt;fecha&gt;-&lt;pid&gt;.jsonl) con una línea por escenario,
+ * identificada por feature, escenario, tags, dispositivo y revisión de git
+ * 
+ * Configuración:
+ * - perf.history.dir: directorio del historial (por defecto perf-history)
+ * - perf.revision: revisión a registrar (por defecto GIT_COMMIT o git rev-parse --short HEAD)
+ * 
+ * Consultas desde la línea de comandos:
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.saucedemo.framework.metrics.TimingHistory -Dexec.args="trend 10"
+ * mvn exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.saucedemo.framework.metrics.TimingHistory -Dexec.args="slowest 10 15"
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class TimingHistory {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingHistory.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    
+    private static final Path HISTORY_DIR = Paths.get(System.getProperty("perf.history.dir", "perf-history"));
+    private static final String SEGMENT_PREFIX = "run-";
+    private static final String SEGMENT_SUFFIX = ".jsonl";
+    private static final String RUN_ID = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+            + "-" + ProcessHandle.current().pid();
+    
+    private static volatile String revision;
+    
+    private TimingHistory() {
+        // Clase utilitaria
+    }
+    
+    public static Path getHistoryDir() {
+        return HISTORY_DIR;
+    }
+    
+    /**
+     * Identificador de la ejecución actual (también nombre del segmento)
+     * 
+     * @return Id de la ejecución
+     */
+    public static String getRunId() {
+        return RUN_ID;
+    }
+    
+    /**
+     * Revisión de git del código que se está ejecutando
+     * 
+     * @return Revisión corta, o "unknown" si no se puede determinar
+     */
+    public static String getRevision() {
+        if (revision == null) {
+            String value = System.getProperty("perf.revision", System.getenv("GIT_COMMIT"));
+            if (value == null || value.isEmpty()) {
+                value = readGitRevision();
+            }
+            revision = value;
+        }
+        return revision;
+    }
+    
+    private static String readGitRevision() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                return process.waitFor() == 0 && line != null ? line.trim() : "unknown";
+            }
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+    
+    /**
+     * Agrega un escenario al segmento de la ejecución actual
+     * 
+     * @param timing Tiempos del escenario
+     */
+    public static synchronized void append(ScenarioTiming timing) {
+        timing.setRunId(RUN_ID);
+        timing.setRevision(getRevision());
+        try {
+            Files.createDirectories(HISTORY_DIR);
+            String line = MAPPER.writeValueAsString(timing) + System.lineSeparator();
+            Files.write(getSegment(), line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOGGER.warn("No se pudo guardar el historial de tiempos: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Segmento de la ejecución actual
+     * 
+     * @return Ruta del archivo JSONL
+     */
+    public static Path getSegment() {
+        return HISTORY_DIR.resolve(SEGMENT_PREFIX + RUN_ID + SEGMENT_SUFFIX);
+    }
+    
+    /**
+     * Carga los escenarios de las últimas N ejecuciones
+     * 
+     * @param dir Directorio del historial
+     * @param runs Número de ejecuciones (segmentos) a cargar
+     * @return Escenarios en orden cronológico
+     */
+    public static List<ScenarioTiming> loadLastRuns(Path dir, int runs) {
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptyList();
+        }
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(dir)) {
+            segments = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo leer el historial en " + dir, e);
+        }
+        
+        List<ScenarioTiming> result = new ArrayList<>();
+        for (Path segment : segments.subList(Math.max(0, segments.size() - runs), segments.size())) {
+            result.addAll(loadSegment(segment));
+        }
+        return result;
+    }
+    
+    /**
+     * Carga un segmento JSONL
+     * 
+     * @param segment Archivo del segmento
+     * @return Escenarios del segmento
+     */
+    public static List<ScenarioTiming> loadSegment(Path segment) {
+        List<ScenarioTiming> result = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty()) {
+                    result.add(MAPPER.readValue(line, ScenarioTiming.class));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Segmento de historial ilegible {}: {}", segment, e.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * Agrupa los escenarios por feature y nombre, conservando el orden cronológico
+     * 
+     * @param timings Escenarios cargados
+     * @return Ejecuciones de cada escenario
+     */
+    public static Map<String, List<ScenarioTiming>> byScenario(List<ScenarioTiming> timings) {
+        return timings.stream().collect(Collectors.groupingBy(ScenarioTiming::key, LinkedHashMap::new, Collectors.toList()));
+    }
+    
+    /**
+     * Agrupa los pasos por texto y calcula sus estadísticas
+     * 
+     * @param timings Escenarios cargados
+     * @return Estadísticas por paso, ordenadas de más lento a más rápido (por p50)
+     */
+    public static List<StepStats> stepStats(List<ScenarioTiming> timings) {
+        Map<String, List<StepTiming>> steps = new LinkedHashMap<>();
+        for (ScenarioTiming timing : timings) {
+            for (StepTiming step : timing.getSteps()) {
+                steps.computeIfAbsent(step.getText(), key -> new ArrayList<>()).add(step);
+            }
+        }
+        List<StepStats> result = new ArrayList<>();
+        steps.forEach((text, samples) -> result.add(new StepStats(text, samples)));
+        result.sort(Comparator.comparingLong(StepStats::getP50Ms).reversed());
+        return result;
+    }
+    
+    /**
+     * Percentil por rango más cercano
+     * 
+     * @param values Valores (no necesitan estar ordenados)
+     * @param percentile Percentil entre 0 y 100
+     * @return Valor del percentil, 0 si no hay valores
+     */
+    public static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, rank - 1)));
+    }
+    
+    /**
+     * Estadísticas agregadas de un paso
+     */
+    public static final class StepStats {
+        
+        private final String text;
+        private final int count;
+        private final long p50Ms;
+        private final long p95Ms;
+        private final long maxMs;
+        private final long commandP50Ms;
+        private final long waitP50Ms;
+        
+        StepStats(String text, List<StepTiming> samples) {
+            List<Long> durations = samples.stream().map(StepTiming::getDurationMs).collect(Collectors.toList());
+            this.text = text;
+            this.count = samples.size();
+            this.p50Ms = percentile(durations, 50);
+            this.p95Ms = percentile(durations, 95);
+            this.maxMs = percentile(durations, 100);
+            this.commandP50Ms = percentile(samples.stream().map(StepTiming::getCommandMs).collect(Collectors.toList()), 50);
+            this.waitP50Ms = percentile(samples.stream().map(StepTiming::getWaitMs).collect(Collectors.toList()), 50);
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public long getP50Ms() {
+            return p50Ms;
+        }
+        
+        public long getP95Ms() {
+            return p95Ms;
+        }
+        
+        public long getMaxMs() {
+            return maxMs;
+        }
+        
+        public long getCommandP50Ms() {
+            return commandP50Ms;
+        }
+        
+        public long getWaitP50Ms() {
+            return waitP50Ms;
+        }
+    }
+    
+    /**
+     * Consultas del historial desde la línea de comandos
+     * 
+     * @param args trend [ejecuciones] [filtro] | slowest [ejecuciones] [límite]
+     */
+    public static void main(String[] args) {
+        String query = args.length > 0 ? args[0] : "trend";
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<ScenarioTiming> timings = loadLastRuns(HISTORY_DIR, runs);
+        if (timings.isEmpty()) {
+            System.out.println("No hay historial en " + HISTORY_DIR.toAbsolutePath());
+            return;
+        }
+        
+        if ("slowest".equals(query)) {
+            int limit = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+            printSlowestSteps(timings, limit);
+        } else if ("trend".equals(query)) {
+            printTrends(timings, args.length > 2 ? args[2] : "");
+        } else {
+            System.out.println("Uso: trend [ejecuciones] [filtro] | slowest [ejecuciones] [límite]");
+        }
+    }
+    
+    private static void printTrends(List<ScenarioTiming> timings, String filter) {
+        byScenario(timings).forEach((key, runs) -> {
+            if (!key.contains(filter)) {
+                return;
+            }
+            System.out.println(key);
+            for (ScenarioTiming run : runs) {
+                System.out.printf("  %-22s %-10s %-8s %8d ms  (comandos %6d ms, esperas %6d ms)  %s%n",
+                        run.getRunId(), run.getRevision(), run.getStatus(), run.getDurationMs(),
+                        run.getCommandMs(), run.getWaitMs(), run.getDevice() == null ? "" : run.getDevice());
+            }
+            List<Long> durations = runs.stream().map(ScenarioTiming::getDurationMs).collect(Collectors.toList());
+            System.out.printf("  p50 %d ms - p95 %d ms - ejecuciones %d%n%n",
+                    percentile(durations, 50), percentile(durations, 95), runs.size());
+        });
+    }
+    
+    private static void printSlowestSteps(List<ScenarioTiming> timings, int limit) {
+        System.out.printf("%8s %8s %8s %10s %9s %6s  %s%n", "p50 ms", "p95 ms", "max ms", "comandos", "esperas", "n", "Paso");
+        stepStats(timings).stream().limit(limit).forEach(stats -> System.out.printf("%8d %8d %8d %10d %9d %6d  %s%n",
+                stats.getP50Ms(), stats.getP95Ms(), stats.getMaxMs(), stats.getCommandP50Ms(),
+                stats.getWaitP50Ms(), stats.getCount(), stats.getText()));
+    }
+}
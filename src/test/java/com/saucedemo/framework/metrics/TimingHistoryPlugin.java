@@ -0,0 +1,56 @@
+package com.saucedemo.framework.metrics;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.core.DeviceSlot;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+
+/**
+ * Plugin de Cucumber que mide cada escenario y cada paso y los agrega al historial de tiempos
+ * 
+ * Se registra en junit-platform.properties (cucumber.plugin)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class TimingHistoryPlugin implements ConcurrentEventListener {
+    
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, event -> ScenarioTimer.startStep());
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+    }
+    
+    private void onScenarioStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        ScenarioTimer.startScenario(featureName(testCase), testCase.getName(), testCase.getTags());
+    }
+    
+    private void onStepFinished(TestStepFinished event) {
+        ScenarioTimer.finishStep(CommandMetricsPlugin.describe(event.getTestStep()), event.getResult().getStatus().name());
+        // El dispositivo se libera en el último hook, por eso se captura en cada paso
+        DeviceSlot device = AppiumDriverManager.getCurrentDevice();
+        if (device != null) {
+            ScenarioTimer.setDevice(device.getName());
+        }
+    }
+    
+    private void onScenarioFinished(TestCaseFinished event) {
+        ScenarioTiming timing = ScenarioTimer.finishScenario(event.getResult().getStatus().name());
+        if (timing != null) {
+            TimingHistory.append(timing);
+        }
+    }
+    
+    private static String featureName(TestCase testCase) {
+        String path = testCase.getUri().toString();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
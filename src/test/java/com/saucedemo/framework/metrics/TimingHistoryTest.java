@@ -0,0 +1,56 @@
+package com.saucedemo.framework.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas del percentil por rango más cercano usado por la compuerta y los reportes de tendencia
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class TimingHistoryTest {
+    
+    @Test
+    void percentileOfEmptyListIsZero() {
+        assertEquals(0, TimingHistory.percentile(List.of(), 50));
+    }
+    
+    @Test
+    void percentileOfSingleValueIsThatValue() {
+        assertEquals(42, TimingHistory.percentile(List.of(42L), 50));
+        assertEquals(42, TimingHistory.percentile(List.of(42L), 95));
+    }
+    
+    @Test
+    void percentileSortsWithoutModifyingTheInput() {
+        List<Long> values = new ArrayList<>(List.of(500L, 100L, 400L, 200L, 300L));
+        
+        assertEquals(300, TimingHistory.percentile(values, 50));
+        assertEquals(500, TimingHistory.percentile(values, 95));
+        assertEquals(List.of(500L, 100L, 400L, 200L, 300L), values);
+    }
+    
+    @Test
+    void percentileUsesNearestRank() {
+        List<Long> values = LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList());
+        
+        assertEquals(10, TimingHistory.percentile(values, 50));
+        assertEquals(19, TimingHistory.percentile(values, 95));
+        assertEquals(20, TimingHistory.percentile(values, 100));
+        assertEquals(1, TimingHistory.percentile(values, 0));
+    }
+    
+    @Test
+    void p95OfFewRunsIsTheSlowest() {
+        // Con menos de 20 ejecuciones el rango del p95 es la última: un solo outlier lo define
+        assertEquals(2000, TimingHistory.percentile(List.of(1000L, 1000L, 1000L, 1000L, 2000L), 95));
+        assertEquals(1000, TimingHistory.percentile(List.of(1000L, 1000L, 1000L, 1000L, 2000L), 50));
+    }
+}
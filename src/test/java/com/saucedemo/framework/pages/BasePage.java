@@ -1,32 +1,58 @@
 package com.saucedemo.framework.pages;
 
 import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.core.WaitEngine;
+import com.saucedemo.framework.gestures.GestureEngine;
+import com.saucedemo.framework.locators.ElementHandleCache;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.metrics.ScenarioTimer;
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import com.saucedemo.framework.snapshot.SnapshotElement;
+import com.saucedemo.framework.snapshot.SnapshotManager;
 import io.appium.java_client.AppiumDriver;
 import net.serenitybdd.core.pages.PageObject;
 import net.serenitybdd.core.pages.WebElementFacade;
 import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 /**
  * Clase base para todas las páginas del framework
  * Proporciona métodos comunes para testing móvil con Appium y Serenity
  * 
+ * Las consultas de presencia, visibilidad, texto y atributos se resuelven sobre una
+ * captura del page source ({@link PageSnapshot}) que se invalida con cada acción
+ * que modifica la pantalla (clic, escritura, scroll, back)
+ * 
+ * Todas las esperas pasan por {@link WaitEngine}, con un plazo por llamada
+ * 
+ * Los desplazamientos usan gestos nativos de {@link GestureEngine}
+ * 
+ * Las acciones (clic, escritura, lectura) reutilizan la referencia del elemento guardada en
+ * {@link ElementHandleCache} en lugar de volver a buscarlo con findElement
+ * 
  * @author Framework Team
  * @version 1.0
  */
 public abstract class BasePage extends PageObject {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(BasePage.class);
+    private static final Logger LOGGER = ScenarioLog.getLogger(BasePage.class);
     protected static final int EXPLICIT_WAIT_TIMEOUT = 20;
     protected static final int IMPLICIT_WAIT_TIMEOUT = 10;
     
+    // Encabezado común a las pantallas: icono y contador del carrito
+    private static final By HEADER_CART_ICON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/cartIV");
+    private static final By HEADER_CART_BADGE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/cartTV");
+    
     /**
      * Constructor de la clase base
      */
@@ -43,6 +69,78 @@ public abstract class BasePage extends PageObject {
         return AppiumDriverManager.getDriver();
     }
     
+    /**
+     * Obtiene la captura vigente de la pantalla actual
+     * 
+     * @return Captura de la jerarquía de UI
+     */
+    protected PageSnapshot snapshot() {
+        PageSnapshot snapshot = SnapshotManager.current(getAppiumDriver());
+        ElementHandleCache.observe(snapshot);
+        return snapshot;
+    }
+    
+    /**
+     * Lee el contador del carrito del encabezado en una captura
+     * 
+     * @param snapshot Captura de la pantalla
+     * @return Productos indicados por el contador (0 si no hay contador), o null si el encabezado no está en pantalla
+     */
+    protected Integer readCartBadge(PageSnapshot snapshot) {
+        if (snapshot.find(HEADER_CART_ICON_LOCATOR) == null) {
+            return null;
+        }
+        SnapshotElement badge = snapshot.find(HEADER_CART_BADGE_LOCATOR);
+        if (badge == null || badge.getText().trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(badge.getText().trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Contador del carrito no numérico: '{}'", badge.getText());
+            return null;
+        }
+    }
+    
+    /**
+     * Indica si un localizador puede resolverse sobre la captura
+     * 
+     * @param locator Localizador del elemento
+     * @return true si la consulta puede resolverse localmente
+     */
+    private boolean isSnapshotQuery(By locator) {
+        return SnapshotManager.isEnabled() && PageSnapshot.supports(locator);
+    }
+    
+    /**
+     * Obtiene el primer elemento de la captura que coincide con el localizador
+     * 
+     * @param locator Localizador del elemento
+     * @return Elemento encontrado, o null si no existe
+     */
+    private SnapshotElement findInSnapshot(By locator) {
+        return snapshot().find(locator);
+    }
+    
+    /**
+     * Invalida la captura después de una acción que modifica la pantalla
+     */
+    protected void invalidateSnapshot() {
+        SnapshotManager.invalidate();
+    }
+    
+    /**
+     * Ejecuta una acción sobre el elemento de un localizador usando la referencia guardada
+     * 
+     * @param locator Localizador del elemento
+     * @param action Acción a ejecutar
+     * @param <T> Tipo del resultado
+     * @return Resultado de la acción
+     */
+    protected <T> T withElement(By locator, Function<WebElement, T> action) {
+        return ElementHandleCache.apply(getAppiumDriver(), locator, action);
+    }
+    
     /**
      * Espera explícita hasta que un elemento sea visible
      * 
@@ -50,8 +148,24 @@ public abstract class BasePage extends PageObject {
      * @return WebElementFacade del elemento encontrado
      */
     protected WebElementFacade waitForElementVisible(By locator) {
+        return waitForElementVisible(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+    }
+    
+    /**
+     * Espera explícita con plazo propio hasta que un elemento sea visible
+     * 
+     * @param locator Localizador del elemento
+     * @param timeout Plazo máximo de la espera
+     * @return WebElementFacade del elemento encontrado
+     */
+    protected WebElementFacade waitForElementVisible(By locator, Duration timeout) {
+        awaitVisible(locator, timeout);
+        return element(locator);
+    }
+    
+    private void awaitVisible(By locator, Duration timeout) {
         LOGGER.debug("Esperando elemento visible: {}", locator);
-        return element(locator).waitUntilVisible();
+        WaitEngine.until("elemento visible " + locator, timeout, () -> isElementCurrentlyVisible(locator));
     }
     
     /**
@@ -61,12 +175,27 @@ public abstract class BasePage extends PageObject {
      * @return WebElementFacade del elemento encontrado
      */
     protected WebElementFacade waitForElementClickable(By locator) {
-        LOGGER.debug("Esperando elemento clickeable: {}", locator);
-        WebDriverWait wait = new WebDriverWait(getAppiumDriver(), Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
-        wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return waitForElementClickable(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+    }
+    
+    /**
+     * Espera explícita con plazo propio hasta que un elemento sea clickeable (visible y habilitado)
+     * 
+     * @param locator Localizador del elemento
+     * @param timeout Plazo máximo de la espera
+     * @return WebElementFacade del elemento encontrado
+     */
+    protected WebElementFacade waitForElementClickable(By locator, Duration timeout) {
+        awaitClickable(locator, timeout);
         return element(locator);
     }
     
+    private void awaitClickable(By locator, Duration timeout) {
+        LOGGER.debug("Esperando elemento clickeable: {}", locator);
+        WaitEngine.until("elemento clickeable " + locator, timeout,
+                () -> isElementCurrentlyVisible(locator) && isElementEnabled(locator));
+    }
+    
     /**
      * Hace clic en un elemento con espera explícita
      * 
@@ -74,7 +203,15 @@ public abstract class BasePage extends PageObject {
      */
     protected void clickElement(By locator) {
         LOGGER.debug("Haciendo clic en elemento: {}", locator);
-        waitForElementClickable(locator).click();
+        awaitClickable(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+        try {
+            withElement(locator, element -> {
+                element.click();
+                return null;
+            });
+        } finally {
+            invalidateSnapshot();
+        }
     }
     
     /**
@@ -85,9 +222,49 @@ public abstract class BasePage extends PageObject {
      */
     protected void typeText(By locator, String text) {
         LOGGER.debug("Escribiendo texto '{}' en elemento: {}", text, locator);
-        WebElementFacade element = waitForElementVisible(locator);
-        element.clear();
-        element.type(text);
+        sendText(locator, text);
+    }
+    
+    /**
+     * Escribe un texto sensible (por ejemplo una contraseña) sin registrarlo en los logs
+     * 
+     * @param locator Localizador del elemento
+     * @param text Texto a escribir
+     */
+    protected void typeSecret(By locator, String text) {
+        LOGGER.debug("Escribiendo texto oculto ({} caracteres) en elemento: {}", text == null ? 0 : text.length(), locator);
+        sendText(locator, text);
+    }
+    
+    private void sendText(By locator, String text) {
+        awaitVisible(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+        try {
+            withElement(locator, element -> {
+                element.clear();
+                element.sendKeys(text);
+                return null;
+            });
+        } finally {
+            invalidateSnapshot();
+        }
+    }
+    
+    /**
+     * Limpia el contenido de un campo con espera explícita
+     * 
+     * @param locator Localizador del elemento
+     */
+    protected void clearText(By locator) {
+        LOGGER.debug("Limpiando elemento: {}", locator);
+        awaitVisible(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+        try {
+            withElement(locator, element -> {
+                element.clear();
+                return null;
+            });
+        } finally {
+            invalidateSnapshot();
+        }
     }
     
     /**
@@ -98,7 +275,14 @@ public abstract class BasePage extends PageObject {
      */
     protected String getElementText(By locator) {
         LOGGER.debug("Obteniendo texto del elemento: {}", locator);
-        return waitForElementVisible(locator).getText();
+        if (isSnapshotQuery(locator)) {
+            SnapshotElement element = findInSnapshot(locator);
+            if (element != null && element.isDisplayed()) {
+                return element.getText();
+            }
+        }
+        awaitVisible(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+        return withElement(locator, WebElement::getText);
     }
     
     /**
@@ -109,6 +293,10 @@ public abstract class BasePage extends PageObject {
      */
     protected boolean isElementCurrentlyVisible(By locator) {
         try {
+            if (isSnapshotQuery(locator)) {
+                SnapshotElement element = findInSnapshot(locator);
+                return element != null && element.isDisplayed();
+            }
             return element(locator).isCurrentlyVisible();
         } catch (Exception e) {
             LOGGER.debug("Elemento no visible: {}", locator);
@@ -124,6 +312,9 @@ public abstract class BasePage extends PageObject {
      */
     protected boolean isElementPresent(By locator) {
         try {
+            if (isSnapshotQuery(locator)) {
+                return findInSnapshot(locator) != null;
+            }
             return element(locator).isPresent();
         } catch (Exception e) {
             LOGGER.debug("Elemento no presente: {}", locator);
@@ -132,15 +323,30 @@ public abstract class BasePage extends PageObject {
     }
     
     /**
-     * Hace scroll hacia un elemento específico
+     * Verifica si un elemento está visible, resolviendo la consulta sobre la captura
+     * 
+     * @param locator Localizador del elemento
+     * @return true si el elemento está visible
+     */
+    @Override
+    public Boolean isElementVisible(By locator) {
+        if (isSnapshotQuery(locator)) {
+            return isElementCurrentlyVisible(locator);
+        }
+        return super.isElementVisible(locator);
+    }
+    
+    /**
+     * Hace scroll hacia un elemento específico con gestos nativos
      * 
      * @param locator Localizador del elemento objetivo
+     * @throws NoSuchElementException si el elemento no aparece antes del final de la lista
      */
     protected void scrollToElement(By locator) {
         LOGGER.debug("Haciendo scroll hacia elemento: {}", locator);
-        WebElement element = getAppiumDriver().findElement(locator);
-        JavascriptExecutor js = getAppiumDriver();
-        js.executeScript("arguments[0].scrollIntoView(true);", element);
+        if (!GestureEngine.scrollUntilFound(getAppiumDriver(), locator)) {
+            throw new NoSuchElementException("No se encontró el elemento al hacer scroll: " + locator);
+        }
     }
     
     /**
@@ -148,8 +354,7 @@ public abstract class BasePage extends PageObject {
      */
     protected void scrollDown() {
         LOGGER.debug("Haciendo scroll hacia abajo");
-        JavascriptExecutor js = getAppiumDriver();
-        js.executeScript("window.scrollBy(0, 500);");
+        GestureEngine.scroll(getAppiumDriver(), GestureEngine.Direction.DOWN);
     }
     
     /**
@@ -157,8 +362,20 @@ public abstract class BasePage extends PageObject {
      */
     protected void scrollUp() {
         LOGGER.debug("Haciendo scroll hacia arriba");
-        JavascriptExecutor js = getAppiumDriver();
-        js.executeScript("window.scrollBy(0, -500);");
+        GestureEngine.scroll(getAppiumDriver(), GestureEngine.Direction.UP);
+    }
+    
+    /**
+     * Navega hacia atrás (botón back del dispositivo)
+     */
+    protected void navigateBack() {
+        LOGGER.debug("Navegando hacia atrás");
+        try {
+            getAppiumDriver().navigate().back();
+        } finally {
+            invalidateSnapshot();
+            ElementHandleCache.invalidate();
+        }
     }
     
     /**
@@ -167,9 +384,18 @@ public abstract class BasePage extends PageObject {
      * @param locator Localizador del elemento
      */
     protected void waitForElementToDisappear(By locator) {
+        waitForElementToDisappear(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+    }
+    
+    /**
+     * Espera con plazo propio hasta que un elemento desaparezca
+     * 
+     * @param locator Localizador del elemento
+     * @param timeout Plazo máximo de la espera
+     */
+    protected void waitForElementToDisappear(By locator, Duration timeout) {
         LOGGER.debug("Esperando que elemento desaparezca: {}", locator);
-        WebDriverWait wait = new WebDriverWait(getAppiumDriver(), Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        WaitEngine.until("elemento no visible " + locator, timeout, () -> !isElementCurrentlyVisible(locator));
     }
     
     /**
@@ -181,7 +407,15 @@ public abstract class BasePage extends PageObject {
      */
     protected String getElementAttribute(By locator, String attribute) {
         LOGGER.debug("Obteniendo atributo '{}' del elemento: {}", attribute, locator);
-        return waitForElementVisible(locator).getAttribute(attribute);
+        if (isSnapshotQuery(locator)) {
+            SnapshotElement element = findInSnapshot(locator);
+            String value = element != null && element.isDisplayed() ? element.getAttribute(attribute) : null;
+            if (value != null) {
+                return value;
+            }
+        }
+        awaitVisible(locator, Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+        return withElement(locator, element -> element.getAttribute(attribute));
     }
     
     /**
@@ -192,7 +426,11 @@ public abstract class BasePage extends PageObject {
      */
     protected boolean isElementEnabled(By locator) {
         try {
-            return element(locator).isEnabled();
+            if (isSnapshotQuery(locator)) {
+                SnapshotElement element = findInSnapshot(locator);
+                return element != null && element.isEnabled();
+            }
+            return withElement(locator, WebElement::isEnabled);
         } catch (Exception e) {
             LOGGER.debug("Elemento no habilitado: {}", locator);
             return false;
@@ -205,11 +443,15 @@ public abstract class BasePage extends PageObject {
      * @param milliseconds Tiempo a esperar en milisegundos
      */
     protected void waitForMilliseconds(long milliseconds) {
+        long start = System.nanoTime();
         try {
             Thread.sleep(milliseconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             LOGGER.warn("Espera interrumpida: {}", e.getMessage());
+        } finally {
+            ScenarioTimer.addWaitNanos(System.nanoTime() - start);
+            invalidateSnapshot();
         }
     }
     
@@ -230,6 +472,9 @@ public abstract class BasePage extends PageObject {
      */
     protected boolean isTextPresent(String text) {
         try {
+            if (SnapshotManager.isEnabled()) {
+                return snapshot().containsText(text);
+            }
             return getAppiumDriver().getPageSource().contains(text);
         } catch (Exception e) {
             LOGGER.debug("Texto no presente: {}", text);
@@ -237,6 +482,77 @@ public abstract class BasePage extends PageObject {
         }
     }
     
+    /**
+     * Localizadores que deben estar visibles para considerar la página cargada
+     * Cada página declara aquí sus elementos obligatorios una sola vez
+     * 
+     * @return Lista de localizadores requeridos
+     */
+    protected List<By> getRequiredLocators() {
+        return Collections.emptyList();
+    }
+    
+    /**
+     * Obtiene los localizadores requeridos que no están visibles en la pantalla actual
+     * Todos se evalúan sobre la misma captura de la jerarquía
+     * 
+     * @param locators Localizadores a evaluar
+     * @return Localizadores no visibles, vacía si todos lo están
+     */
+    protected List<By> findMissingElements(List<By> locators) {
+        List<By> missing = new ArrayList<>();
+        for (By locator : locators) {
+            if (!isElementCurrentlyVisible(locator)) {
+                missing.add(locator);
+            }
+        }
+        return missing;
+    }
+    
+    /**
+     * Verifica en una sola evaluación que todos los elementos requeridos estén visibles
+     * 
+     * @return true si todos los elementos requeridos están visibles
+     */
+    protected boolean areRequiredElementsVisible() {
+        try {
+            return findMissingElements(getRequiredLocators()).isEmpty();
+        } catch (Exception e) {
+            LOGGER.error("Error al verificar los elementos requeridos de {}: {}", getClass().getSimpleName(), e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Espera hasta que todos los localizadores estén visibles a la vez
+     * Cada sondeo evalúa el conjunto completo sobre una única captura de la jerarquía
+     * 
+     * @param locators Localizadores requeridos
+     * @param timeout Tiempo máximo de espera
+     * @throws TimeoutException si algún elemento no está visible al vencer el tiempo, indicando cuál
+     */
+    protected void waitForAllVisible(List<By> locators, Duration timeout) {
+        AtomicReference<List<By>> missing = new AtomicReference<>(locators);
+        try {
+            WaitEngine.until("carga de " + getClass().getSimpleName(), timeout, () -> {
+                missing.set(findMissingElements(locators));
+                return missing.get().isEmpty();
+            });
+        } catch (TimeoutException e) {
+            throw new TimeoutException(String.format("%s no se cargó después de %d s. Elementos no visibles: %s",
+                    getClass().getSimpleName(), timeout.getSeconds(), missing.get()), e);
+        }
+    }
+    
+    /**
+     * Espera hasta que la página esté completamente cargada
+     * Evalúa en cada sondeo todos los localizadores declarados en {@link #getRequiredLocators()}
+     */
+    public void waitForPageToLoad() {
+        LOGGER.debug("Esperando que la página {} se cargue completamente", getClass().getSimpleName());
+        waitForAllVisible(getRequiredLocators(), Duration.ofSeconds(EXPLICIT_WAIT_TIMEOUT));
+    }
+    
     /**
      * Método abstracto para verificar que la página está cargada
      * Cada página debe implementar su propia lógica de verificación
@@ -1,10 +1,18 @@
 package com.saucedemo.framework.pages;
 
-import net.serenitybdd.core.annotations.findby.FindBy;
-import net.serenitybdd.core.pages.WebElementFacade;
+import com.saucedemo.framework.cart.CartCheckpoint;
+import com.saucedemo.framework.cart.CartModel;
+import com.saucedemo.framework.locators.ElementSpec;
+import com.saucedemo.framework.locators.LogicalLocator;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import com.saucedemo.framework.snapshot.SnapshotElement;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Página del Carrito de Compras
@@ -15,18 +23,20 @@ import org.slf4j.LoggerFactory;
  */
 public class CartPage extends BasePage {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(CartPage.class);
-    
-    // Localizadores de elementos usando @FindBy
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/removeBt")
-    private WebElementFacade removeButton;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/cartBt")
-    private WebElementFacade checkoutButton;
+    private static final Logger LOGGER = ScenarioLog.getLogger(CartPage.class);
     
-    // Localizadores adicionales usando By
+    // Localizadores de elementos
     private static final By REMOVE_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/removeBt");
     private static final By CHECKOUT_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/cartBt");
+    private static final By ITEM_TITLE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/titleTV");
+    
+    // Botón de eliminar de la fila de un producto
+    private static final LogicalLocator REMOVE_BY_PRODUCT = LogicalLocator
+            .of("botón Remove Item", ElementSpec.withId("com.saucelabs.mydemoapp.android:id/removeBt"))
+            .siblingOf(ElementSpec.withId("com.saucelabs.mydemoapp.android:id/titleTV").text("%s"));
+    
+    // Elementos requeridos para considerar la página cargada
+    private static final List<By> REQUIRED_LOCATORS = Collections.singletonList(CHECKOUT_BUTTON_LOCATOR);
     
     /**
      * Constructor de la página del carrito
@@ -42,12 +52,12 @@ public class CartPage extends BasePage {
      */
     @Override
     public boolean isPageLoaded() {
-        try {
-            return isElementVisible(CHECKOUT_BUTTON_LOCATOR);
-        } catch (Exception e) {
-            LOGGER.error("Error al verificar si la página del carrito está cargada: {}", e.getMessage());
-            return false;
-        }
+        return areRequiredElementsVisible();
+    }
+    
+    @Override
+    protected List<By> getRequiredLocators() {
+        return REQUIRED_LOCATORS;
     }
     
     /**
@@ -84,22 +94,14 @@ public class CartPage extends BasePage {
         return isElementEnabled(CHECKOUT_BUTTON_LOCATOR);
     }
     
-    /**
-     * Espera hasta que la página del carrito esté completamente cargada
-     */
-    public void waitForPageToLoad() {
-        LOGGER.debug("Esperando que la página del carrito se cargue completamente");
-        waitForElementVisible(CHECKOUT_BUTTON_LOCATOR);
-    }
-    
     /**
      * Obtiene la lista de productos en el carrito
      * 
      * @return Lista de productos en el carrito
      */
-    public java.util.List<String> getCartItems() {
+    public List<String> getCartItems() {
         LOGGER.debug("Obteniendo lista de productos en el carrito");
-        return java.util.Arrays.asList("Producto 1", "Producto 2"); // Placeholder
+        return readCartItems(snapshot());
     }
     
     /**
@@ -109,7 +111,8 @@ public class CartPage extends BasePage {
      */
     public void removeProductFromCart(String productName) {
         LOGGER.info("Removiendo producto del carrito: {}", productName);
-        clickRemoveButton();
+        clickElement(REMOVE_BY_PRODUCT.resolve(productName));
+        CartModel.removed(productName);
     }
     
     /**
@@ -120,7 +123,7 @@ public class CartPage extends BasePage {
      */
     public boolean isProductInCart(String productName) {
         LOGGER.debug("Verificando si el producto está en el carrito: {}", productName);
-        return true; // Placeholder
+        return getCartItems().contains(productName);
     }
     
     /**
@@ -130,6 +133,29 @@ public class CartPage extends BasePage {
      */
     public int getCartItemsCount() {
         LOGGER.debug("Obteniendo número de productos en el carrito");
-        return 1; // Placeholder
+        return getCartItems().size();
+    }
+    
+    /**
+     * Punto de control del carrito: compara el contador y la lista de productos con el carrito esperado
+     * Ambos se leen de la misma captura de la pantalla
+     * 
+     * @return Resultado de la comparación
+     */
+    public CartCheckpoint verifyCart() {
+        PageSnapshot current = snapshot();
+        CartCheckpoint checkpoint = CartModel.checkpoint("Carrito", readCartBadge(current), readCartItems(current));
+        LOGGER.debug("Verificación del carrito: {}", checkpoint);
+        return checkpoint;
+    }
+    
+    private List<String> readCartItems(PageSnapshot current) {
+        List<String> items = new ArrayList<>();
+        for (SnapshotElement title : current.findAll(ITEM_TITLE_LOCATOR)) {
+            if (title.isDisplayed()) {
+                items.add(title.getText());
+            }
+        }
+        return items;
     }
 } 
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.saucedemo.framework.pages;
 
-import net.serenitybdd.core.annotations.findby.FindBy;
-import net.serenitybdd.core.pages.WebElementFacade;
+import com.saucedemo.framework.logging.ScenarioLog;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Página de Checkout de la aplicación
@@ -15,49 +16,9 @@ import org.slf4j.LoggerFactory;
  */
 public class CheckoutPage extends BasePage {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutPage.class);
-    
-    // Localizadores de elementos usando @FindBy
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/fullNameET")
-    private WebElementFacade fullNameField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/address1ET")
-    private WebElementFacade address1Field;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/address2ET")
-    private WebElementFacade address2Field;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/cityET")
-    private WebElementFacade cityField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/zipET")
-    private WebElementFacade zipCodeField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/countryET")
-    private WebElementFacade countryField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/paymentBtn")
-    private WebElementFacade toPaymentButton;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/nameET")
-    private WebElementFacade cardHolderNameField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/cardNumberET")
-    private WebElementFacade cardNumberField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/expirationDateET")
-    private WebElementFacade expirationDateField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/securityCodeET")
-    private WebElementFacade securityCodeField;
+    private static final Logger LOGGER = ScenarioLog.getLogger(CheckoutPage.class);
     
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/completeTV")
-    private WebElementFacade checkoutCompleteText;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/shoopingBt")
-    private WebElementFacade continueShoppingButton;
-    
-    // Localizadores adicionales usando By
+    // Localizadores de elementos
     private static final By FULL_NAME_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/fullNameET");
     private static final By ADDRESS1_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/address1ET");
     private static final By ADDRESS2_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/address2ET");
@@ -72,6 +33,9 @@ public class CheckoutPage extends BasePage {
     private static final By CHECKOUT_COMPLETE_TEXT_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/completeTV");
     private static final By CONTINUE_SHOPPING_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/shoopingBt");
     
+    // Elementos requeridos para considerar la página cargada
+    private static final List<By> REQUIRED_LOCATORS = Arrays.asList(FULL_NAME_FIELD_LOCATOR, TO_PAYMENT_BUTTON_LOCATOR);
+    
     /**
      * Constructor de la página de checkout
      */
@@ -86,13 +50,12 @@ public class CheckoutPage extends BasePage {
      */
     @Override
     public boolean isPageLoaded() {
-        try {
-            return isElementVisible(FULL_NAME_FIELD_LOCATOR) && 
-                   isElementVisible(TO_PAYMENT_BUTTON_LOCATOR);
-        } catch (Exception e) {
-            LOGGER.error("Error al verificar si la página de checkout está cargada: {}", e.getMessage());
-            return false;
-        }
+        return areRequiredElementsVisible();
+    }
+    
+    @Override
+    protected List<By> getRequiredLocators() {
+        return REQUIRED_LOCATORS;
     }
     
     /**
@@ -180,7 +143,7 @@ public class CheckoutPage extends BasePage {
      */
     public void enterCardNumber(String cardNumber) {
         LOGGER.info("Ingresando número de tarjeta");
-        typeText(CARD_NUMBER_FIELD_LOCATOR, cardNumber);
+        typeSecret(CARD_NUMBER_FIELD_LOCATOR, cardNumber);
     }
     
     /**
@@ -200,7 +163,7 @@ public class CheckoutPage extends BasePage {
      */
     public void enterSecurityCode(String securityCode) {
         LOGGER.info("Ingresando código de seguridad");
-        typeText(SECURITY_CODE_FIELD_LOCATOR, securityCode);
+        typeSecret(SECURITY_CODE_FIELD_LOCATOR, securityCode);
     }
     
     /**
@@ -244,15 +207,6 @@ public class CheckoutPage extends BasePage {
         clickToPaymentButton();
     }
     
-    /**
-     * Espera hasta que la página de checkout esté completamente cargada
-     */
-    public void waitForPageToLoad() {
-        LOGGER.debug("Esperando que la página de checkout se cargue completamente");
-        waitForElementVisible(FULL_NAME_FIELD_LOCATOR);
-        waitForElementVisible(TO_PAYMENT_BUTTON_LOCATOR);
-    }
-    
     /**
      * Hace clic en el botón continuar
      */
@@ -0,0 +1,329 @@
+package com.saucedemo.framework.pages;
+
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import com.saucedemo.framework.snapshot.SnapshotElement;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice del catálogo de productos construido a medida que se recorre el inventario
+ * Cada captura de la jerarquía que pasa por el inventario (consultas de la página y cada gesto
+ * de scroll) se incorpora una sola vez: nombre, precio, posición de la tarjeta y del botón del carrito
+ * 
+ * Las consultas por nombre se resuelven en tiempo constante sobre el índice:
+ * - la presencia de un producto no depende de que esté en pantalla
+ * - las coordenadas del botón solo se usan si el producto figura en la captura vigente
+ * - el orden de la lista indica hacia dónde desplazarse para llegar a un producto
+ * 
+ * El índice se descarta cuando cambia la sesión de Appium o cuando la lista deja de coincidir
+ * con lo indexado (otro precio u otro orden para un producto conocido)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class InventoryIndex {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryIndex.class);
+    
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder MERGES = new LongAdder();
+    private static final LongAdder REBUILDS = new LongAdder();
+    
+    private final By listLocator;
+    private final By titleLocator;
+    private final By priceLocator;
+    private final By cartButtonLocator;
+    
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<String> order = new ArrayList<>();
+    private String sessionId;
+    private PageSnapshot lastSnapshot;
+    private List<ProductCard> lastCards = new ArrayList<>();
+    private boolean complete;
+    
+    /**
+     * Datos indexados de un producto
+     */
+    static final class Entry {
+        
+        private final String name;
+        private final String price;
+        private Rectangle bounds;
+        private Point cartButton;
+        private String cartButtonLabel;
+        private PageSnapshot seenIn;
+        
+        private Entry(String name, String price) {
+            this.name = name;
+            this.price = price;
+        }
+        
+        String getName() {
+            return name;
+        }
+        
+        Rectangle getBounds() {
+            return bounds;
+        }
+        
+        Point getCartButton() {
+            return cartButton;
+        }
+        
+        String getCartButtonLabel() {
+            return cartButtonLabel;
+        }
+    }
+    
+    /**
+     * Constructor del índice
+     * 
+     * @param listLocator Localizador de la lista de productos
+     * @param titleLocator Localizador del título dentro de una tarjeta
+     * @param priceLocator Localizador del precio dentro de una tarjeta
+     * @param cartButtonLocator Localizador del botón ADD TO CART / REMOVE dentro de una tarjeta
+     */
+    InventoryIndex(By listLocator, By titleLocator, By priceLocator, By cartButtonLocator) {
+        this.listLocator = listLocator;
+        this.titleLocator = titleLocator;
+        this.priceLocator = priceLocator;
+        this.cartButtonLocator = cartButtonLocator;
+    }
+    
+    /**
+     * Incorpora las tarjetas visibles de una captura, una sola vez por captura
+     * 
+     * @param snapshot Captura de la pantalla
+     * @return Tarjetas visibles en la captura, ordenadas como en la lista
+     */
+    List<ProductCard> merge(PageSnapshot snapshot) {
+        if (snapshot == lastSnapshot) {
+            return lastCards;
+        }
+        if (!snapshot.getSessionId().equals(sessionId)) {
+            reset();
+            sessionId = snapshot.getSessionId();
+        }
+        
+        List<ProductCard> cards = new ArrayList<>();
+        List<Entry> visible = new ArrayList<>();
+        for (SnapshotElement list : snapshot.findAll(listLocator)) {
+            for (SnapshotElement card : list.getChildren()) {
+                List<SnapshotElement> titles = card.findAll(titleLocator);
+                if (titles.isEmpty() || !titles.get(0).isDisplayed()) {
+                    continue;
+                }
+                String name = titles.get(0).getText();
+                List<SnapshotElement> prices = card.findAll(priceLocator);
+                String price = prices.isEmpty() ? "" : prices.get(0).getText();
+                Entry entry = new Entry(name, price);
+                entry.bounds = card.getRect();
+                entry.seenIn = snapshot;
+                List<SnapshotElement> buttons = card.findAll(cartButtonLocator);
+                if (!buttons.isEmpty() && buttons.get(0).isDisplayed()) {
+                    Rectangle button = buttons.get(0).getRect();
+                    entry.cartButton = new Point(button.getX() + button.getWidth() / 2,
+                            button.getY() + button.getHeight() / 2);
+                    entry.cartButtonLabel = buttons.get(0).getText();
+                }
+                visible.add(entry);
+            }
+        }
+        for (Entry entry : visible) {
+            Entry known = entries.get(entry.name);
+            if (known != null && !known.price.equals(entry.price) && !entry.price.isEmpty()) {
+                LOGGER.debug("El precio de '{}' cambió ({} -> {}), se reconstruye el índice", entry.name, known.price, entry.price);
+                reset();
+                sessionId = snapshot.getSessionId();
+                break;
+            }
+        }
+        for (Entry entry : visible) {
+            Entry known = entries.putIfAbsent(entry.name, entry);
+            if (known != null) {
+                known.bounds = entry.bounds;
+                known.cartButton = entry.cartButton;
+                known.cartButtonLabel = entry.cartButtonLabel;
+                known.seenIn = snapshot;
+            }
+        }
+        visible.sort(Comparator.comparingInt((Entry entry) -> entry.bounds.getY())
+                .thenComparingInt(entry -> entry.bounds.getX()));
+        for (Entry entry : visible) {
+            cards.add(new ProductCard(entry.name, entry.price, entry.bounds));
+        }
+        mergeOrder(visible);
+        
+        MERGES.increment();
+        lastSnapshot = snapshot;
+        lastCards = cards;
+        return cards;
+    }
+    
+    /**
+     * Busca un producto indexado
+     * 
+     * @param name Nombre del producto
+     * @return Datos del producto o null si no se ha visto
+     */
+    Entry find(String name) {
+        Entry entry = entries.get(name);
+        if (entry != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+        return entry;
+    }
+    
+    /**
+     * Indica si un producto indexado figura en la captura indicada, y por lo tanto sus coordenadas son vigentes
+     * 
+     * @param entry Producto indexado
+     * @param snapshot Captura vigente
+     * @return true si el producto se vio en esa captura
+     */
+    boolean isOnScreen(Entry entry, PageSnapshot snapshot) {
+        return entry.seenIn == snapshot;
+    }
+    
+    /**
+     * Posición relativa de un producto respecto de los visibles en la última captura
+     * 
+     * @param name Nombre del producto
+     * @return Negativo si está antes, positivo si está después, 0 si está entre los visibles o no se conoce
+     */
+    int relativePosition(String name) {
+        int position = order.indexOf(name);
+        if (position < 0 || lastCards.isEmpty()) {
+            return 0;
+        }
+        int first = order.indexOf(lastCards.get(0).getName());
+        int last = order.indexOf(lastCards.get(lastCards.size() - 1).getName());
+        if (position < first) {
+            return -1;
+        }
+        return position > last ? 1 : 0;
+    }
+    
+    /**
+     * Indica si se recorrió la lista completa
+     * 
+     * @return true si el índice contiene todo el catálogo
+     */
+    boolean isComplete() {
+        return complete;
+    }
+    
+    /**
+     * Marca la lista como recorrida por completo (una búsqueda llegó al final en ambas direcciones)
+     */
+    void markComplete() {
+        complete = true;
+        LOGGER.debug("Catálogo indexado por completo: {} producto(s)", order.size());
+    }
+    
+    /**
+     * Número de productos indexados
+     * 
+     * @return Productos conocidos
+     */
+    int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Orden conocido de la lista, del primer al último producto visto
+     * 
+     * @return Copia de los nombres en orden
+     */
+    List<String> getOrder() {
+        return new ArrayList<>(order);
+    }
+    
+    /**
+     * Incorpora el orden de los visibles, que forman un tramo contiguo de la lista
+     * Los productos nuevos se insertan junto a los ya conocidos del mismo tramo
+     */
+    private void mergeOrder(List<Entry> visible) {
+        List<String> pending = new ArrayList<>();
+        int anchor = -1;
+        for (Entry entry : visible) {
+            int position = order.indexOf(entry.name);
+            if (position < 0) {
+                if (anchor < 0) {
+                    pending.add(entry.name);
+                } else {
+                    order.add(++anchor, entry.name);
+                }
+                continue;
+            }
+            if (position <= anchor) {
+                LOGGER.debug("El orden de la lista cambió en '{}', se reconstruye el índice", entry.name);
+                rebuildOrder(visible);
+                return;
+            }
+            if (anchor < 0 && !pending.isEmpty()) {
+                order.addAll(position, pending);
+                position += pending.size();
+                pending.clear();
+            }
+            anchor = position;
+        }
+        if (!pending.isEmpty()) {
+            if (order.isEmpty()) {
+                order.addAll(pending);
+            } else {
+                // Tramo sin productos conocidos: no se puede ubicar respecto del orden anterior
+                LOGGER.debug("Tramo {} sin productos conocidos, se reinicia el orden de la lista", pending);
+                rebuildOrder(visible);
+            }
+        }
+    }
+    
+    private void rebuildOrder(List<Entry> visible) {
+        REBUILDS.increment();
+        order.clear();
+        complete = false;
+        for (Entry entry : visible) {
+            order.add(entry.name);
+        }
+    }
+    
+    private void reset() {
+        if (!entries.isEmpty()) {
+            REBUILDS.increment();
+        }
+        entries.clear();
+        order.clear();
+        complete = false;
+        lastSnapshot = null;
+        lastCards = new ArrayList<>();
+    }
+    
+    /**
+     * Métricas de los índices de inventario para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lookups", HITS.sum() + MISSES.sum());
+        stats.put("hits", HITS.sum());
+        stats.put("snapshotsMerged", MERGES.sum());
+        stats.put("rebuilds", REBUILDS.sum());
+        return stats;
+    }
+}
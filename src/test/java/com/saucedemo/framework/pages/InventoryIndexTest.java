@@ -0,0 +1,199 @@
+package com.saucedemo.framework.pages;
+
+import com.saucedemo.framework.snapshot.PageSnapshot;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Point;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del índice de inventario sobre capturas fijas del page source
+ * Cada captura simula una posición del scroll: la lista muestra un tramo contiguo del catálogo
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class InventoryIndexTest {
+    
+    private static final String ID = "com.saucelabs.mydemoapp.android:id/";
+    private static final String SESSION = "sesion-1";
+    private static final int CARD_HEIGHT = 600;
+    private static final int LIST_TOP = 400;
+    
+    private final InventoryIndex index = new InventoryIndex(
+            By.id(ID + "productRV"), By.id(ID + "titleTV"), By.id(ID + "priceTV"), By.id(ID + "cartBt"));
+    
+    @Test
+    void firstSnapshotDefinesTheOrder() {
+        index.merge(screen("A", "B", "C"));
+        
+        assertEquals(List.of("A", "B", "C"), index.getOrder());
+        assertEquals(3, index.size());
+    }
+    
+    @Test
+    void scrollingDownAppendsAfterTheLastKnownProduct() {
+        index.merge(screen("A", "B", "C"));
+        index.merge(screen("C", "D", "E"));
+        
+        assertEquals(List.of("A", "B", "C", "D", "E"), index.getOrder());
+    }
+    
+    @Test
+    void scrollingUpInsertsThePendingRunBeforeTheFirstAnchor() {
+        index.merge(screen("C", "D", "E"));
+        index.merge(screen("A", "B", "C"));
+        
+        assertEquals(List.of("A", "B", "C", "D", "E"), index.getOrder());
+    }
+    
+    @Test
+    void newProductsBetweenAnchorsKeepTheirPosition() {
+        index.merge(screen("A", "D"));
+        index.merge(screen("A", "B", "C", "D", "E"));
+        
+        assertEquals(List.of("A", "B", "C", "D", "E"), index.getOrder());
+    }
+    
+    @Test
+    void stretchWithoutKnownProductsRestartsTheOrderButKeepsEntries() {
+        index.merge(screen("A", "B"));
+        index.markComplete();
+        index.merge(screen("X", "Y"));
+        
+        assertEquals(List.of("X", "Y"), index.getOrder());
+        assertFalse(index.isComplete());
+        assertNotNull(index.find("A"));
+        assertEquals(0, index.relativePosition("A"));
+    }
+    
+    @Test
+    void orderChangeForAKnownProductRebuildsTheOrder() {
+        index.merge(screen("A", "B", "C"));
+        index.merge(screen("C", "A"));
+        
+        assertEquals(List.of("C", "A"), index.getOrder());
+    }
+    
+    @Test
+    void relativePositionPointsTowardsTheProduct() {
+        index.merge(screen("A", "B", "C"));
+        index.merge(screen("C", "D", "E"));
+        
+        assertEquals(-1, index.relativePosition("A"));
+        assertEquals(0, index.relativePosition("D"));
+        assertEquals(0, index.relativePosition("desconocido"));
+        
+        index.merge(screen("A", "B", "C"));
+        assertEquals(1, index.relativePosition("E"));
+    }
+    
+    @Test
+    void cardsAreReturnedInVisualOrder() {
+        // En el XML la columna derecha aparece antes que la izquierda
+        PageSnapshot snapshot = snapshot(SESSION, card("B", "$2", 540, LIST_TOP), card("A", "$1", 0, LIST_TOP),
+                card("C", "$3", 0, LIST_TOP + CARD_HEIGHT));
+        
+        List<ProductCard> cards = index.merge(snapshot);
+        
+        assertEquals(List.of("A", "B", "C"), cards.stream().map(ProductCard::getName).collect(Collectors.toList()));
+        assertEquals(List.of("A", "B", "C"), index.getOrder());
+    }
+    
+    @Test
+    void sameSnapshotIsMergedOnce() {
+        PageSnapshot snapshot = screen("A", "B");
+        long merges = (long) InventoryIndex.getStats().get("snapshotsMerged");
+        
+        List<ProductCard> first = index.merge(snapshot);
+        List<ProductCard> second = index.merge(snapshot);
+        
+        assertSame(first, second);
+        assertEquals(merges + 1, (long) InventoryIndex.getStats().get("snapshotsMerged"));
+    }
+    
+    @Test
+    void entriesKeepTheCoordinatesOfTheLatestSnapshot() {
+        index.merge(screen("A", "B", "C"));
+        PageSnapshot scrolled = screen("C", "D");
+        index.merge(scrolled);
+        
+        InventoryIndex.Entry c = index.find("C");
+        assertTrue(index.isOnScreen(c, scrolled));
+        assertFalse(index.isOnScreen(index.find("A"), scrolled));
+        assertEquals(LIST_TOP, c.getBounds().getY());
+        assertEquals(new Point(270, LIST_TOP + 550), c.getCartButton());
+        assertEquals("ADD TO CART", c.getCartButtonLabel());
+    }
+    
+    @Test
+    void priceChangeDiscardsTheIndex() {
+        index.merge(screen("A", "B"));
+        index.merge(snapshot(SESSION, card("A", "$99", 0, LIST_TOP)));
+        
+        assertEquals(1, index.size());
+        assertNull(index.find("B"));
+        assertEquals(List.of("A"), index.getOrder());
+    }
+    
+    @Test
+    void newSessionDiscardsTheIndex() {
+        index.merge(screen("A", "B"));
+        index.merge(snapshot("sesion-2", card("C", "$3", 0, LIST_TOP)));
+        
+        assertNull(index.find("A"));
+        assertEquals(List.of("C"), index.getOrder());
+    }
+    
+    @Test
+    void cardsWithHiddenTitleAreIgnored() {
+        String hidden = card("A", "$1", 0, LIST_TOP).replace("displayed=\"true\" text=\"A\"", "displayed=\"false\" text=\"A\"");
+        index.merge(snapshot(SESSION, hidden, card("B", "$2", 0, LIST_TOP + CARD_HEIGHT)));
+        
+        assertNull(index.find("A"));
+        assertEquals(List.of("B"), index.getOrder());
+    }
+    
+    /**
+     * Captura con una tarjeta por fila, en el orden indicado
+     */
+    private static PageSnapshot screen(String... names) {
+        String[] cards = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            cards[i] = card(names[i], "$" + (names[i].charAt(0) - 'A' + 1), 0, LIST_TOP + i * CARD_HEIGHT);
+        }
+        return snapshot(SESSION, cards);
+    }
+    
+    private static PageSnapshot snapshot(String session, String... cards) {
+        String source = "<?xml version='1.0' encoding='UTF-8' standalone='yes' ?><hierarchy rotation=\"0\">"
+                + "<androidx.recyclerview.widget.RecyclerView resource-id=\"" + ID + "productRV\" bounds=\"[0,"
+                + LIST_TOP + "][1080,2400]\" displayed=\"true\">"
+                + String.join("", cards)
+                + "</androidx.recyclerview.widget.RecyclerView></hierarchy>";
+        return PageSnapshot.parse(source, 0, session);
+    }
+    
+    private static String card(String name, String price, int left, int top) {
+        int right = left + 540;
+        return "<android.view.ViewGroup resource-id=\"\" bounds=\"[" + left + "," + top + "][" + right + "," + (top + CARD_HEIGHT) + "]\" displayed=\"true\">"
+                + node("titleTV", name, left + 10, top + 400, right - 10, top + 460)
+                + node("priceTV", price, left + 10, top + 460, right - 10, top + 500)
+                + node("cartBt", "ADD TO CART", left + 10, top + 500, right - 10, top + 600)
+                + "</android.view.ViewGroup>";
+    }
+    
+    private static String node(String id, String text, int left, int top, int right, int bottom) {
+        return "<android.widget.TextView resource-id=\"" + ID + id + "\" displayed=\"true\" text=\"" + text
+                + "\" bounds=\"[" + left + "," + top + "][" + right + "," + bottom + "]\"/>";
+    }
+}
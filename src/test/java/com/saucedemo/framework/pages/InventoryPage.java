@@ -1,39 +1,61 @@
 package com.saucedemo.framework.pages;
 
-import net.serenitybdd.core.annotations.findby.FindBy;
-import net.serenitybdd.core.pages.WebElementFacade;
+import com.saucedemo.framework.cart.CartCheckpoint;
+import com.saucedemo.framework.cart.CartModel;
+import com.saucedemo.framework.gestures.GestureEngine;
+import com.saucedemo.framework.locators.ElementSpec;
+import com.saucedemo.framework.locators.LogicalLocator;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.snapshot.PageSnapshot;
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Página del Inventario de Productos de la aplicación Sauce Demo
  * Contiene todos los elementos y métodos relacionados con la gestión de productos
  * 
+ * Los productos vistos al consultar o desplazarse por la lista se guardan en un {@link InventoryIndex},
+ * de modo que las búsquedas por nombre no vuelven a recorrer la pantalla
+ * 
  * @author Framework Team
  * @version 1.0
  */
 public class InventoryPage extends BasePage {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(InventoryPage.class);
-    
-    // Localizadores de elementos principales
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/productIV")
-    private WebElementFacade productImage;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/cartBt")
-    private WebElementFacade addToCartButton;
+    private static final Logger LOGGER = ScenarioLog.getLogger(InventoryPage.class);
     
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/cartIV")
-    private WebElementFacade cartIcon;
-    
-    // Localizadores usando By
+    // Localizadores de elementos
     private static final By PRODUCT_IMAGE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/productIV");
     private static final By ADD_TO_CART_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/cartBt");
     private static final By CART_ICON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/cartIV");
-    private static final By PRODUCT_ITEMS_LOCATOR = By.xpath("//android.view.ViewGroup[contains(@bounds, '[52,989][519,1838]')]");
+    private static final By PRODUCT_LIST_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/productRV");
+    private static final By PRODUCT_TITLE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/titleTV");
+    private static final By PRODUCT_PRICE_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/priceTV");
+    
+    // Elementos requeridos para considerar la página cargada
+    private static final List<By> REQUIRED_LOCATORS = Arrays.asList(PRODUCT_IMAGE_LOCATOR, CART_ICON_LOCATOR);
+    
+    // Localizadores lógicos parametrizados por nombre de producto
+    private static final String TEXT_VIEW_CLASS = "android.widget.TextView";
+    private static final ElementSpec PRODUCT_TITLE = ElementSpec.ofClass(TEXT_VIEW_CLASS).text("%s");
+    private static final LogicalLocator PRODUCT_TITLE_BY_NAME = LogicalLocator.of("título del producto", PRODUCT_TITLE);
+    private static final LogicalLocator ADD_TO_CART_BY_PRODUCT = LogicalLocator
+            .of("botón ADD TO CART", ElementSpec.ofClass(TEXT_VIEW_CLASS).text("ADD TO CART"))
+            .siblingOf(PRODUCT_TITLE);
+    private static final LogicalLocator REMOVE_BY_PRODUCT = LogicalLocator
+            .of("botón REMOVE", ElementSpec.ofClass(TEXT_VIEW_CLASS).text("REMOVE"))
+            .siblingOf(PRODUCT_TITLE);
+    private static final String ADD_TO_CART_LABEL = "ADD TO CART";
+    private static final String REMOVE_LABEL = "REMOVE";
+    
+    // Índice del catálogo recorrido por esta página
+    private final InventoryIndex index = new InventoryIndex(
+            PRODUCT_LIST_LOCATOR, PRODUCT_TITLE_LOCATOR, PRODUCT_PRICE_LOCATOR, ADD_TO_CART_BUTTON_LOCATOR);
     
     /**
      * Constructor de la página del inventario
@@ -49,13 +71,12 @@ public class InventoryPage extends BasePage {
      */
     @Override
     public boolean isPageLoaded() {
-        try {
-            return isElementCurrentlyVisible(PRODUCT_IMAGE_LOCATOR) && 
-                   isElementCurrentlyVisible(CART_ICON_LOCATOR);
-        } catch (Exception e) {
-            LOGGER.error("Error al verificar si la página del inventario está cargada: {}", e.getMessage());
-            return false;
-        }
+        return areRequiredElementsVisible();
+    }
+    
+    @Override
+    protected List<By> getRequiredLocators() {
+        return REQUIRED_LOCATORS;
     }
     
     /**
@@ -82,6 +103,19 @@ public class InventoryPage extends BasePage {
         clickElement(CART_ICON_LOCATOR);
     }
     
+    /**
+     * Obtiene las tarjetas de producto visibles en una sola pasada sobre la captura de la pantalla
+     * Cada tarjeta es un hijo directo de la lista de productos que contiene un título
+     * 
+     * @return Tarjetas visibles con nombre, precio y posición
+     */
+    public List<ProductCard> getProductCards() {
+        LOGGER.debug("Obteniendo tarjetas de productos visibles");
+        List<ProductCard> cards = index.merge(snapshot());
+        LOGGER.debug("Productos visibles: {}", cards);
+        return cards;
+    }
+    
     /**
      * Obtiene la lista de nombres de productos
      * 
@@ -89,21 +123,29 @@ public class InventoryPage extends BasePage {
      */
     public List<String> getProductNames() {
         LOGGER.debug("Obteniendo lista de nombres de productos");
-        return findAll(PRODUCT_ITEMS_LOCATOR)
+        return getProductCards()
                 .stream()
-                .map(WebElementFacade::getText)
-                .collect(java.util.stream.Collectors.toList());
+                .map(ProductCard::getName)
+                .collect(Collectors.toList());
     }
     
     /**
-     * Busca un producto específico por nombre
+     * Busca un producto específico por nombre en todo el catálogo
+     * Si el producto no está indexado, recorre la lista una sola vez; las consultas siguientes usan el índice
+     * Fuera del inventario el producto no está presente: no se consulta el índice ni se hacen gestos
      * 
      * @param productName Nombre del producto a buscar
      * @return true si el producto está presente
      */
     public boolean isProductPresent(String productName) {
-        List<String> productNames = getProductNames();
-        boolean isPresent = productNames.contains(productName);
+        PageSnapshot current = snapshot();
+        if (current.findAll(PRODUCT_LIST_LOCATOR).isEmpty()) {
+            LOGGER.debug("La lista de productos no está en pantalla, '{}' no está presente", productName);
+            return false;
+        }
+        index.merge(current);
+        boolean isPresent = index.find(productName) != null
+                || (!index.isComplete() && searchProduct(productName, PRODUCT_TITLE_BY_NAME.resolve(productName)));
         LOGGER.debug("Buscando producto '{}'. Presente: {}", productName, isPresent);
         return isPresent;
     }
@@ -115,10 +157,8 @@ public class InventoryPage extends BasePage {
      */
     public void addProductToCart(String productName) {
         LOGGER.info("Agregando producto al carrito: {}", productName);
-        By addToCartButtonLocator = By.xpath(String.format(
-            "//android.widget.TextView[@text='%s']/following-sibling::android.widget.TextView[@text='ADD TO CART']", 
-            productName));
-        clickElement(addToCartButtonLocator);
+        tapCartButton(productName, ADD_TO_CART_LABEL, ADD_TO_CART_BY_PRODUCT.resolve(productName));
+        CartModel.added(productName);
     }
     
     /**
@@ -128,10 +168,31 @@ public class InventoryPage extends BasePage {
      */
     public void removeProductFromCart(String productName) {
         LOGGER.info("Removiendo producto del carrito: {}", productName);
-        By removeButtonLocator = By.xpath(String.format(
-            "//android.widget.TextView[@text='%s']/following-sibling::android.widget.TextView[@text='REMOVE']", 
-            productName));
-        clickElement(removeButtonLocator);
+        tapCartButton(productName, REMOVE_LABEL, REMOVE_BY_PRODUCT.resolve(productName));
+        CartModel.removed(productName);
+    }
+    
+    /**
+     * Toca el botón del carrito de un producto con las coordenadas de la captura vigente
+     * Si el botón no está en pantalla, primero desplaza la lista hasta él; si aun así no aparece
+     * o muestra otra acción, usa el localizador
+     */
+    private void tapCartButton(String productName, String label, By button) {
+        PageSnapshot current = snapshot();
+        index.merge(current);
+        InventoryIndex.Entry entry = index.find(productName);
+        if (entry == null || !index.isOnScreen(entry, current) || entry.getCartButton() == null) {
+            searchProduct(productName, button);
+            current = snapshot();
+            index.merge(current);
+            entry = index.find(productName);
+        }
+        if (entry != null && index.isOnScreen(entry, current) && label.equals(entry.getCartButtonLabel())) {
+            LOGGER.debug("Tocando '{}' de '{}' en {}", label, productName, entry.getCartButton());
+            GestureEngine.tap(getAppiumDriver(), entry.getCartButton());
+            return;
+        }
+        clickElement(button);
     }
     
     /**
@@ -141,10 +202,7 @@ public class InventoryPage extends BasePage {
      * @return true si el producto está en el carrito
      */
     public boolean isProductInCart(String productName) {
-        By removeButtonLocator = By.xpath(String.format(
-            "//android.widget.TextView[@text='%s']/following-sibling::android.widget.TextView[@text='REMOVE']", 
-            productName));
-        return isElementVisible(removeButtonLocator);
+        return isElementVisible(REMOVE_BY_PRODUCT.resolve(productName));
     }
     
     /**
@@ -154,10 +212,7 @@ public class InventoryPage extends BasePage {
      * @return true si el producto puede ser agregado
      */
     public boolean canAddProductToCart(String productName) {
-        By addToCartButtonLocator = By.xpath(String.format(
-            "//android.widget.TextView[@text='%s']/following-sibling::android.widget.TextView[@text='ADD TO CART']", 
-            productName));
-        return isElementVisible(addToCartButtonLocator);
+        return isElementVisible(ADD_TO_CART_BY_PRODUCT.resolve(productName));
     }
     
     /**
@@ -166,28 +221,64 @@ public class InventoryPage extends BasePage {
      * @return Número de productos
      */
     public int getTotalProductsCount() {
-        List<String> productNames = getProductNames();
-        return productNames.size();
+        return getProductCards().size();
     }
     
     /**
-     * Obtiene el número de productos en el carrito
+     * Obtiene el número de productos en el carrito según el contador del encabezado
      * 
      * @return Número de productos en el carrito
      */
     public int getCartItemsCount() {
-        // Por ahora retornamos 0 ya que no tenemos badge visible
-        return 0;
+        Integer badge = readCartBadge(snapshot());
+        return badge == null ? 0 : badge;
+    }
+    
+    /**
+     * Punto de control del carrito: compara el contador del encabezado con el carrito esperado
+     * 
+     * @return Resultado de la comparación
+     */
+    public CartCheckpoint verifyCart() {
+        CartCheckpoint checkpoint = CartModel.checkpoint("Inventario", readCartBadge(snapshot()), null);
+        LOGGER.debug("Verificación del carrito: {}", checkpoint);
+        return checkpoint;
     }
     
     /**
      * Hace scroll hacia un producto específico
      * 
      * @param productName Nombre del producto
+     * @throws NoSuchElementException si el producto no está en la lista
      */
     public void scrollToProduct(String productName) {
-        By productLocator = By.xpath(String.format("//android.widget.TextView[@text='%s']", productName));
-        scrollToElement(productLocator);
+        LOGGER.debug("Haciendo scroll hacia el producto: {}", productName);
+        if (!searchProduct(productName, PRODUCT_TITLE_BY_NAME.resolve(productName))) {
+            throw new NoSuchElementException("No se encontró el producto al hacer scroll: " + productName);
+        }
+    }
+    
+    /**
+     * Desplaza la lista hasta que un elemento del producto esté completamente visible, indexando cada captura
+     * Empieza en la dirección que indica el orden conocido de la lista; si llega al final en ambas
+     * direcciones sin haber visto el producto, el catálogo queda indexado por completo
+     * 
+     * @param productName Nombre del producto
+     * @param target Elemento de la tarjeta que debe quedar visible (título o botón)
+     * @return true si el elemento quedó visible
+     */
+    private boolean searchProduct(String productName, By target) {
+        GestureEngine.Direction first = index.relativePosition(productName) < 0
+                ? GestureEngine.Direction.UP : GestureEngine.Direction.DOWN;
+        GestureEngine.Direction second = first == GestureEngine.Direction.UP
+                ? GestureEngine.Direction.DOWN : GestureEngine.Direction.UP;
+        boolean found = GestureEngine.scrollUntilFound(getAppiumDriver(), target, PRODUCT_LIST_LOCATOR, first, index::merge)
+                || GestureEngine.scrollUntilFound(getAppiumDriver(), target, PRODUCT_LIST_LOCATOR, second, index::merge);
+        // Solo un recorrido sobre la lista de productos prueba que el catálogo está completo
+        if (!found && index.find(productName) == null && !snapshot().findAll(PRODUCT_LIST_LOCATOR).isEmpty()) {
+            index.markComplete();
+        }
+        return found;
     }
     
     /**
@@ -206,15 +297,6 @@ public class InventoryPage extends BasePage {
         scrollUp();
     }
     
-    /**
-     * Espera hasta que la página del inventario esté completamente cargada
-     */
-    public void waitForPageToLoad() {
-        LOGGER.debug("Esperando que la página del inventario se cargue completamente");
-        waitForElementVisible(PRODUCT_IMAGE_LOCATOR);
-        waitForElementVisible(CART_ICON_LOCATOR);
-    }
-    
     /**
      * Verifica si hay productos disponibles
      * 
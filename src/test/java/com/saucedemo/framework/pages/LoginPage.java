@@ -1,10 +1,11 @@
 package com.saucedemo.framework.pages;
 
-import net.serenitybdd.core.annotations.findby.FindBy;
-import net.serenitybdd.core.pages.WebElementFacade;
+import com.saucedemo.framework.logging.ScenarioLog;
 import org.openqa.selenium.By;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Página de Login de la aplicación Sauce Demo
@@ -15,28 +16,9 @@ import org.slf4j.LoggerFactory;
  */
 public class LoginPage extends BasePage {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(LoginPage.class);
-    
-    // Localizadores de elementos usando @FindBy
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/nameET")
-    private WebElementFacade usernameField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/passwordET")
-    private WebElementFacade passwordField;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/loginBtn")
-    private WebElementFacade loginButton;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/errorTV")
-    private WebElementFacade errorMessage;
+    private static final Logger LOGGER = ScenarioLog.getLogger(LoginPage.class);
     
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/menuIV")
-    private WebElementFacade menuButton;
-    
-    @FindBy(id = "com.saucelabs.mydemoapp.android:id/itemTV")
-    private WebElementFacade menuItem;
-    
-    // Localizadores adicionales usando By
+    // Localizadores de elementos
     private static final By USERNAME_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/nameET");
     private static final By PASSWORD_FIELD_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/passwordET");
     private static final By LOGIN_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/loginBtn");
@@ -44,6 +26,10 @@ public class LoginPage extends BasePage {
     private static final By MENU_BUTTON_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/menuIV");
     private static final By MENU_ITEM_LOCATOR = By.id("com.saucelabs.mydemoapp.android:id/itemTV");
     
+    // Elementos requeridos para considerar la página cargada
+    private static final List<By> REQUIRED_LOCATORS = Arrays.asList(
+            USERNAME_FIELD_LOCATOR, PASSWORD_FIELD_LOCATOR, LOGIN_BUTTON_LOCATOR);
+    
     /**
      * Constructor de la página de login
      */
@@ -58,14 +44,12 @@ public class LoginPage extends BasePage {
      */
     @Override
     public boolean isPageLoaded() {
-        try {
-            return isElementCurrentlyVisible(USERNAME_FIELD_LOCATOR) && 
-                   isElementCurrentlyVisible(PASSWORD_FIELD_LOCATOR) && 
-                   isElementCurrentlyVisible(LOGIN_BUTTON_LOCATOR);
-        } catch (Exception e) {
-            LOGGER.error("Error al verificar si la página de login está cargada: {}", e.getMessage());
-            return false;
-        }
+        return areRequiredElementsVisible();
+    }
+    
+    @Override
+    protected List<By> getRequiredLocators() {
+        return REQUIRED_LOCATORS;
     }
     
     /**
@@ -85,7 +69,7 @@ public class LoginPage extends BasePage {
      */
     public void enterPassword(String password) {
         LOGGER.info("Ingresando contraseña");
-        typeText(PASSWORD_FIELD_LOCATOR, password);
+        typeSecret(PASSWORD_FIELD_LOCATOR, password);
     }
     
     /**
@@ -114,7 +98,7 @@ public class LoginPage extends BasePage {
      */
     public void clearUsernameField() {
         LOGGER.debug("Limpiando campo de nombre de usuario");
-        waitForElementVisible(USERNAME_FIELD_LOCATOR).clear();
+        clearText(USERNAME_FIELD_LOCATOR);
     }
     
     /**
@@ -122,7 +106,7 @@ public class LoginPage extends BasePage {
      */
     public void clearPasswordField() {
         LOGGER.debug("Limpiando campo de contraseña");
-        waitForElementVisible(PASSWORD_FIELD_LOCATOR).clear();
+        clearText(PASSWORD_FIELD_LOCATOR);
     }
     
     /**
@@ -221,13 +205,4 @@ public class LoginPage extends BasePage {
         return usernameText.isEmpty() && passwordText.isEmpty();
     }
     
-    /**
-     * Espera hasta que la página de login esté completamente cargada
-     */
-    public void waitForPageToLoad() {
-        LOGGER.debug("Esperando que la página de login se cargue completamente");
-        waitForElementVisible(USERNAME_FIELD_LOCATOR);
-        waitForElementVisible(PASSWORD_FIELD_LOCATOR);
-        waitForElementVisible(LOGIN_BUTTON_LOCATOR);
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.saucedemo.framework.pages;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro de páginas del escenario en ejecución
+ * Cada página se construye la primera vez que se usa y se comparte entre las clases de steps,
+ * los hooks y los fixtures del mismo escenario, de modo que la construcción de la página
+ * (y la inicialización de Serenity asociada) solo se paga por las páginas que el escenario usa
+ * 
+ * Las páginas quedan ligadas a la sesión de Appium con la que se construyeron:
+ * - si la sesión del hilo cambia, las páginas se descartan y se construyen de nuevo sobre la nueva
+ * - al terminar el escenario se descartan con {@link #clear()}
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class PageRegistry {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageRegistry.class);
+    
+    private static final ThreadLocal<Scope> SCOPE = ThreadLocal.withInitial(Scope::new);
+    
+    private static final LongAdder CREATED = new LongAdder();
+    private static final LongAdder REUSED = new LongAdder();
+    private static final LongAdder CONSTRUCTION_NANOS = new LongAdder();
+    
+    private PageRegistry() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Páginas construidas en el escenario actual de un hilo
+     */
+    private static final class Scope {
+        
+        private final Map<Class<?>, BasePage> pages = new HashMap<>();
+        private String sessionId;
+    }
+    
+    /**
+     * Obtiene la página del escenario actual, construyéndola si es la primera vez que se usa
+     * 
+     * @param type Clase de la página
+     * @param <T> Tipo de la página
+     * @return Instancia compartida de la página
+     */
+    public static <T extends BasePage> T get(Class<T> type) {
+        Scope scope = SCOPE.get();
+        String sessionId = String.valueOf(AppiumDriverManager.getDriver().getSessionId());
+        if (!sessionId.equals(scope.sessionId)) {
+            if (!scope.pages.isEmpty()) {
+                LOGGER.debug("Cambió la sesión de Appium, se descartan {} página(s)", scope.pages.size());
+            }
+            scope.pages.clear();
+            scope.sessionId = sessionId;
+        }
+        
+        BasePage page = scope.pages.get(type);
+        if (page != null) {
+            REUSED.increment();
+            return type.cast(page);
+        }
+        
+        long start = System.nanoTime();
+        T created = instantiate(type);
+        long elapsed = System.nanoTime() - start;
+        CONSTRUCTION_NANOS.add(elapsed);
+        CREATED.increment();
+        scope.pages.put(type, created);
+        LOGGER.debug("Página {} construida en {} ms", type.getSimpleName(), elapsed / 1_000_000L);
+        return created;
+    }
+    
+    private static <T extends BasePage> T instantiate(Class<T> type) {
+        try {
+            return type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("No se pudo construir la página " + type.getSimpleName(), cause);
+        }
+    }
+    
+    /**
+     * Descarta las páginas del hilo actual (al iniciar y al terminar cada escenario)
+     */
+    public static void clear() {
+        SCOPE.remove();
+    }
+    
+    /**
+     * Métricas del registro para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pagesCreated", CREATED.sum());
+        stats.put("pagesReused", REUSED.sum());
+        stats.put("constructionMs", CONSTRUCTION_NANOS.sum() / 1_000_000L);
+        return stats;
+    }
+}
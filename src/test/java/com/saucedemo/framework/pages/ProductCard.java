@@ -0,0 +1,47 @@
+package com.saucedemo.framework.pages;
+
+import org.openqa.selenium.Rectangle;
+
+/**
+ * Tarjeta de producto visible en el inventario
+ * Se construye localmente a partir de la captura de la pantalla, sin consultas adicionales al servidor
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ProductCard {
+    
+    private final String name;
+    private final String price;
+    private final Rectangle bounds;
+    
+    /**
+     * Constructor de la tarjeta de producto
+     * 
+     * @param name Nombre del producto
+     * @param price Precio mostrado, vacío si no está en pantalla
+     * @param bounds Rectángulo de la tarjeta en pantalla
+     */
+    public ProductCard(String name, String price, Rectangle bounds) {
+        this.name = name;
+        this.price = price == null ? "" : price;
+        this.bounds = bounds;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getPrice() {
+        return price;
+    }
+    
+    public Rectangle getBounds() {
+        return bounds;
+    }
+    
+    @Override
+    public String toString() {
+        return name + " (" + price + ")";
+    }
+}
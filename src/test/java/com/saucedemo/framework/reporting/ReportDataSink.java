@@ -0,0 +1,281 @@
+package com.saucedemo.framework.reporting;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.serenitybdd.core.Serenity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sink con buffer para los datos de reporte de los steps y hooks
+ * Reemplaza las llamadas directas a Serenity.recordReportData(): cada entrada se guarda con su título,
+ * su nivel y un Supplier del contenido, que solo se evalúa si el nivel está habilitado
+ * 
+ * Cada hilo acumula sus entradas en un buffer propio (sin locks compartidos entre workers paralelos):
+ * - sink serenity: el buffer se adjunta al reporte de Serenity al terminar el paso, desde el hilo del test
+ *   como exige Serenity, de modo que los datos quedan asociados al paso que los generó
+ * - sink file: el buffer se entrega a un hilo en segundo plano que evalúa el contenido y lo escribe
+ *   como JSON Lines en report.data.dir, un archivo por escenario
+ * 
+ * Los Suppliers pueden evaluarse después del paso: deben capturar valores ya calculados y no consultar la app
+ * 
+ * Configuración:
+ * - report.data.level: off, summary (solo hooks) o detail (por defecto, hooks y steps)
+ * - report.data.sink: serenity (por defecto), file o both
+ * - report.data.dir: directorio del sink file (por defecto target/report-data)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ReportDataSink {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportDataSink.class);
+    
+    /**
+     * Nivel de detalle de una entrada
+     */
+    public enum Level {
+        /** Información del escenario registrada por los hooks */
+        SUMMARY,
+        /** Información de cada paso */
+        DETAIL
+    }
+    
+    private static final String LEVEL = System.getProperty("report.data.level", "detail");
+    private static final String SINK = System.getProperty("report.data.sink", "serenity");
+    private static final Path OUTPUT = Paths.get(System.getProperty("report.data.dir", "target/report-data"));
+    
+    private static final boolean TO_SERENITY = "serenity".equalsIgnoreCase(SINK) || "both".equalsIgnoreCase(SINK);
+    private static final boolean TO_FILE = "file".equalsIgnoreCase(SINK) || "both".equalsIgnoreCase(SINK);
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final ThreadLocal<List<Entry>> BUFFER = ThreadLocal.withInitial(ArrayList::new);
+    private static final ThreadLocal<String> SCENARIO = new ThreadLocal<>();
+    
+    // Un único escritor conserva el orden de las entradas de cada escenario
+    private static final ExecutorService WRITER = TO_FILE ? Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "report-data-writer");
+        thread.setDaemon(true);
+        return thread;
+    }) : null;
+    
+    private static final LongAdder RECORDED = new LongAdder();
+    private static final LongAdder SKIPPED = new LongAdder();
+    private static final LongAdder ATTACHED = new LongAdder();
+    private static final LongAdder WRITTEN = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+    private static final LongAdder FLUSH_NANOS = new LongAdder();
+    
+    static {
+        if (WRITER != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> drain(30_000), "report-data-shutdown"));
+        }
+    }
+    
+    private ReportDataSink() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Entrada pendiente del buffer
+     */
+    private static final class Entry {
+        
+        private final Level level;
+        private final String title;
+        private final Supplier<String> content;
+        private final long timestamp = System.currentTimeMillis();
+        
+        private Entry(Level level, String title, Supplier<String> content) {
+            this.level = level;
+            this.title = title;
+            this.content = content;
+        }
+    }
+    
+    /**
+     * Indica si se registran las entradas de un nivel
+     * 
+     * @param level Nivel de la entrada
+     * @return true si report.data.level lo incluye
+     */
+    public static boolean isEnabled(Level level) {
+        if ("off".equalsIgnoreCase(LEVEL)) {
+            return false;
+        }
+        return level == Level.SUMMARY || "detail".equalsIgnoreCase(LEVEL);
+    }
+    
+    /**
+     * Registra una entrada de nivel SUMMARY
+     * 
+     * @param title Título de la entrada
+     * @param content Contenido, evaluado solo si el nivel está habilitado
+     */
+    public static void summary(String title, Supplier<String> content) {
+        record(Level.SUMMARY, title, content);
+    }
+    
+    /**
+     * Registra una entrada de nivel DETAIL
+     * 
+     * @param title Título de la entrada
+     * @param content Contenido, evaluado solo si el nivel está habilitado
+     */
+    public static void detail(String title, Supplier<String> content) {
+        record(Level.DETAIL, title, content);
+    }
+    
+    /**
+     * Agrega una entrada al buffer del hilo actual
+     * 
+     * @param level Nivel de la entrada
+     * @param title Título de la entrada
+     * @param content Contenido, evaluado solo si el nivel está habilitado
+     */
+    public static void record(Level level, String title, Supplier<String> content) {
+        if (!isEnabled(level)) {
+            SKIPPED.increment();
+            return;
+        }
+        RECORDED.increment();
+        BUFFER.get().add(new Entry(level, title, content));
+    }
+    
+    /**
+     * Asocia las entradas siguientes del hilo actual a un escenario
+     * 
+     * @param scenario Nombre del escenario
+     */
+    public static void beginScenario(String scenario) {
+        BUFFER.get().clear();
+        SCENARIO.set(scenario);
+    }
+    
+    /**
+     * Vacía el buffer del hilo actual hacia los sinks configurados
+     * Se invoca al terminar cada paso y al terminar el escenario
+     */
+    public static void flush() {
+        List<Entry> entries = BUFFER.get();
+        if (entries.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Entry> batch = new ArrayList<>(entries);
+        entries.clear();
+        
+        if (TO_SERENITY) {
+            for (Entry entry : batch) {
+                try {
+                    Serenity.recordReportData().withTitle(entry.title).andContents(entry.content.get());
+                    ATTACHED.increment();
+                } catch (RuntimeException e) {
+                    FAILED.increment();
+                    LOGGER.debug("No se pudo adjuntar '{}' al reporte: {}", entry.title, e.getMessage());
+                }
+            }
+        }
+        if (TO_FILE) {
+            String scenario = SCENARIO.get() != null ? SCENARIO.get() : "sin-escenario";
+            String thread = Thread.currentThread().getName();
+            try {
+                WRITER.execute(() -> write(scenario, thread, batch));
+            } catch (RejectedExecutionException e) {
+                FAILED.add(batch.size());
+            }
+        }
+        FLUSH_NANOS.add(System.nanoTime() - start);
+    }
+    
+    /**
+     * Vacía el buffer y termina el escenario del hilo actual
+     */
+    public static void finishScenario() {
+        flush();
+        SCENARIO.remove();
+    }
+    
+    /**
+     * Escribe un lote de entradas en el archivo del escenario (hilo en segundo plano)
+     */
+    private static void write(String scenario, String thread, List<Entry> batch) {
+        Path target = OUTPUT.resolve(ReportFiles.sanitize(scenario) + ".jsonl");
+        try {
+            Files.createDirectories(OUTPUT);
+            try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Entry entry : batch) {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("timestamp", entry.timestamp);
+                    line.put("scenario", scenario);
+                    line.put("thread", thread);
+                    line.put("level", entry.level.name());
+                    line.put("title", entry.title);
+                    line.put("contents", entry.content.get());
+                    writer.write(MAPPER.writeValueAsString(line));
+                    writer.newLine();
+                    WRITTEN.increment();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            FAILED.increment();
+            LOGGER.warn("No se pudieron escribir los datos de reporte en {}: {}", target, e.getMessage());
+        }
+    }
+    
+    /**
+     * Espera a que el escritor en segundo plano procese los lotes pendientes
+     * 
+     * @param timeoutMs Espera máxima en milisegundos
+     */
+    public static void drain(long timeoutMs) {
+        if (WRITER == null) {
+            return;
+        }
+        WRITER.shutdown();
+        try {
+            if (!WRITER.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Quedaron datos de reporte sin escribir en {}", OUTPUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Métricas del sink para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("level", LEVEL);
+        stats.put("sink", SINK);
+        stats.put("recorded", RECORDED.sum());
+        stats.put("skippedByLevel", SKIPPED.sum());
+        stats.put("attached", ATTACHED.sum());
+        stats.put("written", WRITTEN.sum());
+        stats.put("failed", FAILED.sum());
+        stats.put("testThreadFlushMs", FLUSH_NANOS.sum() / 1_000_000);
+        return stats;
+    }
+}
@@ -0,0 +1,34 @@
+package com.saucedemo.framework.reporting;
+
+import java.text.Normalizer;
+
+/**
+ * Utilidades para nombrar los archivos de reporte generados por escenario
+ * (capturas de pantalla, datos de reporte y logs del escenario)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ReportFiles {
+    
+    private static final int MAX_LENGTH = 80;
+    
+    private ReportFiles() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Convierte un texto libre (nombre de escenario o etiqueta) en un nombre de archivo seguro
+     * Los acentos se eliminan ("Selección" -> "Seleccion") y se conservan solo letras y números ASCII,
+     * punto, guion y guion bajo; el resto se reemplaza por '_'. Así el nombre es válido con cualquier
+     * codificación del sistema de archivos (por ejemplo con el locale C/POSIX de los contenedores de CI)
+     * 
+     * @param value Texto original, puede ser null
+     * @return Nombre de hasta 80 caracteres, o "sin-nombre" si no queda ningún carácter válido
+     */
+    public static String sanitize(String value) {
+        String ascii = value == null ? "" : Normalizer.normalize(value, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        String cleaned = ascii.replaceAll("[^A-Za-z0-9._-]+", "_").replaceAll("^_+|_+$", "");
+        return cleaned.isEmpty() ? "sin-nombre" : cleaned.substring(0, Math.min(MAX_LENGTH, cleaned.length()));
+    }
+}
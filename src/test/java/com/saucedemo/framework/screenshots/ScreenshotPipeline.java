@@ -0,0 +1,281 @@
+package com.saucedemo.framework.screenshots;
+
+import com.saucedemo.framework.core.AppiumDriverManager;
+import com.saucedemo.framework.reporting.ReportFiles;
+import org.openqa.selenium.OutputType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipeline asíncrono de capturas de pantalla
+ * El hilo del test solo paga el round trip del comando de captura: el base64 se entrega a un executor
+ * en segundo plano que lo decodifica, descarta el frame si es idéntico al anterior del mismo escenario
+ * (hash SHA-256), lo reescala si se configuró y lo escribe en disco
+ * 
+ * La cola es acotada: si está llena el hilo del test espera hasta appium.screenshots.offer.timeout.ms
+ * y, pasado ese plazo, la captura se descarta. Ambos casos quedan en las métricas de contrapresión
+ * 
+ * Configuración:
+ * - appium.screenshots.mode: off, failures (por defecto) o steps (una captura por paso)
+ * - appium.screenshots.dir: directorio de salida (por defecto target/screenshots)
+ * - appium.screenshots.queue.capacity: capturas pendientes máximas (por defecto 32)
+ * - appium.screenshots.threads: hilos de procesamiento (por defecto 1, conserva el orden de los frames)
+ * - appium.screenshots.offer.timeout.ms: espera máxima del hilo del test con la cola llena (por defecto 2000)
+ * - appium.screenshots.scale: factor de escala de la imagen guardada (por defecto 1.0, sin reescalar)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ScreenshotPipeline {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    
+    private static final String MODE = System.getProperty("appium.screenshots.mode", "failures");
+    private static final Path OUTPUT = Paths.get(System.getProperty("appium.screenshots.dir", "target/screenshots"));
+    private static final int CAPACITY = Integer.parseInt(System.getProperty("appium.screenshots.queue.capacity", "32"));
+    private static final int THREADS = Integer.parseInt(System.getProperty("appium.screenshots.threads", "1"));
+    private static final long OFFER_TIMEOUT_MS = Long.parseLong(System.getProperty("appium.screenshots.offer.timeout.ms", "2000"));
+    private static final double SCALE = Double.parseDouble(System.getProperty("appium.screenshots.scale", "1.0"));
+    
+    private static final BlockingQueue<Runnable> QUEUE = new ArrayBlockingQueue<>(Math.max(1, CAPACITY));
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+    
+    // Último hash procesado por escenario, para descartar frames repetidos
+    private static final Map<String, byte[]> LAST_FRAME = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> SEQUENCE = new ConcurrentHashMap<>();
+    
+    private static final AtomicLong CAPTURED = new AtomicLong();
+    private static final AtomicLong WRITTEN = new AtomicLong();
+    private static final AtomicLong DUPLICATES = new AtomicLong();
+    private static final AtomicLong DROPPED = new AtomicLong();
+    private static final AtomicLong FAILED = new AtomicLong();
+    private static final AtomicLong QUEUE_FULL = new AtomicLong();
+    private static final AtomicLong WAIT_NANOS = new AtomicLong();
+    private static final AtomicLong CAPTURE_NANOS = new AtomicLong();
+    private static final AtomicLong PROCESS_NANOS = new AtomicLong();
+    private static final AtomicInteger MAX_DEPTH = new AtomicInteger();
+    
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> drain(30_000), "screenshot-pipeline-shutdown"));
+    }
+    
+    private ScreenshotPipeline() {
+        // Clase utilitaria
+    }
+    
+    private static ThreadPoolExecutor createExecutor() {
+        AtomicInteger index = new AtomicInteger();
+        int threads = Math.max(1, THREADS);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, QUEUE, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-pipeline-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.prestartAllCoreThreads();
+        return executor;
+    }
+    
+    /**
+     * Indica si se captura un frame después de cada paso
+     * 
+     * @return true con appium.screenshots.mode=steps
+     */
+    public static boolean isStepMode() {
+        return "steps".equalsIgnoreCase(MODE);
+    }
+    
+    /**
+     * Indica si se capturan los escenarios fallidos
+     * 
+     * @return true salvo con appium.screenshots.mode=off
+     */
+    public static boolean isEnabled() {
+        return !"off".equalsIgnoreCase(MODE);
+    }
+    
+    /**
+     * Captura la pantalla actual y la encola para su procesamiento
+     * El frame se descarta si es idéntico al anterior del escenario, por lo que la ruta devuelta
+     * puede no llegar a escribirse: no debe adjuntarse a reportes
+     * 
+     * @param scenario Nombre del escenario (agrupa los frames y define la deduplicación)
+     * @param label Etiqueta del frame, forma parte del nombre del archivo
+     * @return Ruta donde se escribirá la captura, o null si no hay sesión o se descartó por la cola llena
+     */
+    public static Path capture(String scenario, String label) {
+        return capture(scenario, label, true);
+    }
+    
+    /**
+     * Captura la pantalla actual y la encola para su procesamiento
+     * 
+     * @param scenario Nombre del escenario (agrupa los frames y define la deduplicación)
+     * @param label Etiqueta del frame, forma parte del nombre del archivo
+     * @param deduplicate false para escribir el frame aunque repita el anterior (capturas que se adjuntan por ruta)
+     * @return Ruta donde se escribirá la captura, o null si no hay sesión o se descartó por la cola llena
+     */
+    public static Path capture(String scenario, String label, boolean deduplicate) {
+        if (!AppiumDriverManager.isDriverActive()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        String base64 = AppiumDriverManager.getDriver().getScreenshotAs(OutputType.BASE64);
+        CAPTURE_NANOS.addAndGet(System.nanoTime() - start);
+        CAPTURED.incrementAndGet();
+        
+        String folder = ReportFiles.sanitize(scenario);
+        int sequence = SEQUENCE.computeIfAbsent(folder, key -> new AtomicInteger()).incrementAndGet();
+        Path target = OUTPUT.resolve(folder).resolve(String.format("%03d-%s.png", sequence, ReportFiles.sanitize(label)));
+        return submit(() -> process(folder, base64, target, deduplicate)) ? target : null;
+    }
+    
+    /**
+     * Encola una tarea aplicando la contrapresión de la cola acotada
+     * Los hilos del executor están iniciados y consumen directamente de la cola
+     */
+    private static boolean submit(Runnable task) {
+        if (EXECUTOR.isShutdown()) {
+            DROPPED.incrementAndGet();
+            return false;
+        }
+        if (QUEUE.offer(task)) {
+            MAX_DEPTH.accumulateAndGet(QUEUE.size(), Math::max);
+            return true;
+        }
+        
+        // Cola llena: el hilo del test espera a que se libere lugar
+        QUEUE_FULL.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            if (QUEUE.offer(task, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                MAX_DEPTH.accumulateAndGet(QUEUE.size(), Math::max);
+                return true;
+            }
+            DROPPED.incrementAndGet();
+            LOGGER.warn("Cola de capturas llena ({}), se descarta el frame", CAPACITY);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DROPPED.incrementAndGet();
+            return false;
+        } finally {
+            WAIT_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Procesa un frame en segundo plano: decodifica, deduplica, reescala y escribe
+     */
+    private static void process(String folder, String base64, Path target, boolean deduplicate) {
+        long start = System.nanoTime();
+        try {
+            byte[] png = Base64.getMimeDecoder().decode(base64);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(png);
+            byte[] previous = LAST_FRAME.put(folder, hash);
+            if (deduplicate && previous != null && Arrays.equals(previous, hash)) {
+                DUPLICATES.incrementAndGet();
+                return;
+            }
+            
+            Files.createDirectories(target.getParent());
+            Files.write(target, SCALE < 1.0 ? scale(png) : png);
+            WRITTEN.incrementAndGet();
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            FAILED.incrementAndGet();
+            LOGGER.warn("No se pudo guardar la captura {}: {}", target, e.getMessage());
+        } finally {
+            PROCESS_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+    
+    private static byte[] scale(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            return png;
+        }
+        int width = Math.max(1, (int) Math.round(source.getWidth() * SCALE));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * SCALE));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(scaled, "png", output);
+        return output.toByteArray();
+    }
+    
+    /**
+     * Termina un escenario: su próximo frame ya no se compara con los anteriores
+     * 
+     * @param scenario Nombre del escenario
+     */
+    public static void finishScenario(String scenario) {
+        String folder = ReportFiles.sanitize(scenario);
+        // La tarea se encola detrás de los frames pendientes del escenario
+        submit(() -> LAST_FRAME.remove(folder));
+    }
+    
+    /**
+     * Espera a que se procesen las capturas pendientes
+     * 
+     * @param timeoutMs Espera máxima en milisegundos
+     */
+    public static void drain(long timeoutMs) {
+        EXECUTOR.shutdown();
+        try {
+            if (!EXECUTOR.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Quedaron {} captura(s) sin procesar", QUEUE.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (CAPTURED.get() > 0) {
+            LOGGER.info("Capturas de pantalla: {}", getStats());
+        }
+    }
+    
+    /**
+     * Métricas del pipeline para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public static Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("captured", CAPTURED.get());
+        stats.put("written", WRITTEN.get());
+        stats.put("duplicatesSkipped", DUPLICATES.get());
+        stats.put("dropped", DROPPED.get());
+        stats.put("failed", FAILED.get());
+        stats.put("queueFullEvents", QUEUE_FULL.get());
+        stats.put("producerWaitMs", WAIT_NANOS.get() / 1_000_000);
+        stats.put("maxQueueDepth", MAX_DEPTH.get());
+        stats.put("testThreadCaptureMs", CAPTURE_NANOS.get() / 1_000_000);
+        stats.put("backgroundProcessMs", PROCESS_NANOS.get() / 1_000_000);
+        return stats;
+    }
+}
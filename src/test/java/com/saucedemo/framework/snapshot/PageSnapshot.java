@@ -0,0 +1,292 @@
+package com.saucedemo.framework.snapshot;
+
+import com.saucedemo.framework.locators.UiSelectorQuery;
+import org.openqa.selenium.By;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Captura inmutable de la jerarquía de UI de la pantalla actual
+ * Se construye a partir de un único getPageSource() y resuelve localmente las
+ * consultas de presencia, visibilidad, texto y atributos
+ * 
+ * Estrategias soportadas: id, accessibility id, class name, xpath y -android uiautomator
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class PageSnapshot {
+    
+    private static final String ID_SEPARATOR = ":id/";
+    
+    // XPath no es thread-safe: una instancia por hilo
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    
+    private static final Map<String, String> ATTRIBUTE_ALIASES = new HashMap<>();
+    
+    static {
+        ATTRIBUTE_ALIASES.put("resourceId", "resource-id");
+        ATTRIBUTE_ALIASES.put("contentDescription", "content-desc");
+        ATTRIBUTE_ALIASES.put("className", "class");
+        ATTRIBUTE_ALIASES.put("longClickable", "long-clickable");
+    }
+    
+    private final String source;
+    private final Document document;
+    private final long epoch;
+    private final String sessionId;
+    private final long createdAtNanos;
+    private final Map<String, List<Element>> elementsById = new HashMap<>();
+    private final Map<String, List<Element>> elementsByDescription = new HashMap<>();
+    private final Map<String, List<Element>> elementsByClass = new HashMap<>();
+    private String screenSignature;
+    
+    private PageSnapshot(String source, Document document, long epoch, String sessionId) {
+        this.source = source;
+        this.document = document;
+        this.epoch = epoch;
+        this.sessionId = sessionId;
+        this.createdAtNanos = System.nanoTime();
+        index(document.getDocumentElement());
+    }
+    
+    /**
+     * Construye una captura a partir del XML devuelto por getPageSource()
+     * 
+     * @param source Page source de UiAutomator2
+     * @param epoch Epoch de acciones en el que se tomó la captura
+     * @param sessionId Sesión de Appium a la que pertenece
+     * @return Captura parseada
+     */
+    public static PageSnapshot parse(String source, long epoch, String sessionId) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(source)));
+            return new PageSnapshot(source, document, epoch, sessionId);
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo parsear el page source: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Indica si un localizador puede resolverse localmente
+     * 
+     * @param locator Localizador a evaluar
+     * @return true si la estrategia está soportada por la captura
+     */
+    public static boolean supports(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return false;
+        }
+        switch (((By.Remotable) locator).getRemoteParameters().using()) {
+            case "id":
+            case "accessibility id":
+            case "class name":
+            case "xpath":
+            case "-android uiautomator":
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
+     * Traduce el nombre de atributo de getAttribute al nombre usado en el page source
+     * 
+     * @param name Nombre del atributo
+     * @return Nombre en el page source, o null si no se publica
+     */
+    static String toSourceAttribute(String name) {
+        // "name" depende del tipo de elemento en UiAutomator2, se resuelve en el servidor
+        if ("name".equals(name)) {
+            return null;
+        }
+        return ATTRIBUTE_ALIASES.getOrDefault(name, name);
+    }
+    
+    private void index(Element element) {
+        String resourceId = element.getAttribute("resource-id");
+        if (!resourceId.isEmpty()) {
+            put(elementsById, resourceId, element);
+            int separator = resourceId.indexOf(ID_SEPARATOR);
+            if (separator >= 0) {
+                put(elementsById, resourceId.substring(separator + ID_SEPARATOR.length()), element);
+            }
+        }
+        String contentDesc = element.getAttribute("content-desc");
+        if (!contentDesc.isEmpty()) {
+            put(elementsByDescription, contentDesc, element);
+        }
+        put(elementsByClass, element.getAttribute("class"), element);
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                index((Element) child);
+            }
+        }
+    }
+    
+    private static void put(Map<String, List<Element>> index, String key, Element element) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+    }
+    
+    /**
+     * Busca todos los elementos que coinciden con el localizador
+     * 
+     * @param locator Localizador soportado por {@link #supports(By)}
+     * @return Elementos encontrados en orden de documento
+     */
+    public List<SnapshotElement> findAll(By locator) {
+        return findAll(locator, null);
+    }
+    
+    /**
+     * Busca el primer elemento que coincide con el localizador
+     * 
+     * @param locator Localizador soportado por {@link #supports(By)}
+     * @return Primer elemento encontrado, o null si no existe
+     */
+    public SnapshotElement find(By locator) {
+        List<SnapshotElement> elements = findAll(locator);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+    
+    List<SnapshotElement> findAll(By locator, SnapshotElement scope) {
+        if (!supports(locator)) {
+            throw new IllegalArgumentException("Localizador no soportado por la captura: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "id":
+                return wrap(scoped(elementsById.get(value), scope));
+            case "accessibility id":
+                return wrap(scoped(elementsByDescription.get(value), scope));
+            case "class name":
+                return wrap(scoped(elementsByClass.get(value), scope));
+            case "-android uiautomator":
+                Element root = scope == null ? document.getDocumentElement() : scope.getDomElement();
+                return wrap(UiSelectorQuery.parse(value).findAll(root));
+            default:
+                return wrap(xpath(value, scope));
+        }
+    }
+    
+    private static List<Element> scoped(List<Element> elements, SnapshotElement scope) {
+        if (elements == null) {
+            return Collections.emptyList();
+        }
+        if (scope == null) {
+            return elements;
+        }
+        List<Element> result = new ArrayList<>();
+        for (Element element : elements) {
+            if (isDescendant(element, scope.getDomElement())) {
+                result.add(element);
+            }
+        }
+        return result;
+    }
+    
+    private static boolean isDescendant(Node node, Node ancestor) {
+        for (Node current = node.getParentNode(); current != null; current = current.getParentNode()) {
+            if (current == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private List<Element> xpath(String expression, SnapshotElement scope) {
+        try {
+            Object context = scope == null ? document : scope.getDomElement();
+            NodeList nodes = (NodeList) XPATH.get().evaluate(expression, context, XPathConstants.NODESET);
+            List<Element> result = new ArrayList<>(nodes.getLength());
+            for (int i = 0; i < nodes.getLength(); i++) {
+                if (nodes.item(i) instanceof Element) {
+                    result.add((Element) nodes.item(i));
+                }
+            }
+            return result;
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("XPath inválido: " + expression, e);
+        }
+    }
+    
+    private List<SnapshotElement> wrap(List<Element> elements) {
+        List<SnapshotElement> result = new ArrayList<>(elements.size());
+        for (Element element : elements) {
+            result.add(new SnapshotElement(this, element));
+        }
+        return result;
+    }
+    
+    /**
+     * Verifica si un texto aparece en el page source capturado
+     * Equivale a getPageSource().contains(text) sin un nuevo round trip
+     * 
+     * @param text Texto a buscar
+     * @return true si el texto está presente
+     */
+    public boolean containsText(String text) {
+        return source.contains(text);
+    }
+    
+    public String getSource() {
+        return source;
+    }
+    
+    public long getEpoch() {
+        return epoch;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    /**
+     * Firma de la pantalla: conjunto ordenado de resource ids presentes en la jerarquía
+     * Dos capturas con firmas distintas corresponden a pantallas (o estados de pantalla) distintos
+     * 
+     * @return Firma de la pantalla capturada
+     */
+    public String getScreenSignature() {
+        if (screenSignature == null) {
+            TreeSet<String> ids = new TreeSet<>();
+            for (String id : elementsById.keySet()) {
+                if (id.contains(ID_SEPARATOR)) {
+                    ids.add(id);
+                }
+            }
+            screenSignature = String.join(",", ids);
+        }
+        return screenSignature;
+    }
+    
+    /**
+     * Antigüedad de la captura
+     * 
+     * @return Milisegundos desde que se tomó la captura
+     */
+    public long getAgeMillis() {
+        return (System.nanoTime() - createdAtNanos) / 1_000_000L;
+    }
+}
@@ -0,0 +1,143 @@
+package com.saucedemo.framework.snapshot;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Elemento de un {@link PageSnapshot}
+ * Expone localmente los atributos que UiAutomator2 publica en el page source,
+ * sin round trips adicionales al servidor de Appium
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class SnapshotElement {
+    
+    private final PageSnapshot snapshot;
+    private final Element element;
+    
+    SnapshotElement(PageSnapshot snapshot, Element element) {
+        this.snapshot = snapshot;
+        this.element = element;
+    }
+    
+    Element getDomElement() {
+        return element;
+    }
+    
+    public String getText() {
+        return element.getAttribute("text");
+    }
+    
+    public String getResourceId() {
+        return element.getAttribute("resource-id");
+    }
+    
+    public String getContentDesc() {
+        return element.getAttribute("content-desc");
+    }
+    
+    public String getClassName() {
+        String className = element.getAttribute("class");
+        return className.isEmpty() ? element.getTagName() : className;
+    }
+    
+    /**
+     * Indica si el elemento está visible
+     * Si el page source no publica el atributo displayed se asume visible
+     * 
+     * @return true si el elemento está visible
+     */
+    public boolean isDisplayed() {
+        return !"false".equals(element.getAttribute("displayed"));
+    }
+    
+    public boolean isEnabled() {
+        return !"false".equals(element.getAttribute("enabled"));
+    }
+    
+    /**
+     * Obtiene un atributo usando los nombres aceptados por el comando getAttribute de UiAutomator2
+     * 
+     * @param name Nombre del atributo (text, resource-id, resourceId, content-desc, enabled, ...)
+     * @return Valor del atributo, o null si el page source no lo publica
+     */
+    public String getAttribute(String name) {
+        String attribute = PageSnapshot.toSourceAttribute(name);
+        return attribute != null && element.hasAttribute(attribute) ? element.getAttribute(attribute) : null;
+    }
+    
+    /**
+     * Obtiene el rectángulo del elemento a partir del atributo bounds ([left,top][right,bottom])
+     * 
+     * @return Rectángulo del elemento, o null si no tiene bounds
+     */
+    public Rectangle getRect() {
+        String bounds = element.getAttribute("bounds");
+        if (bounds.isEmpty()) {
+            return null;
+        }
+        String[] parts = bounds.replace("][", ",").replace("[", "").replace("]", "").split(",");
+        int left = Integer.parseInt(parts[0].trim());
+        int top = Integer.parseInt(parts[1].trim());
+        int right = Integer.parseInt(parts[2].trim());
+        int bottom = Integer.parseInt(parts[3].trim());
+        return new Rectangle(left, top, bottom - top, right - left);
+    }
+    
+    /**
+     * Obtiene el elemento padre
+     * 
+     * @return Padre del elemento, o null si es la raíz de la jerarquía
+     */
+    public SnapshotElement getParent() {
+        Node parent = element.getParentNode();
+        return parent instanceof Element ? new SnapshotElement(snapshot, (Element) parent) : null;
+    }
+    
+    /**
+     * Obtiene los hijos directos del elemento
+     * 
+     * @return Lista de hijos en orden de documento
+     */
+    public List<SnapshotElement> getChildren() {
+        List<SnapshotElement> children = new ArrayList<>();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof Element) {
+                children.add(new SnapshotElement(snapshot, (Element) child));
+            }
+        }
+        return children;
+    }
+    
+    /**
+     * Busca elementos descendientes de este elemento
+     * 
+     * @param locator Localizador soportado por {@link PageSnapshot#supports(By)}
+     * @return Elementos encontrados en orden de documento
+     */
+    public List<SnapshotElement> findAll(By locator) {
+        return snapshot.findAll(locator, this);
+    }
+    
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof SnapshotElement && ((SnapshotElement) other).element == element;
+    }
+    
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(element);
+    }
+    
+    @Override
+    public String toString() {
+        String resourceId = getResourceId();
+        return getClassName() + "[" + (resourceId.isEmpty() ? getText() : resourceId) + "]";
+    }
+}
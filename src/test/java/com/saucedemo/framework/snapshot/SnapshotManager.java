@@ -0,0 +1,115 @@
+package com.saucedemo.framework.snapshot;
+
+import io.appium.java_client.AppiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gestiona la captura de la jerarquía de UI de cada hilo
+ * La captura se reutiliza mientras no ocurra una acción que modifique la pantalla
+ * (clic, escritura, scroll, back) y no supere su tiempo de vida máximo
+ * 
+ * Configuración:
+ * - appium.snapshot.enabled: habilita las consultas locales sobre la captura (por defecto true)
+ * - appium.snapshot.ttl.ms: antigüedad máxima de una captura en milisegundos (por defecto 1000)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class SnapshotManager {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotManager.class);
+    
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("appium.snapshot.enabled", "true"));
+    private static final long TTL_MS = Long.parseLong(System.getProperty("appium.snapshot.ttl.ms", "1000"));
+    
+    private static final ThreadLocal<PageSnapshot> SNAPSHOT = new ThreadLocal<>();
+    private static final ThreadLocal<Long> EPOCH = ThreadLocal.withInitial(() -> 0L);
+    
+    // Métricas globales para verificar el ahorro de round trips
+    private static final AtomicLong FETCHES = new AtomicLong();
+    private static final AtomicLong HITS = new AtomicLong();
+    
+    private SnapshotManager() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Indica si las consultas locales están habilitadas
+     * 
+     * @return true si se usa la captura para resolver consultas
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+    
+    /**
+     * Obtiene la captura vigente del hilo actual, descargando el page source si es necesario
+     * 
+     * @param driver Driver de la sesión actual
+     * @return Captura de la pantalla actual
+     */
+    public static PageSnapshot current(AppiumDriver driver) {
+        String sessionId = String.valueOf(driver.getSessionId());
+        long epoch = EPOCH.get();
+        PageSnapshot snapshot = SNAPSHOT.get();
+        if (snapshot != null && snapshot.getEpoch() == epoch
+                && snapshot.getSessionId().equals(sessionId) && snapshot.getAgeMillis() <= TTL_MS) {
+            HITS.incrementAndGet();
+            return snapshot;
+        }
+        
+        long start = System.nanoTime();
+        snapshot = PageSnapshot.parse(driver.getPageSource(), epoch, sessionId);
+        SNAPSHOT.set(snapshot);
+        FETCHES.incrementAndGet();
+        LOGGER.debug("Captura de pantalla obtenida (epoch {}) en {} ms", epoch, (System.nanoTime() - start) / 1_000_000L);
+        return snapshot;
+    }
+    
+    /**
+     * Invalida la captura del hilo actual
+     * Se debe llamar después de cualquier acción que pueda modificar la pantalla
+     */
+    public static void invalidate() {
+        EPOCH.set(EPOCH.get() + 1);
+        SNAPSHOT.remove();
+    }
+    
+    /**
+     * Elimina el estado del hilo actual (al cerrar la sesión)
+     */
+    public static void clear() {
+        SNAPSHOT.remove();
+        EPOCH.remove();
+    }
+    
+    /**
+     * Epoch de acciones del hilo actual
+     * 
+     * @return Número de invalidaciones en el hilo actual
+     */
+    public static long getEpoch() {
+        return EPOCH.get();
+    }
+    
+    /**
+     * Número de page sources descargados en todos los hilos
+     * 
+     * @return Total de descargas
+     */
+    public static long getFetchCount() {
+        return FETCHES.get();
+    }
+    
+    /**
+     * Número de consultas resueltas con una captura ya descargada
+     * 
+     * @return Total de reutilizaciones
+     */
+    public static long getHitCount() {
+        return HITS.get();
+    }
+}
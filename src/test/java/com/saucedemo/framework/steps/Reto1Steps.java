@@ -2,14 +2,14 @@ package com.saucedemo.framework.steps;
 
 import com.saucedemo.framework.pages.LoginPage;
 import com.saucedemo.framework.pages.InventoryPage;
-import io.cucumber.java.Before;
+import com.saucedemo.framework.pages.PageRegistry;
+import com.saucedemo.framework.logging.ScenarioLog;
+import com.saucedemo.framework.reporting.ReportDataSink;
 import io.cucumber.java.es.Cuando;
 import io.cucumber.java.es.Dado;
 import io.cucumber.java.es.Entonces;
 import io.cucumber.java.es.Y;
-import net.serenitybdd.core.Serenity;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Step Definitions para el Reto 1 - Escenarios Básicos de Prueba
@@ -20,20 +20,7 @@ import org.slf4j.LoggerFactory;
  */
 public class Reto1Steps {
     
-    private static final Logger LOGGER = LoggerFactory.getLogger(Reto1Steps.class);
-    
-    private LoginPage loginPage;
-    private InventoryPage inventoryPage;
-    
-    /**
-     * Configuración inicial antes de cada escenario
-     */
-    @Before
-    public void setUp() {
-        LOGGER.info("Configurando páginas para el Reto 1");
-        loginPage = new LoginPage();
-        inventoryPage = new InventoryPage();
-    }
+    private static final Logger LOGGER = ScenarioLog.getLogger(Reto1Steps.class);
     
     /**
      * Step: El usuario abre la aplicación Sauce Demo
@@ -42,8 +29,8 @@ public class Reto1Steps {
     public void queElUsuarioAbreLaAplicacionSauceDemo() {
         LOGGER.info("=== RETO 1: Abriendo la aplicación Sauce Demo ===");
         // La aplicación se abre automáticamente al iniciar el driver
-        Serenity.recordReportData().withTitle("Reto 1 - Aplicación Abierta")
-                .andContents("La aplicación Sauce Demo ha sido abierta para el Reto 1");
+        ReportDataSink.detail("Reto 1 - Aplicación Abierta",
+                () -> "La aplicación Sauce Demo ha sido abierta para el Reto 1");
     }
     
     /**
@@ -52,13 +39,13 @@ public class Reto1Steps {
     @Y("está en la pantalla de login")
     public void estaEnLaPantallaDeLogin() {
         LOGGER.info("Verificando que estamos en la pantalla de login");
-        loginPage.waitForPageToLoad();
+        loginPage().waitForPageToLoad();
         
-        boolean isLoginPageLoaded = loginPage.isPageLoaded();
+        boolean isLoginPageLoaded = loginPage().isPageLoaded();
         LOGGER.info("Página de login cargada: {}", isLoginPageLoaded);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Página de Login")
-                .andContents("Verificando elementos de la página de login para el Reto 1");
+        ReportDataSink.detail("Reto 1 - Página de Login",
+                () -> "Verificando elementos de la página de login para el Reto 1");
     }
     
     /**
@@ -67,10 +54,10 @@ public class Reto1Steps {
     @Cuando("el usuario ingresa credenciales válidas")
     public void elUsuarioIngresaCredencialesValidas() {
         LOGGER.info("Ingresando credenciales válidas");
-        loginPage.performLogin("bob@example.com", "10203040my");
+        loginPage().performLogin("bob@example.com", "10203040my");
         
-        Serenity.recordReportData().withTitle("Reto 1 - Credenciales Válidas")
-                .andContents("Se ingresaron credenciales válidas: bob@example.com");
+        ReportDataSink.detail("Reto 1 - Credenciales Válidas",
+                () -> "Se ingresaron credenciales válidas: bob@example.com");
     }
     
     /**
@@ -79,10 +66,10 @@ public class Reto1Steps {
     @Cuando("el usuario ingresa credenciales inválidas")
     public void elUsuarioIngresaCredencialesInvalidas() {
         LOGGER.info("Ingresando credenciales inválidas");
-        loginPage.performLogin("invalid_user", "invalid_password");
+        loginPage().performLogin("invalid_user", "invalid_password");
         
-        Serenity.recordReportData().withTitle("Reto 1 - Credenciales Inválidas")
-                .andContents("Se ingresaron credenciales inválidas");
+        ReportDataSink.detail("Reto 1 - Credenciales Inválidas",
+                () -> "Se ingresaron credenciales inválidas");
     }
     
     /**
@@ -91,10 +78,10 @@ public class Reto1Steps {
     @Y("presiona el botón de login")
     public void presionaElBotonDeLogin() {
         LOGGER.info("Presionando botón de login");
-        loginPage.clickLoginButton();
+        loginPage().clickLoginButton();
         
-        Serenity.recordReportData().withTitle("Reto 1 - Login Ejecutado")
-                .andContents("Se presionó el botón de login");
+        ReportDataSink.detail("Reto 1 - Login Ejecutado",
+                () -> "Se presionó el botón de login");
     }
     
     /**
@@ -105,13 +92,13 @@ public class Reto1Steps {
         LOGGER.info("Verificando redirección al inventario");
         
         // Esperar a que la página del inventario se cargue
-        inventoryPage.waitForPageToLoad();
+        inventoryPage().waitForPageToLoad();
         
-        boolean isInventoryPageLoaded = inventoryPage.isPageLoaded();
+        boolean isInventoryPageLoaded = inventoryPage().isPageLoaded();
         LOGGER.info("Página del inventario cargada: {}", isInventoryPageLoaded);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Redirección al Inventario")
-                .andContents("Verificando que el usuario fue redirigido correctamente");
+        ReportDataSink.detail("Reto 1 - Redirección al Inventario",
+                () -> "Verificando que el usuario fue redirigido correctamente");
     }
     
     /**
@@ -121,12 +108,12 @@ public class Reto1Steps {
     public void deberiaVerLaListaDeProductosDisponibles() {
         LOGGER.info("Verificando lista de productos disponibles");
         
-        boolean areProductsAvailable = inventoryPage.isPageLoaded();
+        boolean areProductsAvailable = inventoryPage().isPageLoaded();
         
         LOGGER.info("Productos disponibles: {}", areProductsAvailable);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Lista de Productos")
-                .andContents("Productos disponibles: " + areProductsAvailable);
+        ReportDataSink.detail("Reto 1 - Lista de Productos",
+                () -> "Productos disponibles: " + areProductsAvailable);
     }
     
     /**
@@ -136,13 +123,13 @@ public class Reto1Steps {
     public void deberiaAparecerUnMensajeDeError() {
         LOGGER.info("Verificando mensaje de error");
         
-        boolean isErrorMessageDisplayed = loginPage.isErrorMessageDisplayed();
-        String errorMessageText = loginPage.getErrorMessageText();
+        boolean isErrorMessageDisplayed = loginPage().isErrorMessageDisplayed();
+        String errorMessageText = loginPage().getErrorMessageText();
         
         LOGGER.info("Mensaje de error visible: {}, Texto: {}", isErrorMessageDisplayed, errorMessageText);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Mensaje de Error")
-                .andContents("Mensaje de error: " + errorMessageText);
+        ReportDataSink.detail("Reto 1 - Mensaje de Error",
+                () -> "Mensaje de error: " + errorMessageText);
     }
     
     /**
@@ -152,13 +139,13 @@ public class Reto1Steps {
     public void elMensajeDeberiaContener(String expectedText) {
         LOGGER.info("Verificando que el mensaje contenga: {}", expectedText);
         
-        boolean containsExpectedText = loginPage.isErrorMessageContains(expectedText);
-        String actualErrorText = loginPage.getErrorMessageText();
+        boolean containsExpectedText = loginPage().isErrorMessageContains(expectedText);
+        String actualErrorText = loginPage().getErrorMessageText();
         
         LOGGER.info("Mensaje contiene texto esperado: {}, Mensaje actual: {}", containsExpectedText, actualErrorText);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Verificación de Mensaje de Error")
-                .andContents("Texto esperado: " + expectedText + ", Mensaje actual: " + actualErrorText);
+        ReportDataSink.detail("Reto 1 - Verificación de Mensaje de Error",
+                () -> "Texto esperado: " + expectedText + ", Mensaje actual: " + actualErrorText);
     }
     
     /**
@@ -168,10 +155,19 @@ public class Reto1Steps {
     public void elUsuarioDeberiaPermanecerEnLaPantallaDeLogin() {
         LOGGER.info("Verificando que el usuario permanece en la pantalla de login");
         
-        boolean isLoginPageStillLoaded = loginPage.isPageLoaded();
+        boolean isLoginPageStillLoaded = loginPage().isPageLoaded();
         LOGGER.info("Página de login aún cargada: {}", isLoginPageStillLoaded);
         
-        Serenity.recordReportData().withTitle("Reto 1 - Permanencia en Login")
-                .andContents("Verificando que el usuario permanece en la pantalla de login después del error");
+        ReportDataSink.detail("Reto 1 - Permanencia en Login",
+                () -> "Verificando que el usuario permanece en la pantalla de login después del error");
+    }
+    
+    // Páginas del escenario: se construyen en el primer uso y se comparten entre steps
+    private LoginPage loginPage() {
+        return PageRegistry.get(LoginPage.class);
+    }
+    
+    private InventoryPage inventoryPage() {
+        return PageRegistry.get(InventoryPage.class);
     }
 } 
\ No newline at end of file
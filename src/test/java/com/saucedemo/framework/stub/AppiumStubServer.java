@@ -0,0 +1,899 @@
+package com.saucedemo.framework.stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saucedemo.framework.locators.UiSelectorQuery;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.ImageIO;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor stub en proceso que implementa el protocolo W3C WebDriver (con las extensiones
+ * de Appium usadas por el framework) sobre una versión guionada de MyDemoApp
+ * Permite ejecutar las páginas y features sin servidor de Appium ni emulador, y medir
+ * el overhead propio del framework
+ * 
+ * Configuración:
+ * - appium.stub.enabled: usa el stub en lugar del servidor de Appium real
+ * - appium.stub.port: puerto del stub (0 = puerto libre aleatorio)
+ * - appium.stub.latency.ms: latencia simulada por comando
+ * - appium.stub.latency.&lt;comando&gt;: latencia de un comando W3C concreto (findElement, getPageSource, ...)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class AppiumStubServer {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppiumStubServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+    private static final String BASE_PATH = "/wd/hub";
+    private static final int GZIP_THRESHOLD = 1024;
+    
+    static {
+        // Sin TCP_NODELAY el HttpServer del JDK envía cabeceras y cuerpo en segmentos separados y cada
+        // respuesta espera el ACK retardado del cliente (~40 ms), lo que ocultaría el costo real del framework
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+    
+    private static volatile AppiumStubServer shared;
+    
+    private final HttpServer server;
+    private final Map<String, StubSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Long> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> commandCounts = new ConcurrentHashMap<>();
+    private final AtomicLong commandCount = new AtomicLong();
+    private volatile long defaultLatencyMs;
+    
+    /**
+     * Constructor del servidor
+     * 
+     * @param port Puerto de escucha (0 para uno libre)
+     * @param defaultLatencyMs Latencia simulada por comando en milisegundos
+     * @throws IOException si no se puede abrir el puerto
+     */
+    private AppiumStubServer(int port, long defaultLatencyMs) throws IOException {
+        this.defaultLatencyMs = defaultLatencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "appium-stub");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+    
+    /**
+     * Indica si la ejecución debe usar el stub en lugar de Appium
+     * 
+     * @return true si appium.stub.enabled=true
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("appium.stub.enabled", "false"));
+    }
+    
+    /**
+     * Obtiene el servidor compartido de la JVM, iniciándolo con la configuración del sistema
+     * 
+     * @return Servidor stub compartido
+     */
+    public static AppiumStubServer shared() {
+        if (shared == null) {
+            synchronized (AppiumStubServer.class) {
+                if (shared == null) {
+                    shared = start(Integer.parseInt(System.getProperty("appium.stub.port", "0")),
+                            Long.parseLong(System.getProperty("appium.stub.latency.ms", "0")));
+                    Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "appium-stub-shutdown"));
+                }
+            }
+        }
+        return shared;
+    }
+    
+    /**
+     * Inicia un servidor stub independiente
+     * 
+     * @param port Puerto de escucha (0 para uno libre)
+     * @param defaultLatencyMs Latencia simulada por comando
+     * @return Servidor iniciado
+     */
+    public static AppiumStubServer start(int port, long defaultLatencyMs) {
+        try {
+            AppiumStubServer stub = new AppiumStubServer(port, defaultLatencyMs);
+            for (String key : System.getProperties().stringPropertyNames()) {
+                if (key.startsWith("appium.stub.latency.") && !key.endsWith(".ms")) {
+                    stub.setLatency(key.substring("appium.stub.latency.".length()), Long.parseLong(System.getProperty(key)));
+                }
+            }
+            stub.server.start();
+            LOGGER.info("Servidor stub de Appium iniciado en {} (latencia {} ms)", stub.getUrl(), defaultLatencyMs);
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo iniciar el servidor stub de Appium", e);
+        }
+    }
+    
+    /**
+     * Detiene el servidor
+     */
+    public void stop() {
+        server.stop(0);
+        sessions.clear();
+    }
+    
+    /**
+     * URL del servidor, con el mismo path que usa Appium
+     * 
+     * @return URL del stub
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + BASE_PATH;
+    }
+    
+    /**
+     * Configura la latencia por defecto de todos los comandos
+     * 
+     * @param latencyMs Latencia en milisegundos
+     */
+    public void setDefaultLatency(long latencyMs) {
+        this.defaultLatencyMs = latencyMs;
+    }
+    
+    /**
+     * Configura la latencia de un comando concreto
+     * 
+     * @param command Nombre W3C del comando (findElement, elementClick, getPageSource, ...)
+     * @param latencyMs Latencia en milisegundos
+     */
+    public void setLatency(String command, long latencyMs) {
+        commandLatency.put(command, latencyMs);
+    }
+    
+    /**
+     * Número total de comandos atendidos
+     * 
+     * @return Comandos atendidos desde el inicio o el último reset
+     */
+    public long getCommandCount() {
+        return commandCount.get();
+    }
+    
+    /**
+     * Número de comandos atendidos por tipo
+     * 
+     * @return Mapa comando -> cantidad
+     */
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        commandCounts.forEach((command, count) -> counts.put(command, count.get()));
+        return counts;
+    }
+    
+    /**
+     * Reinicia los contadores de comandos
+     */
+    public void resetCounters() {
+        commandCount.set(0);
+        commandCounts.clear();
+    }
+    
+    /**
+     * Obtiene la app simulada de una sesión
+     * 
+     * @param sessionId Id de la sesión
+     * @return App de la sesión, o null si no existe
+     */
+    public StubApp getApp(String sessionId) {
+        StubSession session = sessions.get(sessionId);
+        return session == null ? null : session.app;
+    }
+    
+    // ------------------------------------------------------------------
+    // Protocolo HTTP
+    // ------------------------------------------------------------------
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith(BASE_PATH)) {
+                path = path.substring(BASE_PATH.length());
+            }
+            List<String> segments = new ArrayList<>();
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    segments.add(segment);
+                }
+            }
+            Map<String, Object> body = readBody(exchange);
+            Object value = dispatch(exchange.getRequestMethod(), segments, body);
+            respond(exchange, 200, Collections.singletonMap("value", value));
+        } catch (StubException e) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.error);
+            error.put("message", e.getMessage());
+            error.put("stacktrace", "");
+            respond(exchange, e.status, Collections.singletonMap("value", error));
+        } catch (Exception e) {
+            LOGGER.warn("Error inesperado en el stub: {}", e.getMessage(), e);
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", "unknown error");
+            error.put("message", String.valueOf(e.getMessage()));
+            error.put("stacktrace", "");
+            respond(exchange, 500, Collections.singletonMap("value", error));
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            byte[] bytes = input.readAllBytes();
+            if (bytes.length == 0) {
+                return Collections.emptyMap();
+            }
+            return MAPPER.readValue(bytes, Map.class);
+        }
+    }
+    
+    private void respond(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        
+        // Igual que los proxies de granjas de dispositivos: comprime respuestas grandes (page source, screenshots)
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length > GZIP_THRESHOLD && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+    
+    /**
+     * Registra el comando, aplica la latencia simulada y lo ejecuta
+     */
+    private Object dispatch(String method, List<String> segments, Map<String, Object> body) {
+        if (segments.isEmpty() || !"session".equals(segments.get(0))) {
+            if (segments.size() == 1 && "status".equals(segments.get(0))) {
+                return record("status", () -> Collections.singletonMap("ready", true));
+            }
+            throw new StubException(404, "unknown command", "Comando no soportado: " + method + " /" + String.join("/", segments));
+        }
+        if (segments.size() == 1 && "POST".equals(method)) {
+            return record("newSession", () -> newSession(body));
+        }
+        
+        StubSession session = sessions.get(segments.get(1));
+        if (session == null) {
+            throw new StubException(404, "invalid session id", "Sesión inexistente: " + segments.get(1));
+        }
+        if (segments.size() == 2 && "DELETE".equals(method)) {
+            return record("deleteSession", () -> {
+                sessions.remove(session.id);
+                return null;
+            });
+        }
+        
+        List<String> rest = segments.subList(2, segments.size());
+        String command = resolveCommand(method, rest);
+        synchronized (session) {
+            return record(command, () -> session.execute(command, rest, body));
+        }
+    }
+    
+    private Object record(String command, StubCommand action) {
+        commandCount.incrementAndGet();
+        commandCounts.computeIfAbsent(command, key -> new AtomicLong()).incrementAndGet();
+        long latency = commandLatency.getOrDefault(command, defaultLatencyMs);
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return action.run();
+    }
+    
+    /**
+     * Traduce método y path al nombre W3C del comando
+     */
+    private static String resolveCommand(String method, List<String> rest) {
+        String joined = String.join("/", rest);
+        boolean post = "POST".equals(method);
+        if (rest.size() >= 3 && "element".equals(rest.get(0))) {
+            String sub = rest.get(2);
+            switch (sub) {
+                case "element": return "findElementFromElement";
+                case "elements": return "findElementsFromElement";
+                case "click": return "elementClick";
+                case "clear": return "elementClear";
+                case "value": return "elementSendKeys";
+                case "text": return "getElementText";
+                case "attribute": return "getElementAttribute";
+                case "property": return "getElementProperty";
+                case "displayed": return "isElementDisplayed";
+                case "enabled": return "isElementEnabled";
+                case "selected": return "isElementSelected";
+                case "rect": return "getElementRect";
+                case "name": return "getElementTagName";
+                case "screenshot": return "takeElementScreenshot";
+                default: break;
+            }
+        }
+        switch (joined) {
+            case "element": return "findElement";
+            case "elements": return "findElements";
+            case "timeouts": return post ? "setTimeouts" : "getTimeouts";
+            case "source": return "getPageSource";
+            case "screenshot": return "takeScreenshot";
+            case "execute/sync": return "executeScript";
+            case "back": return "back";
+            case "actions": return post ? "performActions" : "releaseActions";
+            case "window/rect": return "getWindowRect";
+            case "window/size": return "getWindowSize";
+            case "title": return "getTitle";
+            case "url": return "getCurrentUrl";
+            case "context": return "getContext";
+            case "contexts": return "getContexts";
+            case "appium/settings": return post ? "updateSettings" : "getSettings";
+            case "appium/device/terminate_app": return "terminateApp";
+            case "appium/device/activate_app": return "activateApp";
+            case "appium/device/app_state": return "queryAppState";
+            default: return method + " " + joined;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Object newSession(Map<String, Object> body) {
+        Map<String, Object> requested = new LinkedHashMap<>();
+        Object capabilities = body.get("capabilities");
+        if (capabilities instanceof Map) {
+            Object alwaysMatch = ((Map<String, Object>) capabilities).get("alwaysMatch");
+            if (alwaysMatch instanceof Map) {
+                requested.putAll((Map<String, Object>) alwaysMatch);
+            }
+            Object firstMatch = ((Map<String, Object>) capabilities).get("firstMatch");
+            if (firstMatch instanceof List && !((List<Object>) firstMatch).isEmpty()) {
+                requested.putAll((Map<String, Object>) ((List<Object>) firstMatch).get(0));
+            }
+        }
+        
+        StubSession session = new StubSession(UUID.randomUUID().toString());
+        sessions.put(session.id, session);
+        
+        Map<String, Object> granted = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : requested.entrySet()) {
+            granted.put(entry.getKey().replace("appium:", ""), entry.getValue());
+        }
+        granted.put("platformName", "Android");
+        granted.put("automationName", "UiAutomator2");
+        granted.put("deviceName", "appium-stub");
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sessionId", session.id);
+        result.put("capabilities", granted);
+        LOGGER.debug("Sesión stub creada: {}", session.id);
+        return result;
+    }
+    
+    // ------------------------------------------------------------------
+    // Sesión
+    // ------------------------------------------------------------------
+    
+    /**
+     * Estado de una sesión: app simulada y registro de elementos
+     */
+    private static final class StubSession {
+        
+        private final String id;
+        private final StubApp app = new StubApp();
+        private final Map<String, StubNode> elements = new HashMap<>();
+        private final Map<StubNode, String> elementIds = new IdentityHashMap<>();
+        private long domVersion = -1;
+        private Document dom;
+        private String pageSource;
+        
+        private StubSession(String id) {
+            this.id = id;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private Object execute(String command, List<String> rest, Map<String, Object> body) {
+            switch (command) {
+                case "findElement":
+                    return reference(first(find(null, body)));
+                case "findElements":
+                    return references(find(null, body));
+                case "findElementFromElement":
+                    return reference(first(find(element(rest.get(1)), body)));
+                case "findElementsFromElement":
+                    return references(find(element(rest.get(1)), body));
+                case "elementClick":
+                    app.click(element(rest.get(1)));
+                    return null;
+                case "elementClear":
+                    app.clear(element(rest.get(1)));
+                    return null;
+                case "elementSendKeys":
+                    app.type(element(rest.get(1)), String.valueOf(body.get("text")));
+                    return null;
+                case "getElementText":
+                    return element(rest.get(1)).getText();
+                case "getElementAttribute":
+                case "getElementProperty":
+                    return element(rest.get(1)).getAttribute(rest.get(3));
+                case "isElementDisplayed":
+                    return element(rest.get(1)).isDisplayed();
+                case "isElementEnabled":
+                    return element(rest.get(1)).isEnabled();
+                case "isElementSelected":
+                    element(rest.get(1));
+                    return false;
+                case "getElementTagName":
+                    return element(rest.get(1)).getClassName();
+                case "getElementRect":
+                    return rect(element(rest.get(1)).getRect());
+                case "getPageSource":
+                    return pageSource();
+                case "takeScreenshot":
+                case "takeElementScreenshot":
+                    return screenshot();
+                case "executeScript":
+                    return executeScript(String.valueOf(body.get("script")), (List<Object>) body.get("args"));
+                case "back":
+                    app.back();
+                    return null;
+                case "performActions":
+                    performActions((List<Object>) body.get("actions"));
+                    return null;
+                case "getWindowRect":
+                case "getWindowSize":
+                    return rect(new int[] {0, 0, StubApp.SCREEN_WIDTH, StubApp.SCREEN_HEIGHT});
+                case "terminateApp":
+                    app.terminate();
+                    return true;
+                case "activateApp":
+                    app.activate();
+                    return null;
+                case "queryAppState":
+                    return 4;
+                case "getContext":
+                    return "NATIVE_APP";
+                case "getContexts":
+                    return Collections.singletonList("NATIVE_APP");
+                case "getTimeouts":
+                    return Collections.singletonMap("implicit", 0);
+                case "getTitle":
+                case "getCurrentUrl":
+                    return "";
+                case "setTimeouts":
+                case "releaseActions":
+                case "updateSettings":
+                    return null;
+                case "getSettings":
+                    return Collections.emptyMap();
+                default:
+                    throw new StubException(404, "unknown command", "Comando no soportado por el stub: " + command);
+            }
+        }
+        
+        // ---------------- Búsqueda de elementos ----------------
+        
+        private List<StubNode> find(StubNode scope, Map<String, Object> body) {
+            String using = String.valueOf(body.get("using"));
+            String value = String.valueOf(body.get("value"));
+            StubNode root = scope == null ? app.getRoot() : scope;
+            List<StubNode> result = new ArrayList<>();
+            
+            switch (using) {
+                case "id":
+                    collect(root, node -> matchesId(node, value), result);
+                    break;
+                case "css selector":
+                    String id = parseCssId(value);
+                    collect(root, node -> matchesId(node, id), result);
+                    break;
+                case "accessibility id":
+                    collect(root, node -> value.equals(node.getContentDesc()), result);
+                    break;
+                case "class name":
+                    collect(root, node -> value.equals(node.getClassName()), result);
+                    break;
+                case "xpath":
+                    result.addAll(xpath(scope, value));
+                    break;
+                case "-android uiautomator":
+                    result.addAll(uiSelector(scope, value));
+                    break;
+                default:
+                    throw new StubException(400, "invalid argument", "Estrategia no soportada por el stub: " + using);
+            }
+            return result;
+        }
+        
+        private static boolean matchesId(StubNode node, String id) {
+            String resourceId = node.getResourceId();
+            return !resourceId.isEmpty() && (resourceId.equals(id) || resourceId.endsWith(":id/" + id));
+        }
+        
+        /**
+         * Selenium 4 envía By.id como selector CSS (#id escapado o *[id="..."])
+         */
+        private static String parseCssId(String css) {
+            if (css.startsWith("#")) {
+                return css.substring(1).replaceAll("\\\\(.)", "$1");
+            }
+            int start = css.indexOf("id=");
+            if (start >= 0) {
+                return css.substring(start + 3).replaceAll("[\"'\\]]", "");
+            }
+            throw new StubException(400, "invalid argument", "Selector CSS no soportado por el stub: " + css);
+        }
+        
+        private static void collect(StubNode node, java.util.function.Predicate<StubNode> predicate, List<StubNode> result) {
+            for (StubNode child : node.getChildren()) {
+                if (predicate.test(child)) {
+                    result.add(child);
+                }
+                collect(child, predicate, result);
+            }
+        }
+        
+        private List<StubNode> xpath(StubNode scope, String expression) {
+            try {
+                Document document = dom();
+                Object context = scope == null ? document : findDomElement(document.getDocumentElement(), scope);
+                NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                        .evaluate(expression, context, XPathConstants.NODESET);
+                List<StubNode> result = new ArrayList<>();
+                for (int i = 0; i < nodes.getLength(); i++) {
+                    Object node = nodes.item(i).getUserData("node");
+                    if (node instanceof StubNode) {
+                        result.add((StubNode) node);
+                    }
+                }
+                return result;
+            } catch (javax.xml.xpath.XPathExpressionException e) {
+                throw new StubException(400, "invalid selector", "XPath inválido: " + expression);
+            }
+        }
+        
+        private List<StubNode> uiSelector(StubNode scope, String expression) {
+            UiSelectorQuery query;
+            try {
+                query = UiSelectorQuery.parse(expression);
+            } catch (IllegalArgumentException e) {
+                throw new StubException(400, "invalid selector", e.getMessage());
+            }
+            Document document = dom();
+            Element root = scope == null ? document.getDocumentElement() : findDomElement(document.getDocumentElement(), scope);
+            List<StubNode> result = new ArrayList<>();
+            for (Element element : query.findAll(root)) {
+                Object node = element.getUserData("node");
+                if (node instanceof StubNode) {
+                    result.add((StubNode) node);
+                }
+            }
+            return result;
+        }
+        
+        private static Element findDomElement(Element element, StubNode target) {
+            if (element.getUserData("node") == target) {
+                return element;
+            }
+            NodeList children = element.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                if (children.item(i) instanceof Element) {
+                    Element found = findDomElement((Element) children.item(i), target);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+            }
+            return null;
+        }
+        
+        private static StubNode first(List<StubNode> nodes) {
+            if (nodes.isEmpty()) {
+                throw new StubException(404, "no such element", "No se encontró el elemento");
+            }
+            return nodes.get(0);
+        }
+        
+        private Map<String, Object> reference(StubNode node) {
+            String elementId = elementIds.computeIfAbsent(node, key -> {
+                String newId = UUID.randomUUID().toString();
+                elements.put(newId, key);
+                return newId;
+            });
+            Map<String, Object> reference = new LinkedHashMap<>();
+            reference.put(ELEMENT_KEY, elementId);
+            reference.put("ELEMENT", elementId);
+            return reference;
+        }
+        
+        private List<Object> references(List<StubNode> nodes) {
+            List<Object> result = new ArrayList<>();
+            for (StubNode node : nodes) {
+                result.add(reference(node));
+            }
+            return result;
+        }
+        
+        /**
+         * Resuelve un id de elemento, fallando si ya no pertenece a la pantalla actual
+         */
+        private StubNode element(String elementId) {
+            StubNode node = elements.get(elementId);
+            if (node == null) {
+                throw new StubException(404, "no such element", "Elemento desconocido: " + elementId);
+            }
+            StubNode top = node;
+            while (top.getParent() != null) {
+                top = top.getParent();
+            }
+            if (top != app.getRoot()) {
+                throw new StubException(404, "stale element reference", "El elemento ya no está en la pantalla: " + node);
+            }
+            return node;
+        }
+        
+        private static Map<String, Object> rect(int[] rect) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("x", rect[0]);
+            result.put("y", rect[1]);
+            result.put("width", rect[2]);
+            result.put("height", rect[3]);
+            return result;
+        }
+        
+        // ---------------- Page source ----------------
+        
+        private Document dom() {
+            StubNode root = app.getRoot();
+            if (dom == null || domVersion != app.getVersion()) {
+                try {
+                    Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+                    Element hierarchy = document.createElement("hierarchy");
+                    hierarchy.setAttribute("index", "0");
+                    hierarchy.setAttribute("class", "hierarchy");
+                    hierarchy.setAttribute("rotation", "0");
+                    hierarchy.setAttribute("width", String.valueOf(StubApp.SCREEN_WIDTH));
+                    hierarchy.setAttribute("height", String.valueOf(StubApp.SCREEN_HEIGHT));
+                    document.appendChild(hierarchy);
+                    hierarchy.appendChild(toElement(document, root, 0));
+                    dom = document;
+                    domVersion = app.getVersion();
+                    pageSource = null;
+                } catch (javax.xml.parsers.ParserConfigurationException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return dom;
+        }
+        
+        private static Element toElement(Document document, StubNode node, int index) {
+            Element element = document.createElement(node.getClassName());
+            element.setAttribute("index", String.valueOf(index));
+            element.setAttribute("package", StubApp.APP_PACKAGE);
+            element.setAttribute("class", node.getClassName());
+            element.setAttribute("text", node.getText());
+            element.setAttribute("resource-id", node.getResourceId());
+            element.setAttribute("content-desc", node.getContentDesc());
+            element.setAttribute("checkable", "false");
+            element.setAttribute("checked", "false");
+            element.setAttribute("clickable", String.valueOf(node.isClickable()));
+            element.setAttribute("enabled", String.valueOf(node.isEnabled()));
+            element.setAttribute("focusable", String.valueOf(node.isClickable()));
+            element.setAttribute("focused", "false");
+            element.setAttribute("long-clickable", "false");
+            element.setAttribute("password", String.valueOf(node.isPassword()));
+            element.setAttribute("scrollable", String.valueOf(node.isScrollable()));
+            element.setAttribute("selected", "false");
+            element.setAttribute("bounds", node.getBounds());
+            element.setAttribute("displayed", String.valueOf(node.isDisplayed()));
+            element.setUserData("node", node, null);
+            List<StubNode> children = node.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                element.appendChild(toElement(document, children.get(i), i));
+            }
+            return element;
+        }
+        
+        private String pageSource() {
+            Document document = dom();
+            if (pageSource == null) {
+                try {
+                    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+                    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+                    transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+                    transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+                    StringWriter writer = new StringWriter();
+                    transformer.transform(new DOMSource(document), new StreamResult(writer));
+                    pageSource = writer.toString();
+                } catch (javax.xml.transform.TransformerException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return pageSource;
+        }
+        
+        private String screenshot() {
+            // Imagen pequeña cuyo color depende de la pantalla y del estado de la jerarquía
+            BufferedImage image = new BufferedImage(108, 240, BufferedImage.TYPE_INT_RGB);
+            Color color = Color.getHSBColor((app.getScreen().ordinal() * 50 + app.getVersion() * 7) % 360 / 360f, 0.5f, 0.9f);
+            for (int x = 0; x < image.getWidth(); x++) {
+                for (int y = 0; y < image.getHeight(); y++) {
+                    image.setRGB(x, y, color.getRGB());
+                }
+            }
+            try {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                ImageIO.write(image, "png", output);
+                return Base64.getEncoder().encodeToString(output.toByteArray());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        // ---------------- Comandos mobile: y gestos ----------------
+        
+        @SuppressWarnings("unchecked")
+        private Object executeScript(String script, List<Object> args) {
+            Map<String, Object> params = args != null && !args.isEmpty() && args.get(0) instanceof Map
+                    ? (Map<String, Object>) args.get(0) : Collections.emptyMap();
+            switch (script.trim()) {
+                case "mobile: clearApp":
+                    app.clearData();
+                    return true;
+                case "mobile: terminateApp":
+                    app.terminate();
+                    return true;
+                case "mobile: activateApp":
+                    app.activate();
+                    return null;
+                case "mobile: deepLink":
+                    if (!app.openDeepLink(String.valueOf(params.get("url")))) {
+                        throw new StubException(500, "unknown error", "Deep link no soportado: " + params.get("url"));
+                    }
+                    return null;
+                case "mobile: scrollGesture":
+                    return app.scroll(scrollDelta(params, "down"));
+                case "mobile: swipeGesture":
+                    // Deslizar hacia arriba desplaza el contenido hacia abajo
+                    String direction = String.valueOf(params.getOrDefault("direction", "up"));
+                    app.scroll(scrollDelta(params, "up".equals(direction) ? "down" : "up"));
+                    return null;
+                default:
+                    throw new StubException(404, "unknown command", "Script no soportado por el stub: " + script);
+            }
+        }
+        
+        private static int scrollDelta(Map<String, Object> params, String forward) {
+            String direction = String.valueOf(params.getOrDefault("direction", forward));
+            double percent = Double.parseDouble(String.valueOf(params.getOrDefault("percent", "1.0")));
+            int height = params.get("height") instanceof Number
+                    ? ((Number) params.get("height")).intValue() : StubApp.SCREEN_HEIGHT - 900;
+            int delta = (int) Math.round(height * percent);
+            return forward.equals(direction) ? delta : -delta;
+        }
+        
+        /**
+         * Interpreta secuencias de puntero W3C: un toque sin desplazamiento es un clic,
+         * un arrastre vertical desplaza la lista
+         */
+        @SuppressWarnings("unchecked")
+        private void performActions(List<Object> actions) {
+            if (actions == null) {
+                return;
+            }
+            for (Object source : actions) {
+                Map<String, Object> sequence = (Map<String, Object>) source;
+                if (!"pointer".equals(sequence.get("type"))) {
+                    continue;
+                }
+                int[] down = null;
+                int[] current = {0, 0};
+                for (Object item : (List<Object>) sequence.get("actions")) {
+                    Map<String, Object> action = (Map<String, Object>) item;
+                    String type = String.valueOf(action.get("type"));
+                    if ("pointerMove".equals(type)) {
+                        current = new int[] {((Number) action.get("x")).intValue(), ((Number) action.get("y")).intValue()};
+                    } else if ("pointerDown".equals(type)) {
+                        down = current.clone();
+                    } else if ("pointerUp".equals(type) && down != null) {
+                        int deltaY = down[1] - current[1];
+                        if (Math.abs(deltaY) < 20 && Math.abs(down[0] - current[0]) < 20) {
+                            StubNode target = nodeAt(app.getRoot(), current[0], current[1]);
+                            if (target != null) {
+                                app.click(target);
+                            }
+                        } else {
+                            app.scroll(deltaY);
+                        }
+                        down = null;
+                    }
+                }
+            }
+        }
+        
+        private static StubNode nodeAt(StubNode node, int x, int y) {
+            for (StubNode child : node.getChildren()) {
+                StubNode found = nodeAt(child, x, y);
+                if (found != null) {
+                    return found;
+                }
+            }
+            int[] rect = node.getRect();
+            boolean inside = x >= rect[0] && x <= rect[0] + rect[2] && y >= rect[1] && y <= rect[1] + rect[3];
+            return inside && node.getAction() != null ? node : null;
+        }
+    }
+    
+    /**
+     * Comando ejecutado por el stub
+     */
+    @FunctionalInterface
+    private interface StubCommand {
+        Object run();
+    }
+    
+    /**
+     * Error W3C devuelto al cliente
+     */
+    private static final class StubException extends RuntimeException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int status;
+        private final String error;
+        
+        private StubException(int status, String error, String message) {
+            super(message);
+            this.status = status;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.saucedemo.framework.stub;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versión guionada de la aplicación MyDemoApp usada por el servidor stub
+ * Modela las pantallas de login, inventario, carrito y checkout con los mismos
+ * resource-id que usan las páginas del framework
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class StubApp {
+    
+    public static final String APP_PACKAGE = "com.saucelabs.mydemoapp.android";
+    private static final String ID = APP_PACKAGE + ":id/";
+    
+    public static final int SCREEN_WIDTH = 1080;
+    public static final int SCREEN_HEIGHT = 2400;
+    
+    // Geometría de la grilla de productos
+    private static final int LIST_TOP = 900;
+    private static final int FIRST_ROW_TOP = 989;
+    private static final int CARD_HEIGHT = 849;
+    private static final int ROW_PITCH = 900;
+    private static final int[][] COLUMNS = {{52, 519}, {561, 1028}};
+    
+    /**
+     * Pantallas de la aplicación
+     */
+    public enum Screen {
+        LOGIN, INVENTORY, CART, CHECKOUT, PAYMENT, REVIEW, COMPLETE
+    }
+    
+    private static final Map<String, String> CATALOG = new LinkedHashMap<>();
+    private static final Map<String, String> USERS = new LinkedHashMap<>();
+    
+    static {
+        CATALOG.put("Sauce Labs Backpack", "$ 29.99");
+        CATALOG.put("Sauce Labs Bike Light", "$ 9.99");
+        CATALOG.put("Sauce Labs Bolt T-Shirt", "$ 15.99");
+        CATALOG.put("Sauce Labs Fleece Jacket", "$ 49.99");
+        CATALOG.put("Sauce Labs Onesie", "$ 7.99");
+        CATALOG.put("Test.allTheThings() T-Shirt", "$ 15.99");
+        
+        USERS.put("bob@example.com", "10203040my");
+        USERS.put("standard_user", "secret_sauce");
+    }
+    
+    private Screen screen = Screen.LOGIN;
+    private boolean running = true;
+    private boolean loggedIn;
+    private boolean loginError;
+    private boolean checkoutError;
+    private int scrollY;
+    private final List<String> cart = new ArrayList<>();
+    private final Map<String, String> fields = new HashMap<>();
+    private StubNode root;
+    private long version;
+    
+    /**
+     * Obtiene la pantalla actual
+     * 
+     * @return Pantalla actual
+     */
+    public Screen getScreen() {
+        return screen;
+    }
+    
+    /**
+     * Versión de la jerarquía; cambia cada vez que se reconstruye la pantalla o cambia el texto de un campo
+     * 
+     * @return Versión actual
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    /**
+     * Productos actualmente en el carrito
+     * 
+     * @return Lista inmutable de productos
+     */
+    public List<String> getCart() {
+        return Collections.unmodifiableList(cart);
+    }
+    
+    /**
+     * Obtiene la raíz de la jerarquía actual, reconstruyéndola si el estado cambió
+     * 
+     * @return Nodo raíz
+     */
+    public StubNode getRoot() {
+        if (root == null) {
+            root = build();
+            version++;
+        }
+        return root;
+    }
+    
+    /**
+     * Marca la jerarquía como obsoleta; los nodos anteriores dejan de ser válidos
+     */
+    private void invalidate() {
+        root = null;
+    }
+    
+    /**
+     * Navega a otra pantalla
+     * 
+     * @param target Pantalla destino
+     */
+    private void navigate(Screen target) {
+        screen = target;
+        scrollY = 0;
+        fields.clear();
+        loginError = false;
+        checkoutError = false;
+        invalidate();
+    }
+    
+    /**
+     * Ejecuta el clic sobre un nodo
+     * 
+     * @param node Nodo clickeado
+     */
+    public void click(StubNode node) {
+        String action = node.getAction();
+        if (action == null) {
+            return;
+        }
+        if (action.startsWith("add:")) {
+            cart.add(action.substring(4));
+            invalidate();
+        } else if (action.startsWith("remove:")) {
+            cart.remove(action.substring(7));
+            invalidate();
+        } else {
+            handleAction(action);
+        }
+    }
+    
+    /**
+     * Acciones de navegación y formularios
+     * 
+     * @param action Nombre de la acción
+     */
+    private void handleAction(String action) {
+        switch (action) {
+            case "login":
+                String user = textOf(ID + "nameET");
+                String password = textOf(ID + "passwordET");
+                if (password.equals(USERS.get(user))) {
+                    loggedIn = true;
+                    navigate(Screen.INVENTORY);
+                } else {
+                    loginError = true;
+                    invalidate();
+                }
+                break;
+            case "cart":
+                navigate(Screen.CART);
+                break;
+            case "checkout":
+                navigate(loggedIn ? Screen.CHECKOUT : Screen.LOGIN);
+                break;
+            case "toPayment":
+                if (textOf(ID + "fullNameET").isEmpty()) {
+                    checkoutError = true;
+                    invalidate();
+                } else {
+                    navigate(Screen.PAYMENT);
+                }
+                break;
+            case "review":
+                navigate(Screen.REVIEW);
+                break;
+            case "placeOrder":
+                cart.clear();
+                navigate(Screen.COMPLETE);
+                break;
+            case "continueShopping":
+                navigate(Screen.INVENTORY);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Escribe texto en un campo editable
+     * 
+     * @param node Nodo del campo
+     * @param value Texto a agregar
+     */
+    public void type(StubNode node, String value) {
+        node.setText(node.getText() + value);
+        fields.put(node.getResourceId(), node.getText());
+        version++;
+    }
+    
+    /**
+     * Limpia un campo editable
+     * 
+     * @param node Nodo del campo
+     */
+    public void clear(StubNode node) {
+        node.setText("");
+        fields.remove(node.getResourceId());
+        version++;
+    }
+    
+    /**
+     * Navegación hacia atrás del sistema
+     */
+    public void back() {
+        switch (screen) {
+            case CART:
+            case COMPLETE:
+                navigate(Screen.INVENTORY);
+                break;
+            case CHECKOUT:
+                navigate(Screen.CART);
+                break;
+            case PAYMENT:
+                navigate(Screen.CHECKOUT);
+                break;
+            case REVIEW:
+                navigate(Screen.PAYMENT);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Desplaza la lista de productos verticalmente
+     * 
+     * @param deltaY Píxeles a desplazar (positivo hacia abajo)
+     * @return true si la lista todavía puede seguir desplazándose en esa dirección
+     */
+    public boolean scroll(int deltaY) {
+        if (screen != Screen.INVENTORY) {
+            return false;
+        }
+        int max = getMaxScroll();
+        int previous = scrollY;
+        scrollY = Math.max(0, Math.min(max, scrollY + deltaY));
+        if (scrollY != previous) {
+            invalidate();
+        }
+        return deltaY > 0 ? scrollY < max : scrollY > 0;
+    }
+    
+    /**
+     * Máximo desplazamiento posible de la grilla de productos
+     * 
+     * @return Desplazamiento máximo en píxeles
+     */
+    private int getMaxScroll() {
+        int rows = (CATALOG.size() + COLUMNS.length - 1) / COLUMNS.length;
+        int contentHeight = (rows - 1) * ROW_PITCH + CARD_HEIGHT;
+        return Math.max(0, contentHeight - (SCREEN_HEIGHT - FIRST_ROW_TOP));
+    }
+    
+    /**
+     * Termina la aplicación
+     */
+    public void terminate() {
+        running = false;
+        invalidate();
+    }
+    
+    /**
+     * Activa la aplicación; vuelve al inventario si hay una sesión de usuario activa
+     */
+    public void activate() {
+        if (!running) {
+            running = true;
+            navigate(loggedIn ? Screen.INVENTORY : Screen.LOGIN);
+        }
+    }
+    
+    /**
+     * Borra los datos de la aplicación (usuario y carrito)
+     */
+    public void clearData() {
+        loggedIn = false;
+        cart.clear();
+        navigate(Screen.LOGIN);
+    }
+    
+    /**
+     * Abre un deep link de la aplicación
+     * El deep link del login acepta credenciales (login?username=...&password=...): si son válidas
+     * autentica al usuario y abre el inventario, si no muestra el formulario de login
+     * 
+     * @param url URL del deep link
+     * @return true si el deep link fue reconocido
+     */
+    public boolean openDeepLink(String url) {
+        running = true;
+        int queryStart = url.indexOf('?');
+        String path = queryStart < 0 ? url : url.substring(0, queryStart);
+        if (path.endsWith("store-overview")) {
+            navigate(Screen.INVENTORY);
+            return true;
+        }
+        if (path.endsWith("cart")) {
+            navigate(Screen.CART);
+            return true;
+        }
+        if (path.endsWith("login")) {
+            Map<String, String> query = parseQuery(queryStart < 0 ? "" : url.substring(queryStart + 1));
+            String password = USERS.get(query.get("username"));
+            if (password != null && password.equals(query.get("password"))) {
+                seedLoggedInUser();
+                navigate(Screen.INVENTORY);
+            } else {
+                navigate(Screen.LOGIN);
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> values = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+    
+    /**
+     * Marca al usuario como autenticado (equivalente a datos precargados)
+     */
+    public void seedLoggedInUser() {
+        loggedIn = true;
+    }
+    
+    /**
+     * Obtiene el texto actual de un campo por su resource-id
+     * 
+     * @param resourceId Resource id del campo
+     * @return Texto del campo, vacío si no existe
+     */
+    private String textOf(String resourceId) {
+        return fields.getOrDefault(resourceId, "");
+    }
+    
+    /**
+     * Crea un campo editable conservando el texto ingresado
+     * 
+     * @param field Nombre corto del resource-id
+     * @param top Coordenada superior del campo
+     * @return Nodo del campo
+     */
+    private StubNode editText(String field, int top) {
+        return new StubNode("android.widget.EditText", ID + field, textOf(ID + field)).clickable().bounds(52, top, 1028, top + 110);
+    }
+    
+    /**
+     * Construye la jerarquía de la pantalla actual
+     * 
+     * @return Nodo raíz de la pantalla
+     */
+    private StubNode build() {
+        StubNode frame = new StubNode("android.widget.FrameLayout", "", "").bounds(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        if (!running) {
+            // Launcher del sistema
+            return frame.add(new StubNode("android.widget.TextView", "", "Home").bounds(0, 0, SCREEN_WIDTH, 200));
+        }
+        
+        StubNode content = new StubNode("android.view.ViewGroup", "", "").bounds(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        frame.add(content);
+        content.add(header());
+        
+        switch (screen) {
+            case LOGIN:
+                buildLogin(content);
+                break;
+            case INVENTORY:
+                buildInventory(content);
+                break;
+            case CART:
+                buildCart(content);
+                break;
+            case CHECKOUT:
+                buildCheckout(content);
+                break;
+            case PAYMENT:
+                buildPayment(content);
+                break;
+            case REVIEW:
+                buildReview(content);
+                break;
+            case COMPLETE:
+                buildComplete(content);
+                break;
+            default:
+                break;
+        }
+        return frame;
+    }
+    
+    private StubNode header() {
+        StubNode header = new StubNode("android.view.ViewGroup", ID + "header", "").bounds(0, 60, SCREEN_WIDTH, 200);
+        header.add(new StubNode("android.widget.ImageView", ID + "menuIV", "").description("View menu")
+                .clickable().bounds(20, 80, 140, 180));
+        header.add(new StubNode("android.widget.ImageView", ID + "cartIV", "").description("View cart")
+                .action("cart").bounds(930, 80, 1050, 180));
+        if (!cart.isEmpty()) {
+            header.add(new StubNode("android.widget.TextView", ID + "cartTV", String.valueOf(cart.size()))
+                    .bounds(1000, 70, 1060, 130));
+        }
+        return header;
+    }
+    
+    private void buildLogin(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "loginTV", "Login").bounds(52, 300, 1028, 400));
+        content.add(editText("nameET", 600));
+        content.add(editText("passwordET", 780).password());
+        if (loginError) {
+            content.add(new StubNode("android.widget.TextView", ID + "errorTV",
+                    "Username and password do not match any user in this service").bounds(52, 920, 1028, 1000));
+        }
+        content.add(new StubNode("android.widget.Button", ID + "loginBtn", "Login").description("Tap to login with given credentials")
+                .action("login").bounds(52, 1050, 1028, 1180));
+    }
+    
+    private void buildInventory(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "productTV", "Products").bounds(52, 220, 600, 320));
+        StubNode list = new StubNode("androidx.recyclerview.widget.RecyclerView", ID + "productRV", "")
+                .scrollable().bounds(0, LIST_TOP, SCREEN_WIDTH, SCREEN_HEIGHT);
+        content.add(list);
+        
+        List<String> products = new ArrayList<>(CATALOG.keySet());
+        for (int i = 0; i < products.size(); i++) {
+            int top = FIRST_ROW_TOP + (i / COLUMNS.length) * ROW_PITCH - scrollY;
+            int bottom = top + CARD_HEIGHT;
+            if (bottom <= LIST_TOP || top >= SCREEN_HEIGHT) {
+                // UiAutomator2 no expone las vistas fuera de pantalla del RecyclerView
+                continue;
+            }
+            int[] column = COLUMNS[i % COLUMNS.length];
+            list.add(productCard(products.get(i), column[0], top, column[1], bottom));
+        }
+    }
+    
+    private StubNode productCard(String product, int left, int top, int right, int bottom) {
+        StubNode card = new StubNode("android.view.ViewGroup", "", "").description(product)
+                .bounds(left, top, right, bottom);
+        addIfVisible(card, new StubNode("android.widget.ImageView", ID + "productIV", "").description(product)
+                .clickable().bounds(left + 10, top + 10, right - 10, top + 500));
+        addIfVisible(card, new StubNode("android.widget.TextView", ID + "titleTV", product)
+                .bounds(left + 10, top + 520, right - 10, top + 600));
+        addIfVisible(card, new StubNode("android.widget.TextView", ID + "priceTV", CATALOG.get(product))
+                .bounds(left + 10, top + 610, right - 10, top + 680));
+        boolean inCart = cart.contains(product);
+        addIfVisible(card, new StubNode("android.widget.TextView", ID + "cartBt", inCart ? "REMOVE" : "ADD TO CART")
+                .action((inCart ? "remove:" : "add:") + product).bounds(left + 10, top + 700, right - 10, top + 800));
+        return card;
+    }
+    
+    private static void addIfVisible(StubNode parent, StubNode child) {
+        int[] rect = child.getRect();
+        if (rect[1] >= LIST_TOP && rect[1] + rect[3] <= SCREEN_HEIGHT) {
+            parent.add(child);
+        }
+    }
+    
+    private void buildCart(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "productTV", "My Cart").bounds(52, 220, 600, 320));
+        int top = 400;
+        for (String product : cart) {
+            StubNode item = new StubNode("android.view.ViewGroup", "", "").description(product)
+                    .bounds(52, top, 1028, top + 300);
+            item.add(new StubNode("android.widget.TextView", ID + "titleTV", product).bounds(300, top + 20, 1000, top + 100));
+            item.add(new StubNode("android.widget.TextView", ID + "priceTV", CATALOG.get(product))
+                    .bounds(300, top + 110, 1000, top + 180));
+            item.add(new StubNode("android.widget.TextView", ID + "removeBt", "Remove Item")
+                    .action("remove:" + product).bounds(300, top + 200, 700, top + 280));
+            content.add(item);
+            top += 320;
+        }
+        content.add(new StubNode("android.widget.Button", ID + "cartBt", "Proceed To Checkout")
+                .action("checkout").bounds(52, 2200, 1028, 2330));
+    }
+    
+    private void buildCheckout(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "checkoutTitleTV", "Enter a shipping address")
+                .bounds(52, 220, 1028, 320));
+        List<String> fields = Arrays.asList("fullNameET", "address1ET", "address2ET", "cityET", "stateET", "zipET", "countryET");
+        int top = 400;
+        for (String field : fields) {
+            content.add(editText(field, top));
+            if (checkoutError && "fullNameET".equals(field)) {
+                content.add(new StubNode("android.widget.TextView", ID + "fullNameErrorTV", "First Name is required")
+                        .bounds(52, top + 115, 1028, top + 170));
+            }
+            top += 200;
+        }
+        content.add(new StubNode("android.widget.Button", ID + "paymentBtn", "To Payment")
+                .action("toPayment").bounds(52, 2200, 1028, 2330));
+    }
+    
+    private void buildPayment(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "enterPaymentMethodTV", "Enter a payment method")
+                .bounds(52, 220, 1028, 320));
+        int top = 400;
+        for (String field : Arrays.asList("nameET", "cardNumberET", "expirationDateET", "securityCodeET")) {
+            content.add(editText(field, top));
+            top += 200;
+        }
+        content.add(new StubNode("android.widget.Button", ID + "paymentBtn", "Review Order")
+                .action("review").bounds(52, 2200, 1028, 2330));
+    }
+    
+    private void buildReview(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "enterShippingAddressTV", "Review your order")
+                .bounds(52, 220, 1028, 320));
+        content.add(new StubNode("android.widget.Button", ID + "paymentBtn", "Place Order")
+                .action("placeOrder").bounds(52, 2200, 1028, 2330));
+    }
+    
+    private void buildComplete(StubNode content) {
+        content.add(new StubNode("android.widget.TextView", ID + "completeTV", "Checkout Complete").bounds(52, 400, 1028, 520));
+        content.add(new StubNode("android.widget.Button", ID + "shoopingBt", "Continue Shopping")
+                .action("continueShopping").bounds(52, 2200, 1028, 2330));
+    }
+}
@@ -0,0 +1,218 @@
+package com.saucedemo.framework.stub;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nodo de la jerarquía de UI simulada por el servidor stub
+ * Replica los atributos que UiAutomator2 expone en el page source
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class StubNode {
+    
+    private final String className;
+    private final String resourceId;
+    private String text;
+    private String contentDesc = "";
+    private String bounds = "[0,0][0,0]";
+    private boolean displayed = true;
+    private boolean enabled = true;
+    private boolean clickable;
+    private boolean scrollable;
+    private boolean password;
+    private String action;
+    private final List<StubNode> children = new ArrayList<>();
+    private StubNode parent;
+    
+    /**
+     * Constructor del nodo
+     * 
+     * @param className Clase Android del nodo (por ejemplo android.widget.TextView)
+     * @param resourceId Resource id completo, vacío si no tiene
+     * @param text Texto del nodo
+     */
+    public StubNode(String className, String resourceId, String text) {
+        this.className = className;
+        this.resourceId = resourceId == null ? "" : resourceId;
+        this.text = text == null ? "" : text;
+    }
+    
+    /**
+     * Agrega un hijo al nodo
+     * 
+     * @param child Nodo hijo
+     * @return El propio nodo, para encadenar llamadas
+     */
+    public StubNode add(StubNode child) {
+        child.parent = this;
+        children.add(child);
+        return this;
+    }
+    
+    public StubNode bounds(int left, int top, int right, int bottom) {
+        this.bounds = "[" + left + "," + top + "][" + right + "," + bottom + "]";
+        return this;
+    }
+    
+    public StubNode bounds(String bounds) {
+        this.bounds = bounds;
+        return this;
+    }
+    
+    public StubNode clickable() {
+        this.clickable = true;
+        return this;
+    }
+    
+    public StubNode scrollable() {
+        this.scrollable = true;
+        return this;
+    }
+    
+    public StubNode password() {
+        this.password = true;
+        return this;
+    }
+    
+    public StubNode description(String contentDesc) {
+        this.contentDesc = contentDesc;
+        return this;
+    }
+    
+    public StubNode hidden() {
+        this.displayed = false;
+        return this;
+    }
+    
+    public StubNode disabled() {
+        this.enabled = false;
+        return this;
+    }
+    
+    /**
+     * Asocia una acción de la app al nodo, ejecutada al hacer clic
+     * 
+     * @param action Nombre de la acción interpretada por {@link StubApp}
+     * @return El propio nodo
+     */
+    public StubNode action(String action) {
+        this.action = action;
+        this.clickable = true;
+        return this;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public String getResourceId() {
+        return resourceId;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text == null ? "" : text;
+    }
+    
+    public String getContentDesc() {
+        return contentDesc;
+    }
+    
+    public String getBounds() {
+        return bounds;
+    }
+    
+    public boolean isDisplayed() {
+        return displayed;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public boolean isClickable() {
+        return clickable;
+    }
+    
+    public boolean isScrollable() {
+        return scrollable;
+    }
+    
+    public boolean isPassword() {
+        return password;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public StubNode getParent() {
+        return parent;
+    }
+    
+    public List<StubNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+    
+    /**
+     * Obtiene el rectángulo del nodo como [x, y, width, height]
+     * 
+     * @return Rectángulo del nodo
+     */
+    public int[] getRect() {
+        String[] parts = bounds.replace("][", ",").replace("[", "").replace("]", "").split(",");
+        int left = Integer.parseInt(parts[0]);
+        int top = Integer.parseInt(parts[1]);
+        int right = Integer.parseInt(parts[2]);
+        int bottom = Integer.parseInt(parts[3]);
+        return new int[] {left, top, right - left, bottom - top};
+    }
+    
+    /**
+     * Obtiene un atributo con el nombre usado por UiAutomator2
+     * 
+     * @param name Nombre del atributo
+     * @return Valor del atributo, o null si no existe
+     */
+    public String getAttribute(String name) {
+        switch (name) {
+            case "text":
+            case "name":
+                return text;
+            case "resource-id":
+            case "resourceId":
+                return resourceId;
+            case "content-desc":
+            case "contentDescription":
+                return contentDesc;
+            case "class":
+            case "className":
+                return className;
+            case "bounds":
+                return bounds;
+            case "displayed":
+                return String.valueOf(displayed);
+            case "enabled":
+                return String.valueOf(enabled);
+            case "clickable":
+                return String.valueOf(clickable);
+            case "scrollable":
+                return String.valueOf(scrollable);
+            case "password":
+                return String.valueOf(password);
+            default:
+                return null;
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return className + "[" + (resourceId.isEmpty() ? text : resourceId) + "]";
+    }
+}
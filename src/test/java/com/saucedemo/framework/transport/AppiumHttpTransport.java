@@ -0,0 +1,92 @@
+package com.saucedemo.framework.transport;
+
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Transporte HTTP usado por los drivers de Appium
+ * Expone un {@link HttpClient.Factory} que crea clientes sobre el pool de conexiones compartido,
+ * con los timeouts y la compresión definidos por configuración
+ * 
+ * Configuración:
+ * - appium.http.pooled: usa conexiones persistentes compartidas (por defecto true); false vuelve al cliente de Selenium
+ * - appium.http.connect.timeout.ms: timeout para abrir una conexión (por defecto 10000)
+ * - appium.http.read.timeout.ms: timeout de respuesta de un comando (por defecto 180000, la creación de sesión es lenta)
+ * - appium.http.keep.alive.ms: tiempo máximo que una conexión ociosa se reutiliza (por defecto 30000)
+ * - appium.http.compression: solicita respuestas gzip, útil con granjas remotas (por defecto false)
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class AppiumHttpTransport {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppiumHttpTransport.class);
+    
+    private static final boolean POOLED = Boolean.parseBoolean(System.getProperty("appium.http.pooled", "true"));
+    private static final Duration CONNECT_TIMEOUT = Duration.ofMillis(Long.parseLong(System.getProperty("appium.http.connect.timeout.ms", "10000")));
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(Long.parseLong(System.getProperty("appium.http.read.timeout.ms", "180000")));
+    private static final long KEEP_ALIVE_MS = Long.parseLong(System.getProperty("appium.http.keep.alive.ms", "30000"));
+    private static final boolean COMPRESSION = Boolean.parseBoolean(System.getProperty("appium.http.compression", "false"));
+    
+    private static final HttpClient.Factory FACTORY = new Factory();
+    
+    private AppiumHttpTransport() {
+        // Clase utilitaria
+    }
+    
+    /**
+     * Factory de clientes HTTP para el ejecutor de comandos de Appium
+     * 
+     * @return Factory configurada
+     */
+    public static HttpClient.Factory factory() {
+        return FACTORY;
+    }
+    
+    /**
+     * Aplica los timeouts configurados a una configuración de cliente
+     * 
+     * @param config Configuración recibida de Selenium (URL base y filtros)
+     * @return Configuración con los timeouts del framework
+     */
+    public static ClientConfig tune(ClientConfig config) {
+        return config.connectionTimeout(CONNECT_TIMEOUT).readTimeout(READ_TIMEOUT);
+    }
+    
+    /**
+     * Registra en el log las métricas de reutilización de conexiones
+     */
+    public static void logStats() {
+        if (POOLED) {
+            LOGGER.info("Transporte HTTP de Appium: {}", ConnectionPool.shared().describe());
+        }
+    }
+    
+    /**
+     * Factory que decide entre el cliente con pool y el cliente por defecto de Selenium
+     */
+    private static final class Factory implements HttpClient.Factory {
+        
+        private final HttpClient.Factory fallback = HttpClient.Factory.createDefault();
+        
+        @Override
+        public HttpClient createClient(ClientConfig config) {
+            ClientConfig tuned = tune(config);
+            // Con proxy se usa el cliente de Selenium, que ya sabe tunelizar la conexión
+            if (!POOLED || tuned.proxy() != null) {
+                return fallback.createClient(tuned);
+            }
+            return new PooledHttpClient(tuned, ConnectionPool.shared(), COMPRESSION, KEEP_ALIVE_MS);
+        }
+        
+        @Override
+        public void cleanupIdleClients() {
+            ConnectionPool.shared().evictIdle(KEEP_ALIVE_MS);
+            fallback.cleanupIdleClients();
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.saucedemo.framework.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool de conexiones keep-alive compartido por todas las sesiones de Appium de la JVM
+ * Las conexiones sobreviven al cierre de una sesión, de modo que la siguiente sesión contra el
+ * mismo servidor no paga de nuevo el handshake TCP/TLS
+ * 
+ * Métricas: conexiones abiertas, requests, reutilizaciones, reintentos por conexiones caducadas
+ * y bytes recibidos comprimidos/descomprimidos
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public final class ConnectionPool {
+    
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+    
+    private static final ConnectionPool SHARED = new ConnectionPool();
+    
+    private final Map<String, Deque<PooledConnection>> idle = new ConcurrentHashMap<>();
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong bodyBytes = new AtomicLong();
+    
+    private ConnectionPool() {
+        // Instancia única, ver shared()
+    }
+    
+    /**
+     * Obtiene el pool compartido de la JVM
+     * 
+     * @return Pool de conexiones
+     */
+    public static ConnectionPool shared() {
+        return SHARED;
+    }
+    
+    /**
+     * Clave del endpoint de una URI
+     * 
+     * @param uri URI del servidor
+     * @return esquema://host:puerto
+     */
+    static String endpointOf(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + portOf(uri);
+    }
+    
+    static int portOf(URI uri) {
+        if (uri.getPort() > 0) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+    
+    /**
+     * Entrega una conexión ociosa hacia el servidor, o abre una nueva
+     * 
+     * @param uri URI del servidor
+     * @param connectTimeoutMs Timeout de conexión en milisegundos
+     * @param keepAliveMs Tiempo máximo que una conexión ociosa se considera válida
+     * @return Conexión lista para enviar un request
+     * @throws IOException si no se puede abrir la conexión
+     */
+    PooledConnection acquire(URI uri, int connectTimeoutMs, long keepAliveMs) throws IOException {
+        String endpoint = endpointOf(uri);
+        Deque<PooledConnection> connections = idle.computeIfAbsent(endpoint, key -> new ConcurrentLinkedDeque<>());
+        
+        // LIFO: la conexión usada más recientemente es la que menos probabilidad tiene de haber sido cerrada
+        PooledConnection connection;
+        while ((connection = connections.pollFirst()) != null) {
+            if (connection.isReusable(keepAliveMs)) {
+                requests.incrementAndGet();
+                reused.incrementAndGet();
+                connection.startRequest();
+                return connection;
+            }
+            discard(connection);
+        }
+        
+        connection = new PooledConnection(endpoint, connect(uri, connectTimeoutMs));
+        opened.incrementAndGet();
+        requests.incrementAndGet();
+        connection.startRequest();
+        LOGGER.debug("Nueva conexión HTTP hacia {}", endpoint);
+        return connection;
+    }
+    
+    private static Socket connect(URI uri, int connectTimeoutMs) throws IOException {
+        Socket socket = new Socket();
+        try {
+            // Los comandos de WebDriver son request/response pequeños: sin Nagle cada uno sale de inmediato
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(uri.getHost(), portOf(uri)), connectTimeoutMs);
+            if (!"https".equalsIgnoreCase(uri.getScheme())) {
+                return socket;
+            }
+            SSLSocket secure = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                    .createSocket(socket, uri.getHost(), portOf(uri), true);
+            SSLParameters parameters = secure.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            secure.setSSLParameters(parameters);
+            secure.startHandshake();
+            return secure;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Devuelve una conexión al pool tras completar un request
+     * 
+     * @param connection Conexión usada
+     * @param reusable false si el servidor pidió cerrarla o el cuerpo no se leyó completo
+     */
+    void release(PooledConnection connection, boolean reusable) {
+        if (!reusable) {
+            discard(connection);
+            return;
+        }
+        connection.touch();
+        idle.computeIfAbsent(connection.getEndpoint(), key -> new ConcurrentLinkedDeque<>()).offerFirst(connection);
+    }
+    
+    /**
+     * Cierra una conexión sin devolverla al pool
+     * 
+     * @param connection Conexión a cerrar
+     */
+    void discard(PooledConnection connection) {
+        discarded.incrementAndGet();
+        connection.close();
+    }
+    
+    void recordRetry() {
+        retries.incrementAndGet();
+    }
+    
+    void recordBytes(long onWire, long body) {
+        wireBytes.addAndGet(onWire);
+        bodyBytes.addAndGet(body);
+    }
+    
+    /**
+     * Cierra las conexiones ociosas que superaron el tiempo de keep-alive
+     * 
+     * @param keepAliveMs Tiempo máximo ocioso en milisegundos
+     */
+    public void evictIdle(long keepAliveMs) {
+        idle.values().forEach(connections -> connections.removeIf(connection -> {
+            if (connection.isReusable(keepAliveMs)) {
+                return false;
+            }
+            discard(connection);
+            return true;
+        }));
+    }
+    
+    /**
+     * Cierra todas las conexiones ociosas
+     */
+    public void closeAll() {
+        idle.values().forEach(connections -> {
+            PooledConnection connection;
+            while ((connection = connections.pollFirst()) != null) {
+                connection.close();
+            }
+        });
+    }
+    
+    /**
+     * Porcentaje de requests atendidos por una conexión ya abierta
+     * 
+     * @return Tasa de reutilización entre 0 y 1
+     */
+    public double getReuseRate() {
+        long total = requests.get();
+        return total == 0 ? 0 : (double) reused.get() / total;
+    }
+    
+    /**
+     * Métricas del pool para reportes
+     * 
+     * @return Mapa serializable con las métricas
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", requests.get());
+        stats.put("connectionsOpened", opened.get());
+        stats.put("connectionsReused", reused.get());
+        stats.put("reuseRate", Math.round(getReuseRate() * 1000) / 1000.0);
+        stats.put("staleRetries", retries.get());
+        stats.put("connectionsDiscarded", discarded.get());
+        stats.put("idleConnections", idle.values().stream().mapToInt(Deque::size).sum());
+        stats.put("bytesOnWire", wireBytes.get());
+        stats.put("bytesDecoded", bodyBytes.get());
+        return stats;
+    }
+    
+    /**
+     * Resumen legible de las métricas
+     * 
+     * @return Resumen de una línea
+     */
+    public String describe() {
+        return String.format("%d requests, %d conexiones abiertas, reutilización %.1f%%, %d reintentos, %d KB en red / %d KB descomprimidos",
+                requests.get(), opened.get(), getReuseRate() * 100, retries.get(), wireBytes.get() / 1024, bodyBytes.get() / 1024);
+    }
+}
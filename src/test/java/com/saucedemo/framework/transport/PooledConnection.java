@@ -0,0 +1,112 @@
+package com.saucedemo.framework.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Conexión persistente (keep-alive) hacia un servidor de Appium
+ * Una conexión es usada por un único request a la vez; entre requests vuelve al {@link ConnectionPool}
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+final class PooledConnection implements Closeable {
+    
+    private final String endpoint;
+    private final Socket socket;
+    private final InputStream input;
+    private final OutputStream output;
+    private long lastUsed;
+    private int requests;
+    
+    /**
+     * Constructor de la conexión
+     * 
+     * @param endpoint Endpoint (esquema://host:puerto) al que pertenece la conexión
+     * @param socket Socket ya conectado
+     * @throws IOException si no se pueden abrir los streams del socket
+     */
+    PooledConnection(String endpoint, Socket socket) throws IOException {
+        this.endpoint = endpoint;
+        this.socket = socket;
+        this.input = new BufferedInputStream(socket.getInputStream(), 16 * 1024);
+        this.output = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+        this.lastUsed = System.currentTimeMillis();
+    }
+    
+    String getEndpoint() {
+        return endpoint;
+    }
+    
+    InputStream getInput() {
+        return input;
+    }
+    
+    OutputStream getOutput() {
+        return output;
+    }
+    
+    /**
+     * Número de requests atendidos por la conexión, incluido el actual
+     * 
+     * @return Requests atendidos
+     */
+    int getRequests() {
+        return requests;
+    }
+    
+    /**
+     * Marca el inicio de un nuevo request sobre la conexión
+     */
+    void startRequest() {
+        requests++;
+        lastUsed = System.currentTimeMillis();
+    }
+    
+    /**
+     * Marca la conexión como usada en este instante
+     */
+    void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+    
+    /**
+     * Indica si la conexión puede volver a usarse
+     * 
+     * @param keepAliveMs Tiempo máximo que una conexión puede permanecer ociosa
+     * @return true si el socket sigue abierto y no superó el tiempo ocioso
+     */
+    boolean isReusable(long keepAliveMs) {
+        return !socket.isClosed() && !socket.isInputShutdown()
+                && System.currentTimeMillis() - lastUsed < keepAliveMs;
+    }
+    
+    /**
+     * Cambia el timeout de lectura del socket
+     * 
+     * @param readTimeoutMs Timeout en milisegundos (0 = sin límite)
+     * @throws IOException si el socket ya está cerrado
+     */
+    void setReadTimeout(int readTimeoutMs) throws IOException {
+        socket.setSoTimeout(readTimeoutMs);
+    }
+    
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // La conexión se descarta de todas formas
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return endpoint + " (puerto local " + socket.getLocalPort() + ", " + requests + " requests)";
+    }
+}
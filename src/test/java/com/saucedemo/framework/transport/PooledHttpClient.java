@@ -0,0 +1,351 @@
+package com.saucedemo.framework.transport;
+
+import org.openqa.selenium.Credentials;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UsernameAndPassword;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Cliente HTTP/1.1 de WebDriver sobre conexiones persistentes del {@link ConnectionPool}
+ * Reemplaza al cliente por defecto de Selenium para los comandos de Appium: reutiliza sockets
+ * con TCP_NODELAY entre comandos y sesiones, aplica timeouts explícitos de conexión y lectura
+ * y, si se habilita, acepta respuestas comprimidas con gzip
+ * 
+ * Las conexiones WebSocket (BiDi/CDP) se delegan al cliente por defecto de Selenium
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+public class PooledHttpClient implements HttpClient {
+    
+    private static final byte[] CRLF = {'\r', '\n'};
+    
+    private final ClientConfig config;
+    private final URI baseUri;
+    private final String basePath;
+    private final String authorization;
+    private final ConnectionPool pool;
+    private final boolean compression;
+    private final long keepAliveMs;
+    private final HttpHandler handler;
+    private HttpClient webSocketClient;
+    
+    /**
+     * Constructor del cliente
+     * 
+     * @param config Configuración de Selenium (URL base, timeouts, filtros y credenciales)
+     * @param pool Pool de conexiones compartido
+     * @param compression true para anunciar Accept-Encoding: gzip
+     * @param keepAliveMs Tiempo máximo que una conexión ociosa se reutiliza
+     */
+    public PooledHttpClient(ClientConfig config, ConnectionPool pool, boolean compression, long keepAliveMs) {
+        this.config = config;
+        this.baseUri = config.baseUri();
+        this.basePath = baseUri.getRawPath() == null ? "" : baseUri.getRawPath().replaceAll("/+$", "");
+        this.authorization = authorizationOf(baseUri, config.credentials());
+        this.pool = pool;
+        this.compression = compression;
+        this.keepAliveMs = keepAliveMs;
+        this.handler = config.filter().andFinally(this::send);
+    }
+    
+    private static String authorizationOf(URI uri, Credentials credentials) {
+        String userInfo = uri.getUserInfo();
+        if (credentials instanceof UsernameAndPassword) {
+            UsernameAndPassword basic = (UsernameAndPassword) credentials;
+            userInfo = basic.username() + ":" + basic.password();
+        }
+        if (userInfo == null || userInfo.isEmpty()) {
+            return null;
+        }
+        return "Basic " + Base64.getEncoder().encodeToString(userInfo.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    @Override
+    public HttpResponse execute(HttpRequest request) {
+        return handler.execute(request);
+    }
+    
+    /**
+     * Envía el request por una conexión del pool
+     * Si una conexión reutilizada fue cerrada por el servidor mientras estaba ociosa, el request
+     * se reintenta una única vez sobre una conexión nueva:
+     * - si la escritura del request falló, con cualquier método (el servidor no llegó a recibirlo)
+     * - si el request se escribió completo, solo con métodos idempotentes (GET/DELETE), porque el
+     *   servidor pudo haberlo procesado antes de cerrar y un POST repetido duplicaría el comando
+     */
+    private HttpResponse send(HttpRequest request) {
+        byte[] body = Contents.bytes(request.getContent());
+        byte[] head = serializeHead(request, body.length);
+        int connectTimeout = (int) config.connectionTimeout().toMillis();
+        int readTimeout = (int) config.readTimeout().toMillis();
+        
+        for (int attempt = 0; ; attempt++) {
+            PooledConnection connection;
+            try {
+                connection = pool.acquire(baseUri, connectTimeout, keepAliveMs);
+            } catch (SocketTimeoutException e) {
+                throw new TimeoutException("Timeout de conexión con " + ConnectionPool.endpointOf(baseUri), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            
+            boolean reused = connection.getRequests() > 1;
+            boolean written = false;
+            boolean responseStarted = false;
+            try {
+                connection.setReadTimeout(readTimeout);
+                OutputStream output = connection.getOutput();
+                output.write(head);
+                output.write(body);
+                output.flush();
+                written = true;
+                
+                InputStream input = connection.getInput();
+                int first = input.read();
+                if (first < 0) {
+                    throw new EOFException("El servidor cerró la conexión sin responder");
+                }
+                responseStarted = true;
+                return readResponse(request, connection, (char) first + readLine(input));
+            } catch (SocketTimeoutException e) {
+                pool.discard(connection);
+                throw new TimeoutException("Sin respuesta de " + ConnectionPool.endpointOf(baseUri)
+                        + " después de " + readTimeout + " ms: " + request.getMethod() + " " + request.getUri(), e);
+            } catch (IOException e) {
+                pool.discard(connection);
+                if (!reused || responseStarted || attempt > 0 || (written && !isIdempotent(request.getMethod()))) {
+                    throw new UncheckedIOException(e);
+                }
+                pool.recordRetry();
+            } catch (RuntimeException e) {
+                // Respuesta malformada (Content-Length o tamaño de chunk inválido): el socket queda a medio leer
+                pool.discard(connection);
+                throw e;
+            }
+        }
+    }
+    
+    private static boolean isIdempotent(HttpMethod method) {
+        return method == HttpMethod.GET || method == HttpMethod.DELETE;
+    }
+    
+    private byte[] serializeHead(HttpRequest request, int contentLength) {
+        StringBuilder head = new StringBuilder(256);
+        head.append(request.getMethod().name()).append(' ').append(pathOf(request)).append(" HTTP/1.1\r\n");
+        head.append("Host: ").append(baseUri.getHost());
+        if (baseUri.getPort() > 0) {
+            head.append(':').append(baseUri.getPort());
+        }
+        head.append("\r\n");
+        for (String name : request.getHeaderNames()) {
+            if ("Content-Length".equalsIgnoreCase(name) || "Connection".equalsIgnoreCase(name) || "Host".equalsIgnoreCase(name)) {
+                continue;
+            }
+            for (String value : request.getHeaders(name)) {
+                head.append(name).append(": ").append(value).append("\r\n");
+            }
+        }
+        if (authorization != null && request.getHeader("Authorization") == null) {
+            head.append("Authorization: ").append(authorization).append("\r\n");
+        }
+        if (compression && request.getHeader("Accept-Encoding") == null) {
+            head.append("Accept-Encoding: gzip\r\n");
+        }
+        if (contentLength > 0 || request.getMethod() == HttpMethod.POST) {
+            head.append("Content-Length: ").append(contentLength).append("\r\n");
+        }
+        head.append("Connection: keep-alive\r\n\r\n");
+        return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+    
+    private String pathOf(HttpRequest request) {
+        String uri = request.getUri();
+        if (uri.startsWith("http://") || uri.startsWith("https://")) {
+            uri = URI.create(uri).getRawPath();
+        } else {
+            uri = basePath + (uri.startsWith("/") ? uri : "/" + uri);
+        }
+        StringBuilder path = new StringBuilder(uri);
+        char separator = uri.contains("?") ? '&' : '?';
+        for (String name : request.getQueryParameterNames()) {
+            for (String value : request.getQueryParameters(name)) {
+                path.append(separator).append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                        .append('=').append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                separator = '&';
+            }
+        }
+        return path.toString();
+    }
+    
+    /**
+     * Lee la respuesta completa y devuelve la conexión al pool si el servidor la mantiene abierta
+     * Las respuestas provisionales 1xx (por ejemplo 100 Continue) se descartan junto con sus
+     * encabezados hasta llegar a la respuesta final
+     */
+    private HttpResponse readResponse(HttpRequest request, PooledConnection connection, String statusLine) throws IOException {
+        InputStream input = connection.getInput();
+        String[] status = parseStatus(statusLine);
+        while (isInterim(status)) {
+            while (!readLine(input).isEmpty()) {
+                // Encabezados de la respuesta provisional
+            }
+            status = parseStatus(readLine(input));
+        }
+        HttpResponse response = new HttpResponse();
+        response.setStatus(Integer.parseInt(status[1]));
+        
+        boolean keepAlive = !"HTTP/1.0".equals(status[0]);
+        boolean chunked = false;
+        boolean gzip = false;
+        long contentLength = -1;
+        List<String[]> headers = new ArrayList<>();
+        String line;
+        while (!(line = readLine(input)).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            String lower = name.toLowerCase(Locale.ROOT);
+            if ("connection".equals(lower)) {
+                keepAlive = value.equalsIgnoreCase("keep-alive") || (keepAlive && !value.equalsIgnoreCase("close"));
+            } else if ("transfer-encoding".equals(lower)) {
+                chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+            } else if ("content-length".equals(lower)) {
+                contentLength = Long.parseLong(value);
+            } else if ("content-encoding".equals(lower) && "gzip".equalsIgnoreCase(value)) {
+                gzip = true;
+            } else {
+                headers.add(new String[] {name, value});
+            }
+        }
+        
+        byte[] raw;
+        int code = response.getStatus();
+        if ("HEAD".equals(request.getMethod().name()) || code == 204 || code == 304) {
+            raw = new byte[0];
+        } else if (chunked) {
+            raw = readChunked(input);
+        } else if (contentLength >= 0) {
+            raw = readFully(input, (int) contentLength);
+        } else {
+            // Sin longitud ni chunked el cuerpo termina al cerrar la conexión
+            raw = input.readAllBytes();
+            keepAlive = false;
+        }
+        pool.release(connection, keepAlive);
+        
+        byte[] content = gzip ? gunzip(raw) : raw;
+        pool.recordBytes(raw.length, content.length);
+        for (String[] header : headers) {
+            response.addHeader(header[0], header[1]);
+        }
+        response.setHeader("Content-Length", String.valueOf(content.length));
+        response.setContent(Contents.bytes(content));
+        return response;
+    }
+    
+    private static String[] parseStatus(String statusLine) throws IOException {
+        String[] status = statusLine.split(" ", 3);
+        if (status.length < 2 || !status[0].startsWith("HTTP/") || status[1].length() != 3) {
+            throw new IOException("Respuesta HTTP inválida: " + statusLine);
+        }
+        return status;
+    }
+    
+    private static boolean isInterim(String[] status) {
+        // 101 Switching Protocols es definitiva: el WebSocket lo maneja el cliente de Selenium
+        return status[1].charAt(0) == '1' && !"101".equals(status[1]);
+    }
+    
+    private static byte[] readChunked(InputStream input) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(input);
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            if (size == 0) {
+                // Trailers opcionales hasta la línea vacía
+                while (!readLine(input).isEmpty()) {
+                    // Se ignoran
+                }
+                return body.toByteArray();
+            }
+            body.write(readFully(input, size));
+            readLine(input);
+        }
+    }
+    
+    private static byte[] readFully(InputStream input, int length) throws IOException {
+        byte[] bytes = input.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Respuesta truncada: " + bytes.length + " de " + length + " bytes");
+        }
+        return bytes;
+    }
+    
+    private static byte[] gunzip(byte[] raw) throws IOException {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+            return gzip.readAllBytes();
+        }
+    }
+    
+    private static String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int current;
+        while ((current = input.read()) >= 0) {
+            if (current == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) current);
+        }
+        throw new EOFException("Conexión cerrada a mitad de la respuesta");
+    }
+    
+    @Override
+    public synchronized WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+        if (webSocketClient == null) {
+            webSocketClient = HttpClient.Factory.createDefault().createClient(config);
+        }
+        return webSocketClient.openSocket(request, listener);
+    }
+    
+    @Override
+    public synchronized void close() {
+        // Las conexiones HTTP pertenecen al pool compartido y sobreviven al cliente
+        if (webSocketClient != null) {
+            webSocketClient.close();
+            webSocketClient = null;
+        }
+    }
+}
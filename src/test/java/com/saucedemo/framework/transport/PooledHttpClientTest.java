@@ -0,0 +1,321 @@
+package com.saucedemo.framework.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas del {@link PooledHttpClient} contra un servidor local con respuestas escritas a mano
+ * Cada conexión aceptada ejecuta el guion siguiente, así se controla exactamente qué bytes llegan
+ * al cliente y cuándo el servidor cierra el socket
+ * 
+ * @author Framework Team
+ * @version 1.0
+ */
+class PooledHttpClientTest {
+    
+    private static final ConnectionPool POOL = ConnectionPool.shared();
+    
+    private ScriptedServer server;
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+    
+    @Test
+    void reassemblesChunkedBodyAndReusesTheConnection() throws Exception {
+        server = new ScriptedServer((input, output) -> {
+            readRequest(input);
+            write(output, "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "4;ext=1\r\n{\"va\r\n7\r\nlue\":1}\r\n0\r\nX-Trailer: t\r\n\r\n");
+            readRequest(input);
+            write(output, "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok");
+        });
+        PooledHttpClient client = client(false);
+        Map<String, Object> before = POOL.getStats();
+        
+        HttpResponse first = client.execute(new HttpRequest(HttpMethod.GET, "/status"));
+        HttpResponse second = client.execute(new HttpRequest(HttpMethod.GET, "/status"));
+        
+        assertEquals("{\"value\":1}", Contents.string(first));
+        assertEquals("11", first.getHeader("Content-Length"));
+        assertEquals("ok", Contents.string(second));
+        assertEquals(1, delta(before, "connectionsOpened"));
+        assertEquals(1, delta(before, "connectionsReused"));
+    }
+    
+    @Test
+    void decodesGzipBodyWhenCompressionIsEnabled() throws Exception {
+        byte[] compressed = gzip("{\"value\":\"comprimido\"}");
+        server = new ScriptedServer((input, output) -> {
+            readRequest(input);
+            write(output, "HTTP/1.1 200 OK\r\nContent-Encoding: gzip\r\nContent-Length: " + compressed.length + "\r\n\r\n");
+            output.write(compressed);
+            output.flush();
+        });
+        
+        HttpResponse response = client(true).execute(new HttpRequest(HttpMethod.GET, "/source"));
+        
+        assertEquals("{\"value\":\"comprimido\"}", Contents.string(response));
+        assertTrue(server.requests.get(0).toLowerCase(Locale.ROOT).contains("accept-encoding: gzip"));
+    }
+    
+    @Test
+    void skipsInterimResponses() throws Exception {
+        server = new ScriptedServer((input, output) -> {
+            readRequest(input);
+            write(output, "HTTP/1.1 100 Continue\r\n\r\n"
+                    + "HTTP/1.1 102 Processing\r\nX-Progress: 50\r\n\r\n"
+                    + "HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nlist");
+        });
+        
+        HttpResponse response = client(false).execute(new HttpRequest(HttpMethod.POST, "/elements"));
+        
+        assertEquals(200, response.getStatus());
+        assertEquals("list", Contents.string(response));
+        assertEquals(null, response.getHeader("X-Progress"));
+    }
+    
+    @Test
+    void retriesIdempotentRequestOnceWhenReusedConnectionWasClosed() throws Exception {
+        server = new ScriptedServer(
+                (input, output) -> {
+                    readRequest(input);
+                    write(output, "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n1");
+                },
+                (input, output) -> {
+                    readRequest(input);
+                    write(output, "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n2");
+                });
+        PooledHttpClient client = client(false);
+        Map<String, Object> before = POOL.getStats();
+        
+        client.execute(new HttpRequest(HttpMethod.GET, "/url"));
+        assertTrue(server.awaitClosed(), "El servidor debe cerrar la primera conexión");
+        HttpResponse retried = client.execute(new HttpRequest(HttpMethod.GET, "/url"));
+        
+        assertEquals("2", Contents.string(retried));
+        assertEquals(1, delta(before, "staleRetries"));
+        assertEquals(2, delta(before, "connectionsOpened"));
+    }
+    
+    @Test
+    void doesNotRetryWrittenPostWhenReusedConnectionWasClosed() throws Exception {
+        server = new ScriptedServer(
+                (input, output) -> {
+                    readRequest(input);
+                    write(output, "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n1");
+                },
+                (input, output) -> {
+                    readRequest(input);
+                    write(output, "HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n2");
+                });
+        PooledHttpClient client = client(false);
+        Map<String, Object> before = POOL.getStats();
+        
+        client.execute(new HttpRequest(HttpMethod.GET, "/url"));
+        assertTrue(server.awaitClosed(), "El servidor debe cerrar la primera conexión");
+        HttpRequest click = new HttpRequest(HttpMethod.POST, "/element/1/click");
+        click.setContent(Contents.utf8String("{}"));
+        
+        assertThrows(UncheckedIOException.class, () -> client.execute(click));
+        assertEquals(0, delta(before, "staleRetries"));
+        assertEquals(1, server.accepted());
+    }
+    
+    @Test
+    void discardsConnectionWhenContentLengthIsMalformed() throws Exception {
+        assertMalformedResponseClosesSocket("HTTP/1.1 200 OK\r\nContent-Length: doce\r\n\r\n");
+    }
+    
+    @Test
+    void discardsConnectionWhenChunkSizeIsMalformed() throws Exception {
+        assertMalformedResponseClosesSocket("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n");
+    }
+    
+    private void assertMalformedResponseClosesSocket(String response) throws Exception {
+        CountDownLatch clientClosed = new CountDownLatch(1);
+        server = new ScriptedServer((input, output) -> {
+            readRequest(input);
+            write(output, response);
+            if (input.read() < 0) {
+                clientClosed.countDown();
+            }
+        });
+        Map<String, Object> before = POOL.getStats();
+        
+        assertThrows(NumberFormatException.class,
+                () -> client(false).execute(new HttpRequest(HttpMethod.GET, "/source")));
+        
+        assertEquals(1, delta(before, "connectionsDiscarded"));
+        assertTrue(clientClosed.await(5, TimeUnit.SECONDS), "El cliente debe cerrar el socket");
+    }
+    
+    private PooledHttpClient client(boolean compression) {
+        ClientConfig config = ClientConfig.defaultConfig()
+                .baseUri(server.uri())
+                .connectionTimeout(Duration.ofSeconds(5))
+                .readTimeout(Duration.ofSeconds(5));
+        return new PooledHttpClient(config, POOL, compression, 60_000);
+    }
+    
+    private static long delta(Map<String, Object> before, String key) {
+        return ((Number) POOL.getStats().get(key)).longValue() - ((Number) before.get(key)).longValue();
+    }
+    
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+    
+    private static void write(OutputStream output, String raw) throws IOException {
+        output.write(raw.getBytes(StandardCharsets.ISO_8859_1));
+        output.flush();
+    }
+    
+    /**
+     * Lee un request completo (encabezados y cuerpo según Content-Length)
+     * 
+     * @param input Flujo de la conexión
+     * @return Línea de request y encabezados
+     */
+    private static String readRequest(InputStream input) throws IOException {
+        StringBuilder head = new StringBuilder();
+        while (!head.toString().endsWith("\r\n\r\n")) {
+            int current = input.read();
+            if (current < 0) {
+                throw new IOException("Conexión cerrada antes de recibir el request");
+            }
+            head.append((char) current);
+        }
+        for (String line : head.toString().split("\r\n")) {
+            if (line.toLowerCase(Locale.ROOT).startsWith("content-length:")) {
+                input.readNBytes(Integer.parseInt(line.substring(line.indexOf(':') + 1).trim()));
+            }
+        }
+        return head.toString();
+    }
+    
+    /**
+     * Guion de una conexión aceptada por el servidor de prueba
+     */
+    @FunctionalInterface
+    private interface ConnectionScript {
+        void serve(InputStream input, OutputStream output) throws IOException;
+    }
+    
+    /**
+     * Servidor de un solo hilo que atiende cada conexión con el siguiente guion y luego la cierra
+     */
+    private static final class ScriptedServer implements AutoCloseable {
+        
+        private final ServerSocket socket;
+        private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+        private final Semaphore closed = new Semaphore(0);
+        private final Thread acceptor;
+        private volatile int accepted;
+        
+        ScriptedServer(ConnectionScript... scripts) throws IOException {
+            socket = new ServerSocket(0, 10, InetAddress.getLoopbackAddress());
+            acceptor = new Thread(() -> {
+                for (ConnectionScript script : scripts) {
+                    try (Socket connection = socket.accept()) {
+                        accepted++;
+                        connection.setSoTimeout(5_000);
+                        script.serve(new RecordingInput(connection.getInputStream(), requests), connection.getOutputStream());
+                    } catch (SocketTimeoutException e) {
+                        // El cliente no cerró a tiempo; la aserción correspondiente falla
+                    } catch (IOException e) {
+                        if (socket.isClosed()) {
+                            return;
+                        }
+                    }
+                    closed.release();
+                }
+            }, "scripted-http-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+        
+        URI uri() {
+            return URI.create("http://127.0.0.1:" + socket.getLocalPort() + "/wd/hub");
+        }
+        
+        boolean awaitClosed() throws InterruptedException {
+            return closed.tryAcquire(5, TimeUnit.SECONDS);
+        }
+        
+        int accepted() {
+            return accepted;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+    
+    /**
+     * Registra los encabezados de cada request leído por un guion
+     */
+    private static final class RecordingInput extends InputStream {
+        
+        private final InputStream delegate;
+        private final List<String> requests;
+        private final StringBuilder current = new StringBuilder();
+        
+        RecordingInput(InputStream delegate, List<String> requests) {
+            this.delegate = delegate;
+            this.requests = requests;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value >= 0) {
+                current.append((char) value);
+                if (current.toString().endsWith("\r\n\r\n")) {
+                    requests.add(current.toString());
+                    current.setLength(0);
+                }
+            }
+            return value;
+        }
+    }
+}
@@ -6,15 +6,11 @@ Feature: Reto 2 - Flujo Completo de Compra
 
   Background:
     Given que el usuario abre la aplicación Sauce Demo
-    And está en la pantalla de login
 
-  @smoke @purchase @positive
+  @smoke @purchase @positive @logged-in
   Scenario: Flujo de compra - Selección de productos y validación de error en checkout
-    # Paso 1: Login exitoso
-    When el usuario ingresa el usuario "standard_user"
-    And ingresa la contraseña "secret_sauce"
-    And presiona el botón de login
-    Then el usuario debería ser redirigido al inventario
+    # Paso 1: Inicio en el inventario autenticado (fixture @logged-in, sin login por la UI)
+    Given el usuario tiene la sesión iniciada en el inventario
     And debería ver el título "PRODUCTS"
     
     # Paso 2: Seleccionar primer producto (Backpack Red)